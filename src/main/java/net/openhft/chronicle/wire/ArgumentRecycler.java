@@ -0,0 +1,135 @@
+/*
+ * Copyright 2016-2020 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Holds one reusable instance per concrete class for a single method argument whose declared type is
+ * an interface, an abstract class or {@code Object}.
+ * <p>
+ * When a stream mixes several implementations of the same parameter type, reusing only the last
+ * argument means every change of type creates a new object. This recycler keeps the last instance of
+ * each concrete class so alternating types are read into existing objects instead.
+ * <p>
+ * Lookups use a small array of classes compared by identity, with the most recent hit checked first,
+ * rather than a {@code HashMap}. The number of concrete types per parameter is expected to be small.
+ * <p>
+ * An instance handed out is only valid until the next message is read by the owning
+ * {@link net.openhft.chronicle.bytes.MethodReader}. Listeners which need to retain an argument must copy it.
+ * This class is not thread safe, as a MethodReader is used by a single thread.
+ *
+ * @param <T> the declared type of the argument
+ */
+public final class ArgumentRecycler<T> implements Function<Class<? extends T>, T> {
+    private static final int INITIAL_CAPACITY = 4;
+
+    private Class<?>[] classes = new Class[INITIAL_CAPACITY];
+    private Object[] instances = new Object[INITIAL_CAPACITY];
+    private int size;
+    private int lastIndex;
+
+    /**
+     * Returns the instance previously recycled for this exact class, reset ready to be read into,
+     * or {@code null} if there isn't one.
+     *
+     * @param aClass the concrete class about to be read
+     * @return an instance to reuse or {@code null}
+     */
+    @Nullable
+    @Override
+    public T apply(Class<? extends T> aClass) {
+        int index = indexOf(aClass);
+        if (index < 0)
+            return null;
+        @SuppressWarnings("unchecked")
+        T t = (T) instances[index];
+        return reset(t);
+    }
+
+    /**
+     * Retains {@code t} as the instance to reuse the next time its class is read.
+     * Arrays and {@code null} are ignored.
+     *
+     * @param t the argument just read
+     * @return {@code t}
+     */
+    public T recycle(@Nullable T t) {
+        if (t == null)
+            return null;
+        Class<?> aClass = t.getClass();
+        if (aClass.isArray())
+            return t;
+        int index = indexOf(aClass);
+        if (index < 0) {
+            if (size == classes.length) {
+                classes = Arrays.copyOf(classes, size * 2);
+                instances = Arrays.copyOf(instances, size * 2);
+            }
+            index = size++;
+            classes[index] = aClass;
+        }
+        instances[index] = t;
+        lastIndex = index;
+        return t;
+    }
+
+    /**
+     * @return the number of concrete classes with an instance held
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Drops all the instances held.
+     */
+    public void clear() {
+        Arrays.fill(classes, 0, size, null);
+        Arrays.fill(instances, 0, size, null);
+        size = 0;
+        lastIndex = 0;
+    }
+
+    private int indexOf(Class<?> aClass) {
+        if (classes[lastIndex] == aClass)
+            return lastIndex;
+        for (int i = 0; i < size; i++) {
+            if (classes[i] == aClass) {
+                lastIndex = i;
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static <T> T reset(T o) {
+        if (o instanceof Collection)
+            ((Collection<?>) o).clear();
+        else if (o instanceof Map)
+            ((Map<?, ?>) o).clear();
+        else if (o instanceof AbstractMarshallableCfg)
+            ((AbstractMarshallableCfg) o).reset();
+        return o;
+    }
+}
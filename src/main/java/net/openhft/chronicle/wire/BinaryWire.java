@@ -3208,6 +3208,25 @@ public class BinaryWire extends AbstractWire implements Wire {
             return true;
         }
 
+        @Nullable
+        @Override
+        public <E extends Enum<E>> E asEnum(Class<E> eClass) {
+            // match a short name in place, without copying it out
+            int code = peekCode();
+            if (code >= STRING_0 && code <= STRING_31) {
+                int length = code - STRING_0;
+                long offset = bytes.readPosition() + 1;
+                if (offset + length <= bytes.readLimit()) {
+                    E e = EnumLookup.of(eClass).valueOf(bytes, offset, length);
+                    if (e != null) {
+                        bytes.readSkip(1 + length);
+                        return e;
+                    }
+                }
+            }
+            return ValueIn.super.asEnum(eClass);
+        }
+
         @Override
         public long readLong(LongConverter longConverter) {
             return readLong();
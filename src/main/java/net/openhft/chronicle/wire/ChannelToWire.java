@@ -0,0 +1,149 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.io.AbstractCloseable;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * The ChannelToWire class reads documents from a ReadableByteChannel, such as a FileChannel, a Pipe or a
+ * SocketChannel, in the format written by {@link WireToOutputStream} and {@link WireToChannel},
+ * i.e. each document is prefixed by its length as a 32-bit big-endian int.
+ * <p>
+ * Unlike {@link InputStreamToWire}, the channel is read a large chunk at a time into a direct buffer, and each
+ * complete document in the chunk is read in place, without copying it. A document is only valid until the next
+ * call to {@link #readOne()}. The buffer grows as needed for a document larger than a chunk.
+ */
+public class ChannelToWire extends AbstractCloseable {
+
+    // The default number of bytes to read from the channel at once
+    public static final int DEFAULT_CHUNK_SIZE = 64 << 10;
+
+    private static final int LENGTH_SIZE = 4;
+
+    private final Bytes<ByteBuffer> bytes;
+    private final Wire wire;
+    private final ReadableByteChannel channel;
+    private final int chunkSize;
+
+    // The end of the data read from the channel, and the end of the last document returned
+    private long filled;
+    private long documentEnd;
+
+    /**
+     * Constructs a ChannelToWire which reads {@link #DEFAULT_CHUNK_SIZE} bytes at a time.
+     *
+     * @param wireType The type of wire the documents were written with.
+     * @param channel  The channel to read from.
+     */
+    public ChannelToWire(WireType wireType, ReadableByteChannel channel) {
+        this(wireType, channel, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param wireType  The type of wire the documents were written with.
+     * @param channel   The channel to read from.
+     * @param chunkSize The number of bytes to read from the channel at once.
+     */
+    public ChannelToWire(WireType wireType, ReadableByteChannel channel, int chunkSize) {
+        if (chunkSize < LENGTH_SIZE)
+            throw new IllegalArgumentException("chunkSize too small: " + chunkSize);
+        this.bytes = Bytes.elasticByteBuffer(chunkSize);
+        this.wire = wireType.apply(bytes);
+        this.channel = channel;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Reads the next document, which can be read from the returned Wire until the next call.
+     *
+     * @return The Wire limited to the next document, or null if the end of the channel has been reached,
+     * or a non-blocking channel doesn't have a complete document yet.
+     * @throws EOFException             If the channel ends part way through a document.
+     * @throws StreamCorruptedException If the length of a document is negative.
+     * @throws IOException              If any other I/O error occurs.
+     */
+    @Nullable
+    public Wire readOne() throws IOException {
+        throwExceptionIfClosed();
+        // the limit of the last document returned is no longer needed
+        bytes.writePosition(filled);
+        if (!fill(LENGTH_SIZE))
+            return null;
+        final int length = bigEndian(bytes.readInt(documentEnd));
+        if (length < 0)
+            throw new StreamCorruptedException("Negative length " + length);
+        if (!fill(LENGTH_SIZE + (long) length))
+            return null;
+
+        final long start = documentEnd + LENGTH_SIZE;
+        documentEnd = start + length;
+        bytes.readPositionRemaining(start, length);
+        wire.getValueIn().resetState();
+        return wire;
+    }
+
+    // ensures at least 'needed' bytes after the end of the last document have been read
+    private boolean fill(long needed) throws IOException {
+        if (filled - documentEnd >= needed)
+            return true;
+        // only the data not yet returned needs to be kept
+        if (documentEnd > 0 && bytes.realCapacity() - documentEnd < Math.max(needed, chunkSize)) {
+            bytes.readPosition(documentEnd);
+            bytes.compact();
+            filled = bytes.writePosition();
+            documentEnd = 0;
+        }
+        bytes.ensureCapacity(documentEnd + Math.max(needed, chunkSize));
+
+        while (filled - documentEnd < needed) {
+            final ByteBuffer bb = bytes.underlyingObject();
+            bb.limit((int) bytes.realCapacity());
+            bb.position((int) filled);
+            final int read = channel.read(bb);
+            if (read < 0) {
+                if (filled > documentEnd)
+                    throw new EOFException("End of channel with a partial document of " + (filled - documentEnd) + " bytes");
+                return false;
+            }
+            if (read == 0)
+                return false;
+            filled += read;
+        }
+        return true;
+    }
+
+    // converts an int between the native and big-endian byte order
+    static int bigEndian(int i) {
+        return ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN ? i : Integer.reverseBytes(i);
+    }
+
+    @Override
+    protected void performClose() {
+        bytes.releaseLast();
+    }
+}
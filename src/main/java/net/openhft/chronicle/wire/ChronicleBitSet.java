@@ -20,6 +20,8 @@ package net.openhft.chronicle.wire;
 
 import net.openhft.chronicle.core.io.Closeable;
 
+import java.util.concurrent.ThreadLocalRandom;
+
 public interface ChronicleBitSet extends Marshallable, Closeable {
     long BITS_PER_WORD = Long.BYTES * 8L;
 
@@ -170,5 +172,63 @@ public interface ChronicleBitSet extends Marshallable, Closeable {
 
     void copyFrom(ChronicleBitSet bitSet);
 
+    /**
+     * Atomically finds a clear bit on or after {@code fromIndex}, wrapping around to the start, and sets it.
+     * Each word is updated with a single compare and set, so concurrent claimers, including other processes
+     * sharing the memory, never claim the same bit.
+     *
+     * <p>
+     * This default only excludes other callers of these methods on this object, in this JVM, and searches up to
+     * {@link #size()}; the implementations in this library override it to use compare and set, and never return a bit
+     * at or above the maximum number of bits they were created with.
+     *
+     * @param fromIndex the index to start searching from
+     * @return the index of the bit claimed, or -1 if every bit is set
+     * @throws IndexOutOfBoundsException if the specified index is negative
+     */
+    default int claimNextClearBit(int fromIndex) {
+        if (fromIndex < 0)
+            throw new IndexOutOfBoundsException("fromIndex < 0: " + fromIndex);
+        final int size = size();
+        synchronized (this) {
+            int bit = fromIndex < size ? nextClearBit(fromIndex) : size;
+            if (bit >= size)
+                bit = nextClearBit(0);
+            if (bit >= size)
+                return -1;
+            set(bit);
+            return bit;
+        }
+    }
+
+    /**
+     * Atomically claims a clear bit, starting the search at a random word to spread contention between claimers.
+     *
+     * @return the index of the bit claimed, or -1 if every bit is set
+     */
+    default int claimClearBit() {
+        final int words = (int) (size() / BITS_PER_WORD);
+        return claimNextClearBit(words <= 1 ? 0 : (int) (ThreadLocalRandom.current().nextInt(words) * BITS_PER_WORD));
+    }
+
+    /**
+     * Atomically clears a bit previously claimed.
+     *
+     * <p>
+     * Like {@link #claimNextClearBit(int)}, this default only excludes other callers on this object, in this JVM.
+     *
+     * @param bitIndex the index of the bit to release
+     * @return true if the bit was set, false if it was already clear
+     * @throws IndexOutOfBoundsException if the specified index is negative
+     */
+    default boolean releaseBit(int bitIndex) {
+        synchronized (this) {
+            if (!get(bitIndex))
+                return false;
+            clear(bitIndex);
+            return true;
+        }
+    }
+
 //    ChronicleBitSet get(int rangeStart, int rangeEnd);
 }
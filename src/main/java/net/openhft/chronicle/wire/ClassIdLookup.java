@@ -0,0 +1,199 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.core.io.IORuntimeException;
+import net.openhft.chronicle.core.pool.ClassAliasPool;
+import net.openhft.chronicle.core.pool.ClassLookup;
+import net.openhft.chronicle.core.util.ClassNotFoundRuntimeException;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link ClassLookup} which gives each registered class a small numeric id, used as its type name.
+ * <p>
+ * A polymorphic value of a registered class is written with a type prefix of a few digits e.g. {@code !3}
+ * instead of its alias or class name, and is resolved on read with an array index rather than a name lookup.
+ * Any other class, or name, is handled by the parent, by default {@link ClassAliasPool#CLASS_ALIASES}.
+ * As no class or alias starts with a digit, the two can't be confused.
+ * <p>
+ * Both ends must agree on the ids, either by registering the same classes in the same order, e.g.
+ * <pre>{@code
+ * ClassIdLookup classIds = new ClassIdLookup().register(NewOrder.class, Cancel.class, Fill.class);
+ * wire.classLookup(classIds);
+ * }</pre>
+ * or by sending this table, which is {@link Marshallable}, as part of a session's handshake such as
+ * {@link net.openhft.chronicle.wire.channel.AbstractHandler#classIds(ClassIdLookup)}.
+ * <p>
+ * Classes should be registered before the lookup is shared between threads.
+ */
+public class ClassIdLookup implements ClassLookup, Marshallable {
+    // ids are at most this many digits
+    private static final int MAX_ID_DIGITS = 6;
+    private static final int MAX_CLASSES = 1_000_000;
+
+    @NotNull
+    private final transient ClassLookup parent;
+    private final transient Map<Class<?>, String> names = new ConcurrentHashMap<>();
+    private volatile Class<?>[] classes = {};
+
+    /**
+     * Creates an empty table which delegates to {@link ClassAliasPool#CLASS_ALIASES}.
+     */
+    public ClassIdLookup() {
+        this(ClassAliasPool.CLASS_ALIASES);
+    }
+
+    /**
+     * Creates an empty table.
+     *
+     * @param parent to resolve the classes and names which don't have an id
+     */
+    public ClassIdLookup(@NotNull ClassLookup parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Gives each class the next id, in order. A class already registered keeps its id.
+     *
+     * @param classes to register
+     * @return this
+     */
+    @NotNull
+    public synchronized ClassIdLookup register(@NotNull Class<?>... classes) {
+        Class<?>[] table = this.classes;
+        int size = table.length;
+        for (Class<?> clazz : classes) {
+            if (names.containsKey(clazz))
+                continue;
+            if (size == MAX_CLASSES)
+                throw new IllegalStateException("Too many classes registered " + size);
+            if (size == table.length)
+                table = Arrays.copyOf(table, Math.max(8, size * 2));
+            table[size] = clazz;
+            names.put(clazz, Integer.toString(size));
+            size++;
+        }
+        this.classes = Arrays.copyOf(table, size);
+        return this;
+    }
+
+    /**
+     * @param clazz to look up
+     * @return the id of the class, or -1 if it is not registered
+     */
+    public int idFor(Class<?> clazz) {
+        String name = names.get(clazz);
+        return name == null ? -1 : Integer.parseInt(name);
+    }
+
+    /**
+     * @return the number of classes registered
+     */
+    public int size() {
+        return classes.length;
+    }
+
+    @Override
+    public Class<?> forName(CharSequence name) throws ClassNotFoundRuntimeException {
+        int id = parseId(name);
+        if (id < 0)
+            return parent.forName(name);
+        Class<?>[] table = classes;
+        if (id >= table.length)
+            throw new ClassNotFoundRuntimeException(new ClassNotFoundException("No class registered with id " + name));
+        return table[id];
+    }
+
+    /**
+     * @param name to parse
+     * @return the id, or -1 if the name is not all digits
+     */
+    static int parseId(CharSequence name) {
+        int length = name.length();
+        if (length == 0 || length > MAX_ID_DIGITS)
+            return -1;
+        int id = 0;
+        for (int i = 0; i < length; i++) {
+            char ch = name.charAt(i);
+            if (ch < '0' || ch > '9')
+                return -1;
+            id = id * 10 + ch - '0';
+        }
+        return id;
+    }
+
+    @Override
+    public String nameFor(Class<?> clazz) throws IllegalArgumentException {
+        String name = names.get(clazz);
+        return name == null ? parent.nameFor(clazz) : name;
+    }
+
+    @Override
+    public void addAlias(Class<?>... classes) {
+        parent.addAlias(classes);
+    }
+
+    @Override
+    public void addAlias(Class<?> clazz, String names) {
+        parent.addAlias(clazz, names);
+    }
+
+    @Override
+    public synchronized void reset() {
+        names.clear();
+        classes = new Class<?>[0];
+    }
+
+    @Override
+    public void writeMarshallable(@NotNull WireOut wire) {
+        // the classes are written by name so the table can be read by a wire which doesn't use it yet
+        wire.write("classes").sequence(this, (t, out) -> {
+            for (Class<?> clazz : t.classes)
+                out.typeLiteral(t.parent.nameFor(clazz));
+        });
+    }
+
+    @Override
+    public synchronized void readMarshallable(@NotNull WireIn wire) throws IORuntimeException {
+        reset();
+        wire.read("classes").sequence(this, (t, in) -> {
+            while (in.hasNextSequenceItem())
+                in.typeLiteralAsText(t, (t2, name) -> t2.register(t2.parent.forName(name)));
+        });
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof ClassIdLookup
+                && Arrays.equals(classes, ((ClassIdLookup) o).classes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(classes);
+    }
+
+    @Override
+    public String toString() {
+        return Marshallable.$toString(this);
+    }
+}
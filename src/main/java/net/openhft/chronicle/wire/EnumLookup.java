@@ -0,0 +1,191 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.BytesStore;
+import net.openhft.chronicle.core.Maths;
+import net.openhft.chronicle.core.pool.EnumCache;
+import net.openhft.chronicle.core.util.ClassLocal;
+import net.openhft.chronicle.core.util.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Finds the value of an enum, or {@link DynamicEnum}, by name without creating objects, either from a reused
+ * {@code StringBuilder} or in place in the {@code Bytes}.
+ * <p>
+ * The names of an enum are interned by the {@code EnumInterner} used by {@link WireInternal#internEnum}; this only
+ * adds a table of the names which can be matched against bytes in place, and which holds the values of a
+ * {@code DynamicEnum} as they are first read. The table grows by doubling, so adding a value is amortised O(1).
+ *
+ * @param <E> the enum type
+ */
+final class EnumLookup<E> {
+    private static final ClassLocal<EnumLookup<?>> LOOKUPS = ClassLocal.withInitial(EnumLookup::new);
+
+    @NotNull
+    private final Class<E> eClass;
+    private final boolean dynamic;
+    // replaced only when it grows, entries are added in place
+    private volatile Table table;
+
+    @SuppressWarnings("unchecked")
+    private EnumLookup(Class<?> eClass) {
+        this.eClass = (Class<E>) eClass;
+        this.dynamic = DynamicEnum.class.isAssignableFrom(eClass);
+        Object[] constants = eClass.isEnum() ? eClass.getEnumConstants() : new Object[0];
+        Table t = new Table(Maths.nextPower2(constants.length * 2, 16));
+        for (Object e : constants)
+            t.put(new Entry(((Enum<?>) e).name(), e));
+        table = t;
+    }
+
+    /**
+     * @param eClass the enum or DynamicEnum class
+     * @return the lookup for the class
+     */
+    @SuppressWarnings("unchecked")
+    static <E> EnumLookup<E> of(Class<E> eClass) {
+        return (EnumLookup<E>) LOOKUPS.get(eClass);
+    }
+
+    /**
+     * @param name to find
+     * @return the value, or null if the name is empty
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Nullable
+    E valueOf(@NotNull CharSequence name) {
+        if (name.length() == 0)
+            return null;
+        if (!dynamic)
+            return (E) WireInternal.internEnum((Class) eClass, name);
+
+        Table t = table;
+        for (int i = hash(name) & t.mask; ; i = (i + 1) & t.mask) {
+            Entry entry = t.entries.get(i);
+            if (entry == null)
+                break;
+            if (StringUtils.isEqual(entry.name, name))
+                return (E) entry.value;
+        }
+
+        // not seen before, resolve it once
+        String s = name.toString();
+        E e = EnumCache.of(eClass).valueOf(s);
+        if (e != null)
+            add(new Entry(s, e));
+        return e;
+    }
+
+    /**
+     * Finds a name held as ASCII in the bytes given, without reading them.
+     *
+     * @param bytes  holding the name
+     * @param offset of the first byte
+     * @param length of the name in bytes
+     * @return the value, or null if not found in the table
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable
+    E valueOf(@NotNull BytesStore<?, ?> bytes, long offset, int length) {
+        int h = 0;
+        for (int j = 0; j < length; j++) {
+            byte b = bytes.readByte(offset + j);
+            if (b < 0)
+                return null;
+            h = h * 31 + b;
+        }
+        Table t = table;
+        Outer:
+        for (int i = mix(h) & t.mask; ; i = (i + 1) & t.mask) {
+            Entry entry = t.entries.get(i);
+            if (entry == null)
+                return null;
+            String name = entry.name;
+            if (name.length() != length)
+                continue;
+            for (int j = 0; j < length; j++)
+                if (name.charAt(j) != bytes.readByte(offset + j))
+                    continue Outer;
+            return (E) entry.value;
+        }
+    }
+
+    private synchronized void add(Entry entry) {
+        Table t = table;
+        // keep the table at most half full, doubling it when it isn't
+        if ((t.size + 1) * 2 > t.mask + 1) {
+            Table t2 = new Table((t.mask + 1) * 2);
+            for (int i = 0; i <= t.mask; i++) {
+                Entry e = t.entries.get(i);
+                if (e != null)
+                    t2.put(e);
+            }
+            t2.put(entry);
+            table = t2;
+        } else {
+            t.put(entry);
+        }
+    }
+
+    // the same as String.hashCode() for a String, mixed for open addressing, also used by VanillaWireParser
+    static int hash(CharSequence cs) {
+        int h = 0;
+        for (int i = 0; i < cs.length(); i++)
+            h = h * 31 + cs.charAt(i);
+        return mix(h);
+    }
+
+    private static int mix(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    private static final class Entry {
+        final String name;
+        final Object value;
+
+        Entry(String name, Object value) {
+            this.name = name;
+            this.value = value;
+        }
+    }
+
+    private static final class Table {
+        // slots only go from null to an Entry, so readers can probe without locking
+        final AtomicReferenceArray<Entry> entries;
+        final int mask;
+        int size;
+
+        Table(int capacity) {
+            entries = new AtomicReferenceArray<>(capacity);
+            mask = capacity - 1;
+        }
+
+        void put(Entry entry) {
+            int i = hash(entry.name) & mask;
+            for (Entry e; (e = entries.get(i)) != null; i = (i + 1) & mask)
+                if (e.name.equals(entry.name))
+                    return;
+            entries.set(i, entry);
+            size++;
+        }
+    }
+}
@@ -243,7 +243,6 @@ public class GenerateMethodReader {
             sourceCode.append(format("package %s;\n", packageName()));
 
         // Import statements required for the generated code.
-        boolean hasMultipleNonMarshallableParamTypes = !Boolean.FALSE.equals(multipleNonMarshallableParamTypes);
         sourceCode.append("" +
                 "import net.openhft.chronicle.core.Jvm;\n" +
                 "import net.openhft.chronicle.core.util.InvocationTargetRuntimeException;\n" +
@@ -253,9 +252,7 @@ public class GenerateMethodReader {
                 "import net.openhft.chronicle.wire.utils.*;\n" +
                 "import net.openhft.chronicle.wire.BinaryWireCode;\n" +
                 "\n" +
-                (hasMultipleNonMarshallableParamTypes ? "import java.util.HashMap;\n" : "") +
                 "import java.util.Map;\n" +
-                (hasMultipleNonMarshallableParamTypes ? "import java.util.function.Function;\n" : "") +
                 "import java.lang.reflect.Method;\n" +
                 "\n");
 
@@ -274,8 +271,8 @@ public class GenerateMethodReader {
         sourceCode.append("private final WireParselet defaultParselet;\n");
         sourceCode.append("\n");
 
-        // Check and declare an interceptor if one is present.
-        if (hasRealInterceptorReturns()) {
+        // Check and declare an interceptor if one is present, generated code can refer to a generating interceptor.
+        if (interceptor != null) {
             sourceCode.append("// method reader interceptor\n");
             sourceCode.append("private final MethodReaderInterceptorReturns interceptor;\n");
             sourceCode.append("\n");
@@ -315,7 +312,7 @@ public class GenerateMethodReader {
                 "this.defaultParselet = defaultParselet;\n", generatedClassName()));
 
         // Set interceptor if one is present.
-        if (hasRealInterceptorReturns())
+        if (interceptor != null)
             sourceCode.append("this.interceptor = interceptor;\n");
 
         // Initialize metaInstance objects.
@@ -566,8 +563,7 @@ public class GenerateMethodReader {
                     fields.append(format("private Bytes %s = Bytes.allocateElasticOnHeap();\n", fieldName));
                 } else {
                     if (!parameterType.isPrimitive() && !Modifier.isFinal(parameterType.getModifiers()) && multipleNonMarshallableParamTypes(parameterType)) {
-                        fields.append(format("private final Map<Class<? extends %s>, %s> %sInstances = new HashMap<>();\n", typeName, typeName, fieldName));
-                        fields.append(format("private final Function<Class<? extends %s>, %s> %sFunc = %sInstances::get;\n", typeName, typeName, fieldName, fieldName));
+                        fields.append(format("private final ArgumentRecycler<%s> %sRecycler = new ArgumentRecycler<>();\n", typeName, fieldName));
                     }
                     fields.append(format("private %s %s;\n", typeName, fieldName));
                 }
@@ -883,7 +879,7 @@ public class GenerateMethodReader {
             final String typeName = argumentType.getCanonicalName();
             boolean multipleNonMarshallableParamTypes = multipleNonMarshallableParamTypes(argumentType);
             if (!Modifier.isFinal(argumentType.getModifiers()) && multipleNonMarshallableParamTypes) {
-                return format("%s = %s.object(%s, %s.class); %sInstances.put(%s.getClass(), %s);\n", argumentName, valueInName, argumentName + "Func", typeName, argumentName, argumentName, argumentName);
+                return format("%s = %sRecycler.recycle(%s.object(%sRecycler, %s.class));\n", argumentName, argumentName, valueInName, argumentName, typeName);
             }
             if (isRecyclable(argumentType)) {
                 return format("%s = %s.object(checkRecycle(%s), %s.class);\n", argumentName, valueInName, argumentName, typeName);
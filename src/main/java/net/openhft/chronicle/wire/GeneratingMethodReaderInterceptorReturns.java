@@ -29,6 +29,8 @@ import java.lang.reflect.Method;
  * <p>Code returned by {@link #codeBeforeCall(Method, String, String[])} and
  * {@link #codeAfterCall(Method, String, String[])} will be added before and after actual method call in the generated
  * source code of the method reader. It's possible to use original call arguments and object instance in the added code.
+ * The interceptor itself is available to the added code as the field {@code interceptor}, of type
+ * {@link MethodReaderInterceptorReturns}.
  *
  * <p>Simple example that allows to skip call of method "foo" in case its second argument is null:
  * <pre>{@code
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.io.IORuntimeException;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A reusable list of {@code int} values held in a {@link Bytes}, with no boxing.
+ * <p>
+ * By default the values are on heap. Passing direct {@code Bytes} to {@link #IntList(Bytes)} keeps them off heap;
+ * the caller remains responsible for releasing those {@code Bytes}.
+ * <p>
+ * As a field of a {@link Marshallable} it is read in place, reusing its {@code Bytes}, e.g.
+ * <pre>{@code
+ * levels: { values: [ 1, 2, 3 ] }
+ * }</pre>
+ * This class is not thread safe.
+ */
+public class IntList implements Marshallable {
+    private final transient Bytes<?> bytes;
+
+    /**
+     * Creates an empty list on heap.
+     */
+    public IntList() {
+        this(Bytes.allocateElasticOnHeap(64));
+    }
+
+    /**
+     * Creates an empty list stored in the {@code Bytes} provided, which are cleared.
+     *
+     * @param bytes to hold the values
+     */
+    public IntList(@NotNull Bytes<?> bytes) {
+        this.bytes = bytes;
+        bytes.clear();
+    }
+
+    /**
+     * @return the number of values
+     */
+    public int size() {
+        return (int) (bytes.writePosition() >>> 2);
+    }
+
+    /**
+     * @return true if there are no values
+     */
+    public boolean isEmpty() {
+        return bytes.writePosition() == 0;
+    }
+
+    /**
+     * Appends a value.
+     *
+     * @param value to add
+     */
+    public void add(int value) {
+        bytes.writeInt(value);
+    }
+
+    /**
+     * @param index of the value
+     * @return the value at the index
+     * @throws IndexOutOfBoundsException if the index is not less than the size
+     */
+    public int get(int index) {
+        return bytes.readInt(offset(index));
+    }
+
+    /**
+     * Replaces the value at the index.
+     *
+     * @param index of the value
+     * @param value to set
+     * @throws IndexOutOfBoundsException if the index is not less than the size
+     */
+    public void set(int index, int value) {
+        bytes.writeInt(offset(index), value);
+    }
+
+    private long offset(int index) {
+        if (index < 0 || index >= size())
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size());
+        return (long) index << 2;
+    }
+
+    /**
+     * Removes all the values, retaining the capacity.
+     */
+    public void clear() {
+        bytes.clear();
+    }
+
+    /**
+     * @return the values as a new array
+     */
+    public int[] toArray() {
+        int[] ints = new int[size()];
+        for (int i = 0; i < ints.length; i++)
+            ints[i] = bytes.readInt((long) i << 2);
+        return ints;
+    }
+
+    @Override
+    public void reset() {
+        clear();
+    }
+
+    @Override
+    public void writeMarshallable(@NotNull WireOut wire) {
+        wire.write("values").sequence(this, (l, out) -> {
+            for (int i = 0, size = l.size(); i < size; i++)
+                out.int32(l.bytes.readInt((long) i << 2));
+        });
+    }
+
+    @Override
+    public void readMarshallable(@NotNull WireIn wire) throws IORuntimeException {
+        clear();
+        wire.read("values").sequence(this, (l, in) -> {
+            while (in.hasNextSequenceItem())
+                l.add(in.int32());
+        });
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof IntList))
+            return false;
+        IntList that = (IntList) o;
+        int size = size();
+        if (size != that.size())
+            return false;
+        for (int i = 0; i < size; i++)
+            if (get(i) != that.get(i))
+                return false;
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int h = 1;
+        for (int i = 0, size = size(); i < size; i++)
+            h = 31 * h + get(i);
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        return Marshallable.$toString(this);
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.io.AbstractCloseable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * The JSONArrayReader class reads a JSON array of any length from a ReadableByteChannel or an InputStream
+ * one element at a time, e.g. to import a large data set written by {@link JSONArrayWriter},
+ * using {@link WireType#JSON} or {@link WireType#JSON_ONLY}.
+ * <p>
+ * The input is read a chunk at a time into a buffer, which is refilled as elements are consumed, so the memory used
+ * is bounded by the chunk size plus the largest element, rather than the whole array. Only the nesting of brackets
+ * and strings is scanned to find the end of each element, the element itself is parsed by the wire
+ * when it is read from the ValueIn returned, which is only valid until the next call to {@link #readElement()}.
+ */
+public class JSONArrayReader extends AbstractCloseable {
+
+    // The default number of bytes to read at once
+    public static final int DEFAULT_CHUNK_SIZE = 64 << 10;
+
+    private final Bytes<ByteBuffer> bytes;
+    private final JSONWire wire;
+    private final ReadableByteChannel channel;
+    private final int chunkSize;
+
+    // The end of the data read, the start of the next element, and how far it has been scanned
+    private long filled;
+    private long start;
+    private long scanned;
+    // The state of the scan at that point
+    private int depth;
+    private boolean inString;
+    private boolean escaped;
+
+    private boolean started;
+    private boolean endOfArray;
+    private long count;
+
+    /**
+     * Constructs a JSONArrayReader which reads {@link #DEFAULT_CHUNK_SIZE} bytes at a time.
+     *
+     * @param wireType Either {@link WireType#JSON} or {@link WireType#JSON_ONLY}.
+     * @param in       The stream to read from, which is not closed.
+     */
+    public JSONArrayReader(@NotNull WireType wireType, @NotNull InputStream in) {
+        this(wireType, Channels.newChannel(in), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param wireType  Either {@link WireType#JSON} or {@link WireType#JSON_ONLY}.
+     * @param channel   The channel to read from, which is not closed.
+     * @param chunkSize The number of bytes to read from the channel at once.
+     */
+    public JSONArrayReader(@NotNull WireType wireType, @NotNull ReadableByteChannel channel, int chunkSize) {
+        if (chunkSize <= 0)
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        this.bytes = Bytes.elasticByteBuffer(chunkSize);
+        final Wire wire0 = wireType.apply(bytes);
+        if (!(wire0 instanceof JSONWire)) {
+            bytes.releaseLast();
+            throw new IllegalArgumentException("Not a JSON wire type: " + wireType);
+        }
+        this.wire = (JSONWire) wire0;
+        this.channel = channel;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Reads up to the end of the next element of the array.
+     *
+     * @return The ValueIn to read the element from, valid until the next call, or null if the end of the array
+     * has been reached, see {@link #endOfArray()}, or a non-blocking channel doesn't have a complete element yet.
+     * @throws EOFException             If the input ends before the end of the array.
+     * @throws StreamCorruptedException If the input isn't a JSON array.
+     * @throws IOException              If any other I/O error occurs.
+     */
+    @Nullable
+    public ValueIn readElement() throws IOException {
+        throwExceptionIfClosed();
+        if (endOfArray)
+            return null;
+        // the limit of the last element returned is no longer needed
+        bytes.writePosition(filled);
+        if (!started && !readStart())
+            return null;
+
+        for (; ; ) {
+            for (; scanned < filled; scanned++) {
+                final int ch = bytes.peekUnsignedByte(scanned);
+                if (inString) {
+                    if (escaped)
+                        escaped = false;
+                    else if (ch == '\\')
+                        escaped = true;
+                    else if (ch == '"')
+                        inString = false;
+                    continue;
+                }
+                switch (ch) {
+                    case '"':
+                        inString = true;
+                        break;
+                    case '{':
+                    case '[':
+                        depth++;
+                        break;
+                    case '}':
+                    case ']':
+                        if (depth == 0) {
+                            if (ch == '}')
+                                throw new StreamCorruptedException("Unexpected } at depth 0");
+                            endOfArray = true;
+                            return element(scanned);
+                        }
+                        depth--;
+                        break;
+                    case ',':
+                        if (depth == 0)
+                            return element(scanned);
+                        break;
+                    default:
+                        break;
+                }
+            }
+            if (!fill())
+                return null;
+        }
+    }
+
+    /**
+     * @return true once the closing bracket of the array has been read.
+     */
+    public boolean endOfArray() {
+        return endOfArray;
+    }
+
+    /**
+     * @return The number of elements read so far.
+     */
+    public long count() {
+        return count;
+    }
+
+    // skips to after the opening bracket
+    private boolean readStart() throws IOException {
+        for (; ; ) {
+            for (; start < filled; start++) {
+                final int ch = bytes.peekUnsignedByte(start);
+                if (Character.isWhitespace(ch))
+                    continue;
+                if (ch != '[')
+                    throw new StreamCorruptedException("Expected a JSON array but found '" + (char) ch + "'");
+                started = true;
+                scanned = ++start;
+                return true;
+            }
+            if (!fill())
+                return false;
+        }
+    }
+
+    @Nullable
+    private ValueIn element(long end) throws StreamCorruptedException {
+        final long elementStart = start;
+        start = scanned = end + 1;
+        bytes.readPositionRemaining(elementStart, end - elementStart);
+        final ValueIn valueIn = wire.getValueIn();
+        valueIn.resetState();
+        wire.consumePadding();
+        if (bytes.isEmpty()) {
+            // either [] or a missing element
+            if (endOfArray && count == 0)
+                return null;
+            throw new StreamCorruptedException("Missing element after " + count + " elements");
+        }
+        count++;
+        return valueIn;
+    }
+
+    // reads at least one more byte, returning false if there are none yet
+    private boolean fill() throws IOException {
+        // only the data not yet returned needs to be kept
+        if (start > 0 && bytes.realCapacity() - filled < chunkSize) {
+            bytes.readPosition(start);
+            bytes.compact();
+            filled -= start;
+            scanned -= start;
+            start = 0;
+        }
+        bytes.ensureCapacity(filled + chunkSize);
+
+        final ByteBuffer bb = bytes.underlyingObject();
+        bb.limit((int) bytes.realCapacity());
+        bb.position((int) filled);
+        final int read = channel.read(bb);
+        if (read < 0)
+            throw new EOFException("End of input inside a JSON array after " + count + " elements");
+        if (read == 0)
+            return false;
+        filled += read;
+        bytes.writePosition(filled);
+        return true;
+    }
+
+    @Override
+    protected void performClose() {
+        bytes.releaseLast();
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.io.AbstractCloseable;
+import net.openhft.chronicle.core.io.IORuntimeException;
+import net.openhft.chronicle.core.io.InvalidMarshallableException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * The JSONArrayWriter class writes a JSON array of any length to a WritableByteChannel or an OutputStream
+ * one element at a time, e.g. to export a large data set, using {@link WireType#JSON} or {@link WireType#JSON_ONLY}.
+ * <p>
+ * The elements are written to a buffer which is written out once it holds at least {@code chunkSize} bytes,
+ * so the memory used is bounded by the chunk size plus the largest element, rather than the whole array.
+ * The array is closed by {@link #close()}. The output can be read back the same way with {@link JSONArrayReader}.
+ */
+public class JSONArrayWriter extends AbstractCloseable {
+
+    // The default number of bytes to buffer before writing them out
+    public static final int DEFAULT_CHUNK_SIZE = 64 << 10;
+
+    private final Bytes<ByteBuffer> bytes;
+    private final JSONWire wire;
+    private final WritableByteChannel channel;
+    private final int chunkSize;
+    private long count;
+
+    /**
+     * Constructs a JSONArrayWriter which writes {@link #DEFAULT_CHUNK_SIZE} bytes at a time.
+     *
+     * @param wireType Either {@link WireType#JSON} or {@link WireType#JSON_ONLY}.
+     * @param out      The stream to write to, which is not closed.
+     */
+    public JSONArrayWriter(@NotNull WireType wireType, @NotNull OutputStream out) {
+        this(wireType, Channels.newChannel(out), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param wireType  Either {@link WireType#JSON} or {@link WireType#JSON_ONLY}.
+     * @param channel   The channel to write to, which is not closed.
+     * @param chunkSize The number of bytes to buffer before writing them to the channel.
+     */
+    public JSONArrayWriter(@NotNull WireType wireType, @NotNull WritableByteChannel channel, int chunkSize) {
+        if (chunkSize <= 0)
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        this.bytes = Bytes.elasticByteBuffer(chunkSize + 64);
+        final Wire wire0 = wireType.apply(bytes);
+        if (!(wire0 instanceof JSONWire)) {
+            bytes.releaseLast();
+            throw new IllegalArgumentException("Not a JSON wire type: " + wireType);
+        }
+        this.wire = (JSONWire) wire0;
+        this.channel = channel;
+        this.chunkSize = chunkSize;
+        bytes.writeUnsignedByte('[');
+    }
+
+    /**
+     * Starts the next element of the array, writing out the elements before it if at least {@code chunkSize} bytes
+     * are buffered.
+     *
+     * @return The ValueOut to write exactly one value to, e.g. a Marshallable, a sequence or a scalar.
+     * @throws IOException If an I/O error occurs.
+     */
+    @NotNull
+    public ValueOut writeElement() throws IOException {
+        throwExceptionIfClosed();
+        if (bytes.writePosition() >= chunkSize)
+            writeBuffered();
+        final ValueOut valueOut = wire.getValueOut();
+        // the separator between elements is written here, rather than left to the ValueOut
+        valueOut.resetState();
+        if (count++ > 0)
+            bytes.writeUnsignedByte(',');
+        return valueOut;
+    }
+
+    /**
+     * Writes an object as the next element of the array.
+     *
+     * @param object The element, which can be null.
+     * @throws IOException                  If an I/O error occurs.
+     * @throws InvalidMarshallableException If the object can't be serialized.
+     */
+    public void write(@Nullable Object object) throws IOException, InvalidMarshallableException {
+        writeElement().object(object);
+    }
+
+    /**
+     * @return The number of elements written so far.
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Writes out the elements buffered, without closing the array.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    public void flush() throws IOException {
+        throwExceptionIfClosed();
+        writeBuffered();
+    }
+
+    private void writeBuffered() throws IOException {
+        if (bytes.isEmpty())
+            return;
+        final ByteBuffer bb = bytes.underlyingObject();
+        bb.limit((int) bytes.writePosition());
+        bb.position((int) bytes.readPosition());
+        while (bb.hasRemaining())
+            channel.write(bb);
+        bytes.clear();
+    }
+
+    /**
+     * Ends the array and writes out the elements buffered. The channel or stream is not closed.
+     */
+    @Override
+    protected void performClose() {
+        try {
+            bytes.writeUnsignedByte(']');
+            writeBuffered();
+        } catch (IOException ioe) {
+            throw new IORuntimeException(ioe);
+        } finally {
+            bytes.releaseLast();
+        }
+    }
+}
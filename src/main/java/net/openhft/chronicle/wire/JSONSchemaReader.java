@@ -0,0 +1,394 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.io.InvalidMarshallableException;
+import net.openhft.chronicle.core.io.ValidatableUtil;
+import net.openhft.chronicle.core.scoped.ScopedResource;
+import net.openhft.chronicle.core.util.ClassLocal;
+import net.openhft.chronicle.core.util.ObjectUtils;
+import net.openhft.chronicle.wire.internal.FastDoubles;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static net.openhft.chronicle.core.UnsafeMemory.*;
+
+/**
+ * Reads a DTO from JSON using the schema of its fields, as derived by {@link GenerateJsonSchemaMain},
+ * i.e. the fields in the order {@link WireMarshaller} writes them, each of which is an integer, a number,
+ * a boolean or a string.
+ * <p>
+ * When the input has exactly those fields, in that order, with values of those types, and strings without
+ * escapes or non-ASCII characters, as {@link JSONWire} writes such a DTO, the field names are matched as bytes
+ * and the values parsed in place, without the general purpose parsing of field names and values.
+ * Otherwise, or if the class has fields of any other type or a custom readMarshallable, the object is read by
+ * {@link ValueIn#object(Object, Class)} as usual, so the result is the same either way.
+ * <p>
+ * Readers are created once per class and are thread safe.
+ *
+ * @param <T> the type of DTO read
+ */
+public final class JSONSchemaReader<T> {
+    private static final ClassLocal<JSONSchemaReader<?>> READERS = ClassLocal.withInitial(JSONSchemaReader::new);
+    // The most digits an integer can have without overflowing a long
+    private static final int MAX_INTEGER_DIGITS = 18;
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.ISO_8859_1);
+    private static final byte[] TRUE = "true".getBytes(StandardCharsets.ISO_8859_1);
+    private static final byte[] FALSE = "false".getBytes(StandardCharsets.ISO_8859_1);
+
+    private final Class<T> tClass;
+    // null if the fast path is not supported for this class
+    @Nullable
+    private final SchemaField[] fields;
+
+    private JSONSchemaReader(Class<T> tClass) {
+        this.tClass = tClass;
+        this.fields = schemaFor(tClass);
+    }
+
+    /**
+     * @param tClass the DTO class to read
+     * @return the reader for that class
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public static <T> JSONSchemaReader<T> of(@NotNull Class<T> tClass) {
+        return (JSONSchemaReader<T>) READERS.get(tClass);
+    }
+
+    /**
+     * @return whether the fast path can be used for this class, if the input matches its schema
+     */
+    public boolean supported() {
+        return fields != null;
+    }
+
+    /**
+     * Reads an object from the current position of the wire.
+     *
+     * @param wire  to read from
+     * @param using to read into, or null to create a new object
+     * @return the object read, or null if the value was null
+     * @throws InvalidMarshallableException if the object read is not valid
+     */
+    @Nullable
+    public T read(@NotNull JSONWire wire, @Nullable T using) throws InvalidMarshallableException {
+        final Bytes<?> bytes = wire.bytes();
+        final long start = bytes.readPosition();
+        if (fields != null) {
+            final T t = using == null ? ObjectUtils.newInstance(tClass) : using;
+            if (readFast(bytes, t)) {
+                ValidatableUtil.validate(t);
+                return t;
+            }
+            // any fields set are read again by the general purpose path
+            using = t;
+            bytes.readPosition(start);
+        }
+        final ValueIn valueIn = wire.getValueIn();
+        valueIn.resetState();
+        return valueIn.object(using, tClass);
+    }
+
+    // reads an object of exactly the fields expected, returning false if the input doesn't match
+    private boolean readFast(Bytes<?> bytes, T t) {
+        final long limit = bytes.readLimit();
+        long pos = skipSpaces(bytes, bytes.readPosition(), limit);
+        if (pos >= limit || bytes.peekUnsignedByte(pos) != '{')
+            return false;
+        try (ScopedResource<StringBuilder> stlSb = Wires.acquireStringBuilderScoped()) {
+            final StringBuilder sb = stlSb.get();
+            for (int i = 0; i < fields.length; i++) {
+                pos = skipSpaces(bytes, pos + 1, limit);
+                final SchemaField field = fields[i];
+                if (!matches(bytes, pos, limit, field.key))
+                    return false;
+                pos = skipSpaces(bytes, pos + field.key.length, limit);
+                if (pos >= limit || bytes.peekUnsignedByte(pos) != ':')
+                    return false;
+                pos = skipSpaces(bytes, pos + 1, limit);
+                pos = field.readValue(bytes, pos, limit, t, sb);
+                if (pos < 0)
+                    return false;
+                pos = skipSpaces(bytes, pos, limit);
+                final int expected = i == fields.length - 1 ? '}' : ',';
+                if (pos >= limit || bytes.peekUnsignedByte(pos) != expected)
+                    return false;
+            }
+        }
+        bytes.readPosition(pos + 1);
+        return true;
+    }
+
+    private static long skipSpaces(Bytes<?> bytes, long pos, long limit) {
+        for (; pos < limit; pos++) {
+            switch (bytes.peekUnsignedByte(pos)) {
+                case ' ':
+                case '\t':
+                case '\r':
+                case '\n':
+                    break;
+                default:
+                    return pos;
+            }
+        }
+        return pos;
+    }
+
+    private static boolean matches(Bytes<?> bytes, long pos, long limit, byte[] text) {
+        if (pos + text.length > limit)
+            return false;
+        for (int i = 0; i < text.length; i++)
+            if (bytes.peekUnsignedByte(pos + i) != (text[i] & 0xFF))
+                return false;
+        return true;
+    }
+
+    // the fields in the order written, or null if any isn't a type the fast path supports
+    @Nullable
+    private static SchemaField[] schemaFor(Class<?> tClass) {
+        if (!Marshallable.class.isAssignableFrom(tClass)
+                || tClass.isInterface()
+                || Modifier.isAbstract(tClass.getModifiers()))
+            return null;
+        try {
+            if (tClass.getMethod("readMarshallable", WireIn.class).getDeclaringClass() != Marshallable.class)
+                return null;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+        final Map<String, Field> fieldMap = new LinkedHashMap<>();
+        WireMarshaller.getAllField(tClass, fieldMap);
+        if (fieldMap.isEmpty())
+            return null;
+        final SchemaField[] fields = new SchemaField[fieldMap.size()];
+        int i = 0;
+        for (Map.Entry<String, Field> entry : fieldMap.entrySet()) {
+            final Kind kind = kindOf(entry.getValue());
+            if (kind == null)
+                return null;
+            final String name = entry.getKey();
+            for (int j = 0; j < name.length(); j++)
+                if (name.charAt(j) >= 128)
+                    return null;
+            fields[i++] = new SchemaField(name, unsafeObjectFieldOffset(entry.getValue()), kind);
+        }
+        return fields;
+    }
+
+    @Nullable
+    private static Kind kindOf(Field field) {
+        for (Annotation annotation : field.getAnnotations()) {
+            // conversions such as @LongConversion change how the value is written
+            final String name = annotation.annotationType().getName();
+            if (!name.endsWith(".NotNull") && !name.endsWith(".Comment"))
+                return null;
+        }
+        final Class<?> type = field.getType();
+        for (Kind kind : Kind.values())
+            if (kind.type == type)
+                return kind;
+        return null;
+    }
+
+    /**
+     * The JSON type of a field, and the Java type it is read as.
+     */
+    enum Kind {
+        BYTE(byte.class, Byte.MIN_VALUE, Byte.MAX_VALUE),
+        SHORT(short.class, Short.MIN_VALUE, Short.MAX_VALUE),
+        INT(int.class, Integer.MIN_VALUE, Integer.MAX_VALUE),
+        LONG(long.class, Long.MIN_VALUE, Long.MAX_VALUE),
+        BOXED_INT(Integer.class, Integer.MIN_VALUE, Integer.MAX_VALUE),
+        BOXED_LONG(Long.class, Long.MIN_VALUE, Long.MAX_VALUE),
+        FLOAT(float.class),
+        DOUBLE(double.class),
+        BOXED_DOUBLE(Double.class),
+        BOOLEAN(boolean.class),
+        STRING(String.class);
+
+        final Class<?> type;
+        final long min;
+        final long max;
+
+        Kind(Class<?> type) {
+            this(type, 0, 0);
+        }
+
+        Kind(Class<?> type, long min, long max) {
+            this.type = type;
+            this.min = min;
+            this.max = max;
+        }
+
+        boolean isInteger() {
+            return min < max;
+        }
+
+        boolean nullable() {
+            return !type.isPrimitive();
+        }
+    }
+
+    /**
+     * A field expected in the input, its name as a quoted JSON string, and where it is stored.
+     */
+    static final class SchemaField {
+        final byte[] key;
+        final long offset;
+        final Kind kind;
+
+        SchemaField(String name, long offset, Kind kind) {
+            this.key = ('"' + name + '"').getBytes(StandardCharsets.ISO_8859_1);
+            this.offset = offset;
+            this.kind = kind;
+        }
+
+        // reads the value at pos into the field, returning the position after it, or -1 if it doesn't match
+        long readValue(Bytes<?> bytes, long pos, long limit, Object o, StringBuilder sb) {
+            if (kind.nullable() && matches(bytes, pos, limit, NULL)) {
+                unsafePutObject(o, offset, null);
+                return pos + NULL.length;
+            }
+            if (kind.isInteger())
+                return readInteger(bytes, pos, limit, o);
+            switch (kind) {
+                case FLOAT:
+                case DOUBLE:
+                case BOXED_DOUBLE:
+                    return readNumber(bytes, pos, limit, o);
+                case BOOLEAN:
+                    if (matches(bytes, pos, limit, TRUE)) {
+                        unsafePutBoolean(o, offset, true);
+                        return pos + TRUE.length;
+                    }
+                    if (matches(bytes, pos, limit, FALSE)) {
+                        unsafePutBoolean(o, offset, false);
+                        return pos + FALSE.length;
+                    }
+                    return -1;
+                case STRING:
+                    return readString(bytes, pos, limit, o, sb);
+                default:
+                    throw new AssertionError(kind);
+            }
+        }
+
+        private long readInteger(Bytes<?> bytes, long pos, long limit, Object o) {
+            final boolean negative = pos < limit && bytes.peekUnsignedByte(pos) == '-';
+            if (negative)
+                pos++;
+            long value = 0;
+            int digits = 0;
+            for (; pos < limit; pos++) {
+                final int ch = bytes.peekUnsignedByte(pos);
+                if (ch < '0' || ch > '9')
+                    break;
+                if (++digits > MAX_INTEGER_DIGITS)
+                    return -1;
+                value = value * 10 + (ch - '0');
+            }
+            if (digits == 0)
+                return -1;
+            if (negative)
+                value = -value;
+            if (value < kind.min || value > kind.max)
+                return -1;
+            switch (kind) {
+                case BYTE:
+                    unsafePutByte(o, offset, (byte) value);
+                    break;
+                case SHORT:
+                    unsafePutShort(o, offset, (short) value);
+                    break;
+                case INT:
+                    unsafePutInt(o, offset, (int) value);
+                    break;
+                case LONG:
+                    unsafePutLong(o, offset, value);
+                    break;
+                case BOXED_INT:
+                    unsafePutObject(o, offset, (int) value);
+                    break;
+                case BOXED_LONG:
+                    unsafePutObject(o, offset, value);
+                    break;
+                default:
+                    throw new AssertionError(kind);
+            }
+            return pos;
+        }
+
+        private long readNumber(Bytes<?> bytes, long pos, long limit, Object o) {
+            long end = pos;
+            for (; end < limit; end++) {
+                final int ch = bytes.peekUnsignedByte(end);
+                if (!(ch >= '0' && ch <= '9' || ch == '-' || ch == '+' || ch == '.' || ch == 'e' || ch == 'E'))
+                    break;
+            }
+            if (end == pos)
+                return -1;
+            bytes.readPosition(pos);
+            final double d = FastDoubles.parseDouble(bytes);
+            // the parser also reads the byte after the number
+            if (Double.isNaN(d) || bytes.readPosition() != Math.min(end + 1, limit))
+                return -1;
+            switch (kind) {
+                case FLOAT:
+                    unsafePutFloat(o, offset, (float) d);
+                    break;
+                case DOUBLE:
+                    unsafePutDouble(o, offset, d);
+                    break;
+                case BOXED_DOUBLE:
+                    unsafePutObject(o, offset, d);
+                    break;
+                default:
+                    throw new AssertionError(kind);
+            }
+            return end;
+        }
+
+        private long readString(Bytes<?> bytes, long pos, long limit, Object o, StringBuilder sb) {
+            if (pos >= limit || bytes.peekUnsignedByte(pos) != '"')
+                return -1;
+            sb.setLength(0);
+            for (pos++; pos < limit; pos++) {
+                final int ch = bytes.peekUnsignedByte(pos);
+                if (ch == '"') {
+                    unsafePutObject(o, offset, WireInternal.INTERNER.intern(sb));
+                    return pos + 1;
+                }
+                // escapes and multi-byte characters are left to the general purpose path
+                if (ch == '\\' || ch >= 128)
+                    return -1;
+                sb.append((char) ch);
+            }
+            return -1;
+        }
+    }
+}
@@ -26,6 +26,7 @@ import net.openhft.chronicle.core.pool.ClassLookup;
 import net.openhft.chronicle.core.threads.ThreadLocalHelper;
 import net.openhft.chronicle.core.util.ClassNotFoundRuntimeException;
 import net.openhft.chronicle.core.util.UnresolvedType;
+import net.openhft.chronicle.wire.internal.FastDoubles;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -225,7 +226,7 @@ public class JSONWire extends TextWire {
                     consumePadding();
                 }
 
-                final double v = isNull ? Double.NaN : bytes.parseDouble();
+                final double v = isNull ? Double.NaN : FastDoubles.parseDouble(bytes);
                 if (sep != 0) {
                     int end = peekBack();
                     if (end != sep)
@@ -647,7 +648,7 @@ public class JSONWire extends TextWire {
 
                             // If the number had a decimal point, treat it as a double, otherwise as a long
                             if (decimal)
-                                wire.getValueOut().float64(bytes.parseDouble());
+                                wire.getValueOut().float64(FastDoubles.parseDouble(bytes));
                             else
                                 wire.getValueOut().int64(bytes.parseLong());
                         } finally {
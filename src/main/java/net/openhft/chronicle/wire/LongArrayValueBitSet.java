@@ -44,21 +44,63 @@ public class LongArrayValueBitSet extends AbstractCloseable implements Marshalla
     /* Used to shift left or right for a partial word mask */
     private static final long WORD_MASK = ~0L;
 
+    /* The number of words in a block of the summary, one bit each */
+    private static final int WORDS_PER_BLOCK = 64;
+
+    /* The number of values in the summary per block: the non-empty words, the bits set and the full words */
+    private static final int VALUES_PER_BLOCK = 3;
+
     // Pauser object used for managing concurrent access (assuming based on its name, actual use needs context)
     private transient Pauser pauser;
 
+    // When only one thread accesses this bit set, words are read and written without CAS
+    private transient boolean threadConfined;
+
     /**
      * The internal field corresponding to the serialField "bits".
      */
     private LongArrayValues words;
 
+    // The maximum number of bits given when constructed, which claimNextClearBit never reaches, or 0 if not known
+    private transient long maxBits;
+
+    /**
+     * An optional summary of the words, {@link #VALUES_PER_BLOCK} values per block of {@link #WORDS_PER_BLOCK} words.
+     * The first has a bit set for each word of the block which may be non-zero, the second is the number of bits set in the block,
+     * and the third has a bit set for each word of the block which is full, i.e. has every bit set.
+     * It is stored next to the words so it is shared in the same way, and is null if not enabled.
+     */
+    private LongArrayValues summary;
+
     /**
      * Constructs a new {@code LongArrayValueBitSet} with the given maximum number of bits.
      *
      * @param maxNumberOfBits Maximum number of bits that the bit set can handle.
      */
     public LongArrayValueBitSet(final long maxNumberOfBits) {
-        words = new BinaryLongArrayReference((maxNumberOfBits + BITS_PER_WORD - 1) / BITS_PER_WORD);
+        this(maxNumberOfBits, false);
+    }
+
+    /**
+     * Constructs a new {@code LongArrayValueBitSet} with the given maximum number of bits, optionally with a summary
+     * of which words are non-empty and the number of bits set per block of words.
+     * <p>
+     * The summary costs an extra update on each change of a word, but allows {@link #nextSetBit(int)},
+     * {@link #previousSetBit(int)} and {@link #cardinality()} to skip empty words, so these take time in proportion to
+     * the bits set rather than the size of a sparse bit set, and {@link #claimNextClearBit(int)} to skip full words.
+     *
+     * @param maxNumberOfBits Maximum number of bits that the bit set can handle.
+     * @param summary         Whether to maintain a summary of the words.
+     */
+    public LongArrayValueBitSet(final long maxNumberOfBits, final boolean summary) {
+        final long capacity = (maxNumberOfBits + BITS_PER_WORD - 1) / BITS_PER_WORD;
+        words = new BinaryLongArrayReference(capacity);
+        maxBits = maxNumberOfBits;
+        if (summary) {
+            final long summaryCapacity = VALUES_PER_BLOCK * ((capacity + WORDS_PER_BLOCK - 1) / WORDS_PER_BLOCK);
+            this.summary = new BinaryLongArrayReference(summaryCapacity);
+            this.summary.setMaxUsed(summaryCapacity);
+        }
         singleThreadedCheckDisabled(true);
     }
 
@@ -69,7 +111,19 @@ public class LongArrayValueBitSet extends AbstractCloseable implements Marshalla
      * @param w               The {@code Wire} object to be used for initialization.
      */
     public LongArrayValueBitSet(final long maxNumberOfBits, Wire w) {
-        this(maxNumberOfBits);
+        this(maxNumberOfBits, false, w);
+    }
+
+    /**
+     * Constructs a new {@code LongArrayValueBitSet} with the given maximum number of bits, optionally with a summary,
+     * and initializes it with the given {@code Wire}.
+     *
+     * @param maxNumberOfBits Maximum number of bits that the bit set can handle.
+     * @param summary         Whether to maintain a summary of the words.
+     * @param w               The {@code Wire} object to be used for initialization.
+     */
+    public LongArrayValueBitSet(final long maxNumberOfBits, final boolean summary, Wire w) {
+        this(maxNumberOfBits, summary);
         writeMarshallable(w);
         readMarshallable(w);
     }
@@ -119,12 +173,175 @@ public class LongArrayValueBitSet extends AbstractCloseable implements Marshalla
     @Override
     public void setWord(int wordIndex, long bits) {
         expandTo(wordIndex);
+        final long oldValue = summary == null ? 0 : words.getVolatileValueAt(wordIndex);
         words.setValueAt(wordIndex, bits);
+        summarise(wordIndex, oldValue, bits);
     }
 
     @Override
     protected void performClose() {
-        closeQuietly(words);
+        closeQuietly(words, summary);
+    }
+
+    /**
+     * @return whether this bit set is only accessed by one thread, see {@link #threadConfined(boolean)}
+     */
+    public boolean threadConfined() {
+        return threadConfined;
+    }
+
+    /**
+     * Sets whether this bit set is only accessed by the current thread, by any process.
+     * <p>
+     * When thread confined, updates, including the range and logical operations, read and write each word once
+     * with plain accesses, rather than with a CAS per word which is retried if another thread changed it.
+     * This should only be enabled while no other thread or process can access the words.
+     *
+     * @param threadConfined whether this bit set is only accessed by one thread
+     * @return this
+     */
+    public LongArrayValueBitSet threadConfined(boolean threadConfined) {
+        this.threadConfined = threadConfined;
+        return this;
+    }
+
+    /**
+     * Applies a function to each word from {@code fromWord} up to but excluding {@code toWord}, with the matching word
+     * of {@code other}, or {@code param} if other is null, running directly over the words without checking the
+     * number in use for each one.
+     * <p>
+     * Words are only written if they change. The caller must ensure the words are in use.
+     */
+    private void combine(int fromWord, int toWord, LongArrayValues other, long param, LongFunction function) {
+        if (threadConfined) {
+            for (int i = fromWord; i < toWord; i++) {
+                final long oldValue = words.getValueAt(i);
+                final long value = function.apply(oldValue, other == null ? param : other.getValueAt(i));
+                if (oldValue != value) {
+                    words.setValueAt(i, value);
+                    summarise(i, oldValue, value);
+                }
+            }
+            return;
+        }
+        for (int i = fromWord; i < toWord; i++) {
+            final long arg = other == null ? param : other.getValueAt(i);
+            for (; ; ) {
+                final long oldValue = words.getVolatileValueAt(i);
+                final long value = function.apply(oldValue, arg);
+                if (oldValue == value)
+                    break;
+                if (words.compareAndSet(i, oldValue, value)) {
+                    summarise(i, oldValue, value);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Updates one word, with a CAS unless this bit set is thread confined.
+     */
+    private void update(int wordIndex, long param, LongFunction function) {
+        if (threadConfined) {
+            expandTo(wordIndex);
+            combine(wordIndex, wordIndex + 1, null, param, function);
+        } else {
+            set(wordIndex, param, function);
+        }
+    }
+
+    /**
+     * @return whether this bit set maintains a summary of its words.
+     */
+    public boolean hasSummary() {
+        return summary != null;
+    }
+
+    /**
+     * Updates the summary after a word has changed from {@code oldValue} to {@code value}.
+     * <p>
+     * The count is adjusted by the change in bits set. The summary bit for a word is set whenever it is non-zero,
+     * and after clearing it for a word which became zero, the word is checked again in case another thread set it
+     * in the meantime, so once all updates have completed, every non-zero word has its summary bit set.
+     * <p>
+     * The full bit for a word is the other way around; after setting it for a word which became full, the word is
+     * checked again in case another thread cleared a bit in the meantime, so once all updates have completed, no
+     * word which has a clear bit has its full bit set.
+     */
+    private void summarise(int wordIndex, long oldValue, long value) {
+        if (summary == null || oldValue == value)
+            return;
+        final long block = (long) VALUES_PER_BLOCK * (wordIndex / WORDS_PER_BLOCK);
+        final int delta = Long.bitCount(value) - Long.bitCount(oldValue);
+        if (delta != 0)
+            addToSummary(block + 1, delta);
+        final long bit = 1L << wordIndex;
+        if (value != 0) {
+            setInSummary(block, bit);
+        } else {
+            clearInSummary(block, bit);
+            if (words.getVolatileValueAt(wordIndex) != 0)
+                setInSummary(block, bit);
+        }
+        if (value == WORD_MASK) {
+            setInSummary(block + 2, bit);
+            if (words.getVolatileValueAt(wordIndex) != WORD_MASK)
+                clearInSummary(block + 2, bit);
+        } else {
+            clearInSummary(block + 2, bit);
+        }
+    }
+
+    private void addToSummary(long index, long delta) {
+        for (; ; ) {
+            final long count = summary.getVolatileValueAt(index);
+            if (summary.compareAndSet(index, count, count + delta))
+                return;
+        }
+    }
+
+    private void setInSummary(long index, long bit) {
+        for (; ; ) {
+            final long mask = summary.getVolatileValueAt(index);
+            if ((mask & bit) != 0 || summary.compareAndSet(index, mask, mask | bit))
+                return;
+        }
+    }
+
+    private void clearInSummary(long index, long bit) {
+        for (; ; ) {
+            final long mask = summary.getVolatileValueAt(index);
+            if ((mask & bit) == 0 || summary.compareAndSet(index, mask, mask & ~bit))
+                return;
+        }
+    }
+
+    /**
+     * Recalculates the whole summary from the words, after a bulk change which wasn't tracked word by word.
+     */
+    private void rebuildSummary() {
+        if (summary == null)
+            return;
+        final int wordsInUse = getWordsInUse();
+        final long blocks = summary.getCapacity() / VALUES_PER_BLOCK;
+        for (int b = 0; b < blocks; b++) {
+            long mask = 0;
+            long count = 0;
+            long full = 0;
+            for (int i = 0, u = b * WORDS_PER_BLOCK; i < WORDS_PER_BLOCK && u < wordsInUse; i++, u++) {
+                final long word = words.getVolatileValueAt(u);
+                if (word != 0) {
+                    mask |= 1L << i;
+                    count += Long.bitCount(word);
+                }
+                if (word == WORD_MASK)
+                    full |= 1L << i;
+            }
+            summary.setOrderedValueAt((long) VALUES_PER_BLOCK * b, mask);
+            summary.setOrderedValueAt((long) VALUES_PER_BLOCK * b + 1, count);
+            summary.setOrderedValueAt((long) VALUES_PER_BLOCK * b + 2, full);
+        }
     }
 
     /**
@@ -155,8 +372,12 @@ public class LongArrayValueBitSet extends AbstractCloseable implements Marshalla
         for (; ; ) {
             final long oldValue = words.getVolatileValueAt(wordIndex);
             final long value = function.apply(oldValue, param);
-            if (oldValue == value || words.compareAndSet(wordIndex, oldValue, value))
+            if (oldValue == value)
                 break;
+            if (words.compareAndSet(wordIndex, oldValue, value)) {
+                summarise(wordIndex, oldValue, value);
+                break;
+            }
             internalPauser.pause();
         }
     }
@@ -246,7 +467,7 @@ public class LongArrayValueBitSet extends AbstractCloseable implements Marshalla
      * @param param     The long value to use in the XOR operation.
      */
     private void caret(int wordIndex, long param) {
-        set(wordIndex, param, (x, y) -> x ^ y);
+        update(wordIndex, param, (x, y) -> x ^ y);
     }
 
     /**
@@ -257,7 +478,7 @@ public class LongArrayValueBitSet extends AbstractCloseable implements Marshalla
      * @param param     The long value to use in the AND operation.
      */
     private void and(int wordIndex, final long param) {
-        set(wordIndex, param, (x, y) -> x & y);
+        update(wordIndex, param, (x, y) -> x & y);
     }
 
     /**
@@ -290,8 +511,7 @@ public class LongArrayValueBitSet extends AbstractCloseable implements Marshalla
             caret(startWordIndex, firstWordMask);
 
             // Handle intermediate words, if any
-            for (int i = startWordIndex + 1; i < endWordIndex; i++)
-                caret(i, WORD_MASK);
+            combine(startWordIndex + 1, endWordIndex, null, WORD_MASK, (x, y) -> x ^ y);
 
             // Handle last word
             caret(endWordIndex, lastWordMask);
@@ -319,7 +539,7 @@ public class LongArrayValueBitSet extends AbstractCloseable implements Marshalla
      * @param param     The long value to use in the OR operation.
      */
     private void pipe(int wordIndex, long param) {
-        set(wordIndex, param, (x, y) -> x | y);
+        update(wordIndex, param, (x, y) -> x | y);
     }
 
     /**
@@ -367,8 +587,7 @@ public class LongArrayValueBitSet extends AbstractCloseable implements Marshalla
             pipe(startWordIndex, firstWordMask);
 
             // Handle intermediate words, if any
-            for (int i = startWordIndex + 1; i < endWordIndex; i++)
-                setWord(i, WORD_MASK);
+            combine(startWordIndex + 1, endWordIndex, null, WORD_MASK, (x, y) -> x | y);
 
             // Handle last word (restores invariants)
             pipe(endWordIndex, lastWordMask);
@@ -437,8 +656,7 @@ public class LongArrayValueBitSet extends AbstractCloseable implements Marshalla
             and(startWordIndex, ~firstWordMask);
 
             // Set all bits to false for intermediate words
-            for (int i = startWordIndex + 1; i < endWordIndex; i++)
-                words.setOrderedValueAt(i, 0);
+            combine(startWordIndex + 1, endWordIndex, null, 0, (x, y) -> x & y);
 
             // Clear bits in the last word
             and(endWordIndex, ~lastWordMask);
@@ -460,6 +678,7 @@ public class LongArrayValueBitSet extends AbstractCloseable implements Marshalla
 
         // Reset the number of words in use
         words.setUsed(0);
+        rebuildSummary();
     }
 
     /**
@@ -499,6 +718,10 @@ public class LongArrayValueBitSet extends AbstractCloseable implements Marshalla
         // Create a mask to filter out bits before the fromIndex
         long word = words.getVolatileValueAt(u) & (WORD_MASK << fromIndex);
 
+        // Skip the empty words using the summary
+        if (summary != null && word == 0)
+            return nextSetBitFromWord(u + 1);
+
         while (true) {
             if (word != 0)
                 // Use Long's numberOfTrailingZeros to quickly find the next set bit in the current word
@@ -529,6 +752,12 @@ public class LongArrayValueBitSet extends AbstractCloseable implements Marshalla
         // Create a mask to filter out bits before the fromIndex
         long word = words.getVolatileValueAt(u) & (WORD_MASK << fromIndex);
 
+        // Skip the empty words using the summary, stopping at the first word after toIndex as below
+        if (summary != null && word == 0) {
+            final int next = nextSetBitFromWord(u + 1);
+            return next < 0 || next / BITS_PER_WORD * BITS_PER_WORD > toIndex ? -1 : next;
+        }
+
         while (true) {
             if (word != 0)
                 // Use Long's numberOfTrailingZeros to quickly find the next set bit in the current word
@@ -541,6 +770,54 @@ public class LongArrayValueBitSet extends AbstractCloseable implements Marshalla
         }
     }
 
+    /**
+     * Finds the next set bit at or after the start of a word, visiting only the words the summary has as non-empty.
+     *
+     * @param fromWord the first word to check
+     * @return the index of the next set bit, or -1 if there is none
+     */
+    private int nextSetBitFromWord(int fromWord) {
+        final int wordsInUse = getWordsInUse();
+        final int blocks = (wordsInUse + WORDS_PER_BLOCK - 1) / WORDS_PER_BLOCK;
+        for (int b = fromWord / WORDS_PER_BLOCK; b < blocks; b++) {
+            long nonEmpty = summary.getVolatileValueAt((long) VALUES_PER_BLOCK * b);
+            if (b == fromWord / WORDS_PER_BLOCK)
+                nonEmpty &= WORD_MASK << fromWord;
+            for (; nonEmpty != 0; nonEmpty &= nonEmpty - 1) {
+                final int u = b * WORDS_PER_BLOCK + Long.numberOfTrailingZeros(nonEmpty);
+                if (u >= wordsInUse)
+                    return -1;
+                final long word = words.getVolatileValueAt(u);
+                if (word != 0)
+                    return Math.toIntExact((u * BITS_PER_WORD) + Long.numberOfTrailingZeros(word));
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the previous set bit at or before the end of a word, visiting only the words the summary has as non-empty.
+     *
+     * @param fromWord the last word to check, or -1
+     * @return the index of the previous set bit, or -1 if there is none
+     */
+    private int previousSetBitFromWord(int fromWord) {
+        for (int b = fromWord < 0 ? -1 : fromWord / WORDS_PER_BLOCK; b >= 0; b--) {
+            long nonEmpty = summary.getVolatileValueAt((long) VALUES_PER_BLOCK * b);
+            if (b == fromWord / WORDS_PER_BLOCK)
+                nonEmpty &= WORD_MASK >>> -(fromWord + 1);
+            while (nonEmpty != 0) {
+                final int i = WORDS_PER_BLOCK - 1 - Long.numberOfLeadingZeros(nonEmpty);
+                final int u = b * WORDS_PER_BLOCK + i;
+                final long word = words.getVolatileValueAt(u);
+                if (word != 0)
+                    return Math.toIntExact((u + 1) * BITS_PER_WORD - 1 - Long.numberOfLeadingZeros(word));
+                nonEmpty &= ~(1L << i);
+            }
+        }
+        return -1;
+    }
+
     /**
      * Retrieves the index of the first bit set to {@code false} that occurs on or after the specified starting index.
      * If all bits are set to {@code true} after the specified index, it returns the length of this ChronicleBitSet.
@@ -598,6 +875,10 @@ public class LongArrayValueBitSet extends AbstractCloseable implements Marshalla
         // Create a mask to filter out bits after the fromIndex
         long word = words.getVolatileValueAt(u) & (WORD_MASK >>> -(fromIndex + 1));
 
+        // Skip the empty words using the summary
+        if (summary != null && word == 0)
+            return previousSetBitFromWord(u - 1);
+
         while (true) {
             if (word != 0)
                 // Utilize Long's numberOfLeadingZeros to swiftly identify the previous set bit in the current word
@@ -670,6 +951,13 @@ public class LongArrayValueBitSet extends AbstractCloseable implements Marshalla
         throwExceptionIfClosed();
 
         long sum = 0;
+        if (summary != null) {
+            // Adding the counts per block, which are exact once concurrent updates have completed
+            final int blocks = (getWordsInUse() + WORDS_PER_BLOCK - 1) / WORDS_PER_BLOCK;
+            for (int b = 0; b < blocks; b++)
+                sum += summary.getVolatileValueAt((long) VALUES_PER_BLOCK * b + 1);
+            return (int) sum;
+        }
         // Counting bits set to true for each word
         for (int i = 0; i < getWordsInUse(); i++)
             sum += Long.bitCount(words.getVolatileValueAt(i));
@@ -691,10 +979,20 @@ public class LongArrayValueBitSet extends AbstractCloseable implements Marshalla
 
         OS.memory().loadFence();  // Ensuring recent changes to memory are visible
 
+        if (set instanceof LongArrayValueBitSet) {
+            // Run directly over the words of both
+            final int wordsInUse = getWordsInUse();
+            final int wordsInCommon = Math.min(wordsInUse, set.getWordsInUse());
+            combine(wordsInCommon, wordsInUse, null, 0, (x, y) -> x & y);
+            combine(0, wordsInCommon, ((LongArrayValueBitSet) set).words, 0, (x, y) -> x & y);
+            OS.memory().storeFence();
+            return;
+        }
+
         int value = Math.toIntExact(getWordsInUse());
         // Resetting any bits that are beyond the word length of the provided set
         while (value > set.getWordsInUse())
-            words.setValueAt(--value, 0);
+            setWord(--value, 0);
 
         // Perform bitwise AND for overlapping words
         for (int i = 0; i < value; i++)
@@ -716,6 +1014,12 @@ public class LongArrayValueBitSet extends AbstractCloseable implements Marshalla
         long wordsInCommon = Math.min(getWordsInUse(), set.getWordsInUse());
 
         OS.memory().loadFence();
+        if (set instanceof LongArrayValueBitSet) {
+            // Words not in use are zero, so OR the words of the other directly
+            combine(0, set.getWordsInUse(), ((LongArrayValueBitSet) set).words, 0, (x, y) -> x | y);
+            OS.memory().storeFence();
+            return;
+        }
         // Perform logical OR on words in common
         int i;
         for (i = 0; i < wordsInCommon; i++)
@@ -751,6 +1055,13 @@ public class LongArrayValueBitSet extends AbstractCloseable implements Marshalla
         OS.memory().loadFence();
         // Ensuring recent changes to memory are visible
 
+        if (set instanceof LongArrayValueBitSet) {
+            // Words not in use are zero, so XOR the words of the other directly
+            combine(0, wordsInUse2, ((LongArrayValueBitSet) set).words, 0, (x, y) -> x ^ y);
+            OS.memory().storeFence();
+            return;
+        }
+
         // Perform bitwise XOR on words in common
         int i;
         for (i = 0; i < wordsInCommon; i++)
@@ -758,7 +1069,7 @@ public class LongArrayValueBitSet extends AbstractCloseable implements Marshalla
 
         // Copy any remaining words from the provided set
         for (; i < wordsInUse2; i++)
-            words.setValueAt(i, set.getWord(i));
+            setWord(i, set.getWord(i));
         OS.memory().storeFence(); // Ensuring changes made are visible to other threads
     }
 
@@ -773,6 +1084,12 @@ public class LongArrayValueBitSet extends AbstractCloseable implements Marshalla
 
         // Perform logical (a & !b) on words in common
         OS.memory().loadFence();
+        if (set instanceof LongArrayValueBitSet) {
+            final int wordsInCommon = Math.min(getWordsInUse(), set.getWordsInUse());
+            combine(0, wordsInCommon, ((LongArrayValueBitSet) set).words, 0, (x, y) -> x & ~y);
+            OS.memory().storeFence();
+            return;
+        }
         for (int i = Math.min(getWordsInUse(), set.getWordsInUse()) - 1; i >= 0; i--)
             and(i, ~set.getWord(i));
 
@@ -911,6 +1228,8 @@ public class LongArrayValueBitSet extends AbstractCloseable implements Marshalla
     public void writeMarshallable(@NotNull final WireOut wire) {
         throwExceptionIfClosed();
         wire.write("words").int64array(words.getCapacity(), words);
+        if (summary != null)
+            wire.write("summary").int64array(summary.getCapacity(), summary);
     }
 
     @Override
@@ -919,9 +1238,14 @@ public class LongArrayValueBitSet extends AbstractCloseable implements Marshalla
 
         throwExceptionIfClosed();
 
-        closeQuietly(words);
+        closeQuietly(words, summary);
+        summary = null;
 
         wire.read("words").int64array(null, this, (t, a) -> t.words = a);
+        // the summary is optional, and is only written if it is enabled
+        final ValueIn in = wire.read("summary");
+        if (in.isPresent())
+            in.int64array(null, this, (t, a) -> t.summary = a);
     }
 
     @Override
@@ -931,14 +1255,83 @@ public class LongArrayValueBitSet extends AbstractCloseable implements Marshalla
         final long capacity = words.getCapacity();
         if (wordsInUse > capacity)
             throw new IllegalArgumentException("Too much data " + wordsInUse + " words > " + capacity);
-        for (int i = getWordsInUse(); i > wordsInUse; i--)
-            words.setValueAt(i, 0L);
+        for (int i = getWordsInUse(); i > wordsInUse; )
+            words.setValueAt(--i, 0L);
         words.setUsed(wordsInUse);
         for (int i = 0; i < wordsInUse; i++)
             words.setValueAt(i, bitSet.getWord(i));
+        rebuildSummary();
         OS.memory().storeFence();
     }
 
+    @Override
+    public int claimNextClearBit(int fromIndex) {
+        throwExceptionIfClosed();
+
+        final long size = words.getCapacity() * BITS_PER_WORD;
+        final long limit = maxBits > 0 ? Math.min(maxBits, size) : size;
+        int start = wordIndex(fromIndex);
+        if (limit == 0)
+            return -1;
+        // only the words holding bits below the limit, and in the last of these, only those bits
+        final int capacity = Math.toIntExact((limit + BITS_PER_WORD - 1) / BITS_PER_WORD);
+        final long lastMask = WORD_MASK >>> -limit;
+        long firstMask = WORD_MASK << fromIndex;
+        if (fromIndex >= limit) {
+            start = 0;
+            firstMask = WORD_MASK;
+        }
+        // the first word is visited again at the end for the bits before fromIndex
+        for (int n = 0; n <= capacity; ) {
+            int u = start + n;
+            if (u >= capacity)
+                u -= capacity;
+            // Skip the full words using the summary, at most to the end of the block
+            if (summary != null && n > 0) {
+                final long full = summary.getVolatileValueAt((long) VALUES_PER_BLOCK * (u / WORDS_PER_BLOCK) + 2) >>> u;
+                if ((full & 1) != 0) {
+                    n += Math.min(Long.numberOfTrailingZeros(~full), capacity - u);
+                    continue;
+                }
+            }
+            final long mask = (n == 0 ? firstMask : WORD_MASK) & (u == capacity - 1 ? lastMask : WORD_MASK);
+            for (; ; ) {
+                final long word = words.getVolatileValueAt(u);
+                final long free = ~word & mask;
+                if (free == 0)
+                    break;
+                final long bit = Long.lowestOneBit(free);
+                if (words.compareAndSet(u, word, word | bit)) {
+                    words.setMaxUsed(u + 1L);
+                    summarise(u, word, word | bit);
+                    return Math.toIntExact(u * BITS_PER_WORD + Long.numberOfTrailingZeros(bit));
+                }
+                // another claimer changed this word, so it made progress; look again without pausing
+            }
+            n++;
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean releaseBit(int bitIndex) {
+        throwExceptionIfClosed();
+
+        final int u = wordIndex(bitIndex);
+        if (u >= getWordsInUse())
+            return false;
+        final long bit = 1L << bitIndex;
+        for (; ; ) {
+            final long word = words.getVolatileValueAt(u);
+            if ((word & bit) == 0)
+                return false;
+            if (words.compareAndSet(u, word, word & ~bit)) {
+                summarise(u, word, word & ~bit);
+                return true;
+            }
+        }
+    }
+
     /**
      * Represents a functional interface for a long-to-long function.
      * This can be useful for operations that require transforming or manipulating long values.
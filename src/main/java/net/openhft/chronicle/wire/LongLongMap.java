@@ -0,0 +1,274 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.core.Maths;
+import net.openhft.chronicle.core.io.IORuntimeException;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * A reusable open addressing hash map of {@code long} keys to {@code long} values, with no boxing.
+ * <p>
+ * As a field of a {@link Marshallable} it is read in place, reusing its arrays, so decoding the same
+ * shaped message repeatedly creates no garbage. It is written as a flat sequence of key, value pairs
+ * which BinaryWire encodes with the smallest integer type for each number, e.g.
+ * <pre>{@code
+ * positions: { entries: [ 1001, 250, 1002, -75 ] }
+ * }</pre>
+ * The capacity only grows; {@link #clear()} retains it. This class is not thread safe.
+ */
+public class LongLongMap implements Marshallable {
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private long[] values;
+    private boolean[] used;
+    private int mask;
+    private int size;
+
+    /**
+     * Creates an empty map with a default capacity.
+     */
+    public LongLongMap() {
+        this(MIN_CAPACITY / 2);
+    }
+
+    /**
+     * Creates an empty map which can hold {@code expectedSize} entries before it needs to grow.
+     *
+     * @param expectedSize the number of entries expected
+     */
+    public LongLongMap(int expectedSize) {
+        allocate(Maths.nextPower2(expectedSize * 2, MIN_CAPACITY));
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+    }
+
+    static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private int indexOf(long key) {
+        for (int i = hash(key) & mask; used[i]; i = (i + 1) & mask)
+            if (keys[i] == key)
+                return i;
+        return -1;
+    }
+
+    /**
+     * @return the number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true if there are no entries
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @param key to look up
+     * @return true if the key is present
+     */
+    public boolean containsKey(long key) {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * @param key          to look up
+     * @param defaultValue to return if the key is not present
+     * @return the value for the key, or the default value
+     */
+    public long getOrDefault(long key, long defaultValue) {
+        int index = indexOf(key);
+        return index < 0 ? defaultValue : values[index];
+    }
+
+    /**
+     * Associates the key with the value, replacing any previous value.
+     *
+     * @param key   to set
+     * @param value to associate
+     */
+    public void put(long key, long value) {
+        int i = hash(key) & mask;
+        for (; used[i]; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+        }
+        used[i] = true;
+        keys[i] = key;
+        values[i] = value;
+        if (++size * 2 > keys.length)
+            resize(keys.length * 2);
+    }
+
+    /**
+     * Adds {@code delta} to the value for the key, treating a missing key as zero.
+     *
+     * @param key   to update
+     * @param delta to add
+     * @return the new value
+     */
+    public long addTo(long key, long delta) {
+        int index = indexOf(key);
+        if (index >= 0)
+            return values[index] += delta;
+        put(key, delta);
+        return delta;
+    }
+
+    /**
+     * Removes the key, if present.
+     *
+     * @param key to remove
+     * @return true if the key was present
+     */
+    public boolean remove(long key) {
+        int index = indexOf(key);
+        if (index < 0)
+            return false;
+        // shift back any following entries which would no longer be reachable
+        int gap = index;
+        for (int i = (gap + 1) & mask; used[i]; i = (i + 1) & mask) {
+            int home = hash(keys[i]) & mask;
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        used[gap] = false;
+        size--;
+        return true;
+    }
+
+    /**
+     * Removes all the entries, retaining the capacity.
+     */
+    public void clear() {
+        if (size == 0)
+            return;
+        Arrays.fill(used, false);
+        size = 0;
+    }
+
+    /**
+     * Calls the consumer for each entry, in no particular order.
+     *
+     * @param consumer to call
+     */
+    public void forEach(@NotNull LongLongConsumer consumer) {
+        for (int i = 0; i < used.length; i++)
+            if (used[i])
+                consumer.accept(keys[i], values[i]);
+    }
+
+    private void resize(int capacity) {
+        long[] keys0 = keys;
+        long[] values0 = values;
+        boolean[] used0 = used;
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < used0.length; i++)
+            if (used0[i])
+                put(keys0[i], values0[i]);
+    }
+
+    @Override
+    public void reset() {
+        clear();
+    }
+
+    @Override
+    public void writeMarshallable(@NotNull WireOut wire) {
+        wire.write("entries").sequence(this, (m, out) -> {
+            for (int i = 0; i < m.used.length; i++) {
+                if (m.used[i]) {
+                    out.int64(m.keys[i]);
+                    out.int64(m.values[i]);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void readMarshallable(@NotNull WireIn wire) throws IORuntimeException {
+        clear();
+        wire.read("entries").sequence(this, (m, in) -> {
+            while (in.hasNextSequenceItem()) {
+                long key = in.int64();
+                m.put(key, in.int64());
+            }
+        });
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof LongLongMap))
+            return false;
+        LongLongMap that = (LongLongMap) o;
+        if (size != that.size)
+            return false;
+        for (int i = 0; i < used.length; i++) {
+            if (!used[i])
+                continue;
+            int index = that.indexOf(keys[i]);
+            if (index < 0 || that.values[index] != values[i])
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int h = 0;
+        for (int i = 0; i < used.length; i++)
+            if (used[i])
+                h += hash(keys[i]) ^ Long.hashCode(values[i]);
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        return Marshallable.$toString(this);
+    }
+
+    /**
+     * A consumer of a {@code long} key and {@code long} value.
+     */
+    @FunctionalInterface
+    public interface LongLongConsumer {
+        void accept(long key, long value);
+    }
+}
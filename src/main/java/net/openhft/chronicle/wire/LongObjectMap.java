@@ -0,0 +1,301 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.core.Maths;
+import net.openhft.chronicle.core.io.IORuntimeException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A reusable open addressing hash map of {@code long} keys to object values, with no boxing of the keys.
+ * <p>
+ * As a field of a {@link Marshallable} it is read in place. A value already held for a key is read into
+ * with {@link ValueIn#object(Object, Class)}, so steady state decoding of the same keys creates no garbage.
+ * Keys not present in the message read are removed. It is written as a flat sequence of key, value pairs, e.g.
+ * <pre>{@code
+ * orders: { entries: [ 1001, !Order { qty: 10, price: 1.25 }, 1002, !Order { qty: 5, price: 1.5 } ] }
+ * }</pre>
+ * Each value is written with its type, so a map created without a value class, e.g. by {@link #deepCopy()},
+ * reads the same values.
+ * The capacity only grows; {@link #clear()} retains it. This class is not thread safe.
+ *
+ * @param <V> the type of the values
+ */
+public class LongObjectMap<V> implements Marshallable {
+    private static final int MIN_CAPACITY = 16;
+
+    private final Class<V> valueClass;
+    private long[] keys;
+    private Object[] values;
+    private boolean[] used;
+    private transient int[] readStamps;
+    private transient int readStamp;
+    private int mask;
+    private int size;
+
+    /**
+     * Creates an empty map of values of any type.
+     */
+    @SuppressWarnings("unchecked")
+    public LongObjectMap() {
+        this((Class<V>) Object.class, MIN_CAPACITY / 2);
+    }
+
+    /**
+     * Creates an empty map which can hold {@code expectedSize} entries before it needs to grow.
+     *
+     * @param valueClass   the type of the values, used when a value is read without a type
+     * @param expectedSize the number of entries expected
+     */
+    public LongObjectMap(@NotNull Class<V> valueClass, int expectedSize) {
+        this.valueClass = valueClass;
+        allocate(Maths.nextPower2(expectedSize * 2, MIN_CAPACITY));
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        used = new boolean[capacity];
+        readStamps = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    private int indexOf(long key) {
+        for (int i = LongLongMap.hash(key) & mask; used[i]; i = (i + 1) & mask)
+            if (keys[i] == key)
+                return i;
+        return -1;
+    }
+
+    /**
+     * @return the number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true if there are no entries
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @param key to look up
+     * @return true if the key is present
+     */
+    public boolean containsKey(long key) {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * @param key to look up
+     * @return the value for the key, or null if not present
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable
+    public V get(long key) {
+        int index = indexOf(key);
+        return index < 0 ? null : (V) values[index];
+    }
+
+    /**
+     * Associates the key with the value, replacing any previous value.
+     *
+     * @param key   to set
+     * @param value to associate
+     */
+    public void put(long key, V value) {
+        putAt(key, value);
+    }
+
+    private int putAt(long key, Object value) {
+        int i = LongLongMap.hash(key) & mask;
+        for (; used[i]; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                values[i] = value;
+                return i;
+            }
+        }
+        used[i] = true;
+        keys[i] = key;
+        values[i] = value;
+        if (++size * 2 > keys.length) {
+            resize(keys.length * 2);
+            return indexOf(key);
+        }
+        return i;
+    }
+
+    /**
+     * Removes the key, if present.
+     *
+     * @param key to remove
+     * @return the value removed, or null if not present
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable
+    public V remove(long key) {
+        int index = indexOf(key);
+        if (index < 0)
+            return null;
+        V value = (V) values[index];
+        removeAt(index);
+        return value;
+    }
+
+    private void removeAt(int index) {
+        // shift back any following entries which would no longer be reachable
+        int gap = index;
+        for (int i = (gap + 1) & mask; used[i]; i = (i + 1) & mask) {
+            int home = LongLongMap.hash(keys[i]) & mask;
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                readStamps[gap] = readStamps[i];
+                gap = i;
+            }
+        }
+        used[gap] = false;
+        values[gap] = null;
+        size--;
+    }
+
+    /**
+     * Removes all the entries, retaining the capacity.
+     */
+    public void clear() {
+        if (size == 0)
+            return;
+        Arrays.fill(used, false);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Calls the consumer for each entry, in no particular order.
+     *
+     * @param consumer to call
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(@NotNull LongObjectConsumer<? super V> consumer) {
+        for (int i = 0; i < used.length; i++)
+            if (used[i])
+                consumer.accept(keys[i], (V) values[i]);
+    }
+
+    private void resize(int capacity) {
+        long[] keys0 = keys;
+        Object[] values0 = values;
+        boolean[] used0 = used;
+        int[] readStamps0 = readStamps;
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < used0.length; i++)
+            if (used0[i])
+                readStamps[putAt(keys0[i], values0[i])] = readStamps0[i];
+    }
+
+    @Override
+    public void reset() {
+        clear();
+    }
+
+    @Override
+    public void writeMarshallable(@NotNull WireOut wire) {
+        wire.write("entries").sequence(this, (m, out) -> {
+            for (int i = 0; i < m.used.length; i++) {
+                if (m.used[i]) {
+                    out.int64(m.keys[i]);
+                    // always typed, as the reader may not know the value class
+                    out.object(m.values[i]);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void readMarshallable(@NotNull WireIn wire) throws IORuntimeException {
+        // entries which are not read again are removed afterwards, the others keep their value objects
+        if (++readStamp == 0)
+            readStamp = 1;
+        wire.read("entries").sequence(this, (m, in) -> {
+            while (in.hasNextSequenceItem()) {
+                long key = in.int64();
+                int index = m.indexOf(key);
+                Object using = index < 0 ? null : m.values[index];
+                Object value = in.object(using, m.valueClass);
+                m.readStamps[m.putAt(key, value)] = m.readStamp;
+            }
+        });
+        for (int i = 0; i < used.length; ) {
+            if (used[i] && readStamps[i] != readStamp)
+                removeAt(i); // may shift another entry into i
+            else
+                i++;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof LongObjectMap))
+            return false;
+        LongObjectMap<?> that = (LongObjectMap<?>) o;
+        if (size != that.size)
+            return false;
+        for (int i = 0; i < used.length; i++) {
+            if (!used[i])
+                continue;
+            int index = that.indexOf(keys[i]);
+            if (index < 0 || !Objects.equals(that.values[index], values[i]))
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int h = 0;
+        for (int i = 0; i < used.length; i++)
+            if (used[i])
+                h += LongLongMap.hash(keys[i]) ^ Objects.hashCode(values[i]);
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        return Marshallable.$toString(this);
+    }
+
+    /**
+     * A consumer of a {@code long} key and an object value.
+     *
+     * @param <V> the type of the value
+     */
+    @FunctionalInterface
+    public interface LongObjectConsumer<V> {
+        void accept(long key, V value);
+    }
+}
@@ -52,6 +52,9 @@ public class LongValueBitSet extends AbstractCloseable implements Marshallable,
      */
     private LongValue[] words;
 
+    // The maximum number of bits given when constructed, which claimNextClearBit never reaches, or 0 if not known
+    private transient long maxBits;
+
     /**
      * Constructor that initializes a LongValueBitSet with a maximum number of bits provided as an integer.
      *
@@ -79,6 +82,7 @@ public class LongValueBitSet extends AbstractCloseable implements Marshallable,
     public LongValueBitSet(final long maxNumberOfBits) {
         int size = (int) ((maxNumberOfBits + BITS_PER_WORD - 1) / BITS_PER_WORD);
         words = new LongValue[size];
+        maxBits = maxNumberOfBits;
         singleThreadedCheckDisabled(true);
     }
 
@@ -1049,6 +1053,66 @@ public class LongValueBitSet extends AbstractCloseable implements Marshallable,
         OS.memory().storeFence();
     }
 
+    @Override
+    public int claimNextClearBit(int fromIndex) {
+        throwExceptionIfClosed();
+
+        if (fromIndex < 0)
+            throw new IndexOutOfBoundsException("fromIndex < 0: " + fromIndex);
+        final long size = words.length * BITS_PER_WORD;
+        final long limit = maxBits > 0 ? Math.min(maxBits, size) : size;
+        if (limit == 0)
+            return -1;
+        // only the words holding bits below the limit, and in the last of these, only those bits
+        final int capacity = (int) ((limit + BITS_PER_WORD - 1) / BITS_PER_WORD);
+        final long lastMask = WORD_MASK >>> -limit;
+        int start = wordIndex(fromIndex);
+        long firstMask = WORD_MASK << fromIndex;
+        if (fromIndex >= limit) {
+            start = 0;
+            firstMask = WORD_MASK;
+        }
+        // the first word is visited again at the end for the bits before fromIndex
+        for (int n = 0; n <= capacity; n++) {
+            int u = start + n;
+            if (u >= capacity)
+                u -= capacity;
+            final LongValue word = words[u];
+            final long mask = (n == 0 ? firstMask : WORD_MASK) & (u == capacity - 1 ? lastMask : WORD_MASK);
+            for (; ; ) {
+                final long value = word.getVolatileValue();
+                final long free = ~value & mask;
+                if (free == 0)
+                    break;
+                final long bit = Long.lowestOneBit(free);
+                if (word.compareAndSwapValue(value, value | bit))
+                    return Math.toIntExact(u * BITS_PER_WORD + Long.numberOfTrailingZeros(bit));
+                // another claimer changed this word, so it made progress; look again without pausing
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean releaseBit(int bitIndex) {
+        throwExceptionIfClosed();
+
+        if (bitIndex < 0)
+            throw new IndexOutOfBoundsException("bitIndex < 0: " + bitIndex);
+        final int u = wordIndex(bitIndex);
+        if (u >= words.length)
+            return false;
+        final LongValue word = words[u];
+        final long bit = 1L << bitIndex;
+        for (; ; ) {
+            final long value = word.getVolatileValue();
+            if ((value & bit) == 0)
+                return false;
+            if (word.compareAndSwapValue(value, value & ~bit))
+                return true;
+        }
+    }
+
     /**
      * Represents a function that accepts two long values (an old value and a parameter) and produces a long result.
      * This is the {@code long}-consuming and {@code long}-producing primitive specialization for
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.MappedBytes;
+import net.openhft.chronicle.core.io.AbstractCloseable;
+import net.openhft.chronicle.core.io.IORuntimeException;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+
+/**
+ * Tails a memory-mapped file written by a {@code file:} URL with {@code ?mapped=true}, see
+ * {@link MarshallableOut#builder(java.net.URL)}, while it is being written.
+ * <p>
+ * {@link #readingDocument()} returns the next complete data document, or a document which is not present
+ * if there isn't one yet, in which case it can be called again later. Meta data documents are skipped.
+ * The file is mapped in chunks, so it can keep growing while it is read, in the same process or another process,
+ * and is read by one thread at a time.
+ */
+public class MappedFileMarshallableIn extends AbstractCloseable implements MarshallableIn {
+
+    private static final long DEFAULT_CHUNK_SIZE = 64 << 20;
+
+    private final MappedBytes bytes;
+    private final Wire wire;
+
+    /**
+     * Tails a file written with {@link WireType#BINARY_LIGHT}, the default for the mapped mode.
+     *
+     * @param file to tail, which must exist
+     */
+    public MappedFileMarshallableIn(@NotNull File file) {
+        this(file, WireType.BINARY_LIGHT);
+    }
+
+    /**
+     * @param file     to tail, which must exist
+     * @param wireType the documents were written with
+     */
+    public MappedFileMarshallableIn(@NotNull File file, @NotNull WireType wireType) {
+        this(file, wireType, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param file      to tail, which must exist
+     * @param wireType  the documents were written with
+     * @param chunkSize the file is mapped this many bytes at a time
+     */
+    public MappedFileMarshallableIn(@NotNull File file, @NotNull WireType wireType, long chunkSize) {
+        try {
+            if (!file.exists())
+                throw new FileNotFoundException(file.getAbsolutePath());
+            bytes = MappedBytes.mappedBytes(file, chunkSize);
+        } catch (IOException ioe) {
+            throw new IORuntimeException(ioe);
+        }
+        // all of the file can be read, the headers show how much has been written
+        bytes.readLimit(bytes.capacity());
+        wire = wireType.apply(bytes);
+        wire.usePadding(true);
+        wire.notCompleteIsNotPresent(true);
+    }
+
+    @NotNull
+    @Override
+    public DocumentContext readingDocument() {
+        return readingDocument(false);
+    }
+
+    /**
+     * @param includeMetaData whether to return meta data documents as well as data documents
+     * @return the next complete document, which is not present if there isn't one yet
+     */
+    @NotNull
+    public DocumentContext readingDocument(boolean includeMetaData) {
+        throwExceptionIfClosed();
+        for (; ; ) {
+            final DocumentContext dc = wire.readingDocument();
+            if (includeMetaData || !dc.isPresent() || !dc.isMetaData())
+                return dc;
+            dc.close();
+        }
+    }
+
+    /**
+     * @return the position the next document will be read from
+     */
+    public long readPosition() {
+        return bytes.readPosition();
+    }
+
+    @Override
+    protected void performClose() {
+        bytes.releaseLast();
+    }
+}
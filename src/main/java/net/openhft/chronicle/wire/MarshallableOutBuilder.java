@@ -20,6 +20,7 @@ package net.openhft.chronicle.wire;
 
 import net.openhft.chronicle.wire.internal.FileMarshallableOut;
 import net.openhft.chronicle.wire.internal.HTTPMarshallableOut;
+import net.openhft.chronicle.wire.internal.MappedFileMarshallableOut;
 
 import java.net.URL;
 import java.util.function.Supplier;
@@ -38,6 +39,11 @@ public class MarshallableOutBuilder implements Supplier<MarshallableOut> {
     // The WireType configuration for the MarshallableOut.
     private WireType wireType;
 
+    // The HTTP batching and asynchronous sending configuration.
+    private int batchBytes;
+    private long batchMicros;
+    private int maxInFlight;
+
     /**
      * Constructs a new {@code MarshallableOutBuilder} with the specified URL.
      *
@@ -53,6 +59,11 @@ public class MarshallableOutBuilder implements Supplier<MarshallableOut> {
             case "tcp":
                 throw new UnsupportedOperationException("Direct TCP connection not implemented");
             case "file":
+                if (FileMarshallableOut.mapped(url)) {
+                    if (wireType != null && wireType.isText())
+                        throw new IllegalArgumentException("Unsupported wireType for a mapped file; " + wireType);
+                    return new MappedFileMarshallableOut(this, wireTypeOr(WireType.BINARY_LIGHT));
+                }
                 if (wireType != null && wireType != WireType.YAML_ONLY)
                     throw new IllegalArgumentException("Unsupported wireType; " + wireType);
                 // URL file protocol doesn't support writing...
@@ -97,4 +108,71 @@ public class MarshallableOutBuilder implements Supplier<MarshallableOut> {
         this.wireType = wireType;
         return this;
     }
+
+    /**
+     * Returns the number of bytes of documents to send in one HTTP POST.
+     *
+     * @return the batch size in bytes, 0 to send each document on its own
+     */
+    public int batchBytes() {
+        return batchBytes;
+    }
+
+    /**
+     * Sets the number of bytes of documents to send in one HTTP POST, once reached the batch is sent.
+     *
+     * @param batchBytes the batch size in bytes, 0 to send each document on its own
+     * @return the current instance of {@code MarshallableOutBuilder}.
+     */
+    public MarshallableOutBuilder batchBytes(int batchBytes) {
+        if (batchBytes < 0)
+            throw new IllegalArgumentException("batchBytes must not be negative: " + batchBytes);
+        this.batchBytes = batchBytes;
+        return this;
+    }
+
+    /**
+     * Returns how old a batch of documents can be before it is sent over HTTP.
+     *
+     * @return the age in micro-seconds, 0 for no limit
+     */
+    public long batchMicros() {
+        return batchMicros;
+    }
+
+    /**
+     * Sets how old a batch of documents can be before it is sent over HTTP, checked when a document is written.
+     *
+     * @param batchMicros the age in micro-seconds, 0 for no limit
+     * @return the current instance of {@code MarshallableOutBuilder}.
+     */
+    public MarshallableOutBuilder batchMicros(long batchMicros) {
+        if (batchMicros < 0)
+            throw new IllegalArgumentException("batchMicros must not be negative: " + batchMicros);
+        this.batchMicros = batchMicros;
+        return this;
+    }
+
+    /**
+     * Returns the number of HTTP POSTs which can be waiting for a response before the writer waits.
+     *
+     * @return the maximum in flight, 0 to send on the writer's thread
+     */
+    public int maxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Sets the number of HTTP POSTs which can be waiting for a response before the writer waits.
+     * If more than 0, POSTs are sent by a background thread.
+     *
+     * @param maxInFlight the maximum in flight, 0 to send on the writer's thread
+     * @return the current instance of {@code MarshallableOutBuilder}.
+     */
+    public MarshallableOutBuilder maxInFlight(int maxInFlight) {
+        if (maxInFlight < 0)
+            throw new IllegalArgumentException("maxInFlight must not be negative: " + maxInFlight);
+        this.maxInFlight = maxInFlight;
+        return this;
+    }
 }
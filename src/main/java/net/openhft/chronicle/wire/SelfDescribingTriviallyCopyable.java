@@ -32,10 +32,28 @@ import static net.openhft.chronicle.core.UnsafeMemory.MEMORY;
  * Represents a self-describing object that is trivially copyable, extending the functionality of {@link SelfDescribingMarshallable}.
  * The class provides mechanisms to efficiently manage the internal data layout of an instance based on various data types
  * such as longs, ints, shorts, and bytes. The layout is determined using a description integer.
+ * <p>
+ * The binary form has a fixed layout:
+ * <ul>
+ *     <li>the description as an int,</li>
+ *     <li>only when there is an {@link #$alignment()} or {@link #$nested()} members, the description is written with
+ *     its parity bit flipped, followed by the number of nested members and the number of padding bytes, each as a
+ *     byte, then the padding, so the fields start on a multiple of the alignment from the start of the Bytes,</li>
+ *     <li>the primitive fields in one block, including any bounded strings held in a {@code @FieldGroup} of
+ *     primitive fields via {@code Bytes.forFieldGroup}, with an 8-bit length and a fixed capacity,</li>
+ *     <li>then each of the nested trivially copyable members in turn, in the same form.</li>
+ * </ul>
+ * When the description matches, each block is copied with a single memory copy. With an alignment of 8, the
+ * {@code long} fields can also be read or updated atomically in place. As the padding and the nested members are
+ * written, a reader with a different alignment or members reads what it can, wherever the message starts.
  */
 @SuppressWarnings("this-escape")
 public abstract class SelfDescribingTriviallyCopyable extends SelfDescribingMarshallable {
 
+    private static final SelfDescribingTriviallyCopyable[] NO_NESTED = {};
+    // flips the parity of a description, marking one followed by the number of nested members and padding
+    private static final int EXTENDED = 1 << 15;
+
     // Contains the description of the data layout.
     @FieldGroup("header")
     transient int description = $description();
@@ -61,13 +79,73 @@ public abstract class SelfDescribingTriviallyCopyable extends SelfDescribingMars
      */
     protected abstract int $length();
 
+    /**
+     * The alignment of the start of the block of fields, relative to the start of the Bytes, so that when the Bytes
+     * is aligned e.g. a memory mapped file, so is the block. The padding written is recorded, so the reader needn't
+     * use the same alignment as the writer.
+     *
+     * @return a power of two up to 256, 1 by default for no padding
+     */
+    protected int $alignment() {
+        return 1;
+    }
+
+    /**
+     * The trivially copyable members of this object which are written after its own fields, in order.
+     * These must not be null, and should be created once, with the array held in a transient field.
+     * Members the writer didn't have are reset, and members the reader doesn't have are skipped.
+     *
+     * @return the nested members, none by default
+     */
+    protected SelfDescribingTriviallyCopyable[] $nested() {
+        return NO_NESTED;
+    }
+
     @Override
     public void readMarshallable(BytesIn<?> bytes) throws IORuntimeException, BufferUnderflowException, IllegalStateException {
         int description0 = bytes.readInt();
+        int nested0 = 0;
+        if (Integer.bitCount(description0) % 2 == 0) {
+            description0 ^= EXTENDED;
+            nested0 = bytes.readUnsignedByte();
+            bytes.readSkip(bytes.readUnsignedByte());
+        }
         if (description0 != $description())
             carefulCopy(bytes, description0);
         else
             bytes.unsafeReadObject(this, $start(), $length());
+        final SelfDescribingTriviallyCopyable[] nested = $nested();
+        for (int i = 0; i < Math.max(nested.length, nested0); i++) {
+            if (i >= nested0)
+                nested[i].reset();
+            else if (i < nested.length)
+                nested[i].readMarshallable(bytes);
+            else
+                skip(bytes);
+        }
+    }
+
+    // skips a block, and its nested blocks, this class doesn't read
+    private static void skip(BytesIn<?> bytes) {
+        int description0 = bytes.readInt();
+        int nested0 = 0;
+        if (Integer.bitCount(description0) % 2 == 0) {
+            description0 ^= EXTENDED;
+            nested0 = bytes.readUnsignedByte();
+            bytes.readSkip(bytes.readUnsignedByte());
+        }
+        bytes.readSkip(length(description0));
+        for (int i = 0; i < nested0; i++)
+            skip(bytes);
+    }
+
+    // the length of the fields in a block with this description
+    private static int length(int description0) {
+        int longs0 = description0 >>> 24;
+        int ints0 = (description0 >>> 16) & 0xFF;
+        int shorts0 = (description0 >>> 8) & 0x7F;
+        int bytes0 = description0 & 0xFF;
+        return longs0 * 8 + ints0 * 4 + shorts0 * 2 + bytes0;
     }
 
     /**
@@ -90,7 +168,7 @@ public abstract class SelfDescribingTriviallyCopyable extends SelfDescribingMars
         int bytes0 = description0 & 0xFF;
 
         // Calculate the total length required based on data types
-        int length = longs0 * 8 + ints0 * 4 + shorts0 * 2 + bytes0;
+        int length = length(description0);
 
         // Validation: Check if the description0 is even or if the length exceeds the remaining data in the input
         if (Integer.bitCount(description0) % 2 == 0 || length > in.readRemaining())
@@ -147,7 +225,23 @@ public abstract class SelfDescribingTriviallyCopyable extends SelfDescribingMars
 
     @Override
     public void writeMarshallable(BytesOut<?> bytes) throws IllegalStateException, BufferOverflowException, BufferUnderflowException, ArithmeticException {
-        bytes.writeInt($description());
+        final int alignment = $alignment();
+        final SelfDescribingTriviallyCopyable[] nested = $nested();
+        if (alignment <= 1 && nested.length == 0) {
+            bytes.writeInt($description());
+        } else {
+            if (alignment > 256 || nested.length > 255)
+                throw new IllegalStateException("alignment " + alignment + " or nested " + nested.length + " too large");
+            bytes.writeInt($description() ^ EXTENDED);
+            bytes.writeUnsignedByte(nested.length);
+            // after the byte holding the padding
+            final int padding = (int) (-(bytes.writePosition() + 1) & (alignment - 1));
+            bytes.writeUnsignedByte(padding);
+            for (int i = 0; i < padding; i++)
+                bytes.writeByte((byte) 0);
+        }
         bytes.unsafeWriteObject(this, $start(), $length());
+        for (SelfDescribingTriviallyCopyable n : nested)
+            n.writeMarshallable(bytes);
     }
 }
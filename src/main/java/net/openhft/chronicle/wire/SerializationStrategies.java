@@ -24,7 +24,7 @@ import net.openhft.chronicle.core.Jvm;
 import net.openhft.chronicle.core.UnsafeMemory;
 import net.openhft.chronicle.core.io.IORuntimeException;
 import net.openhft.chronicle.core.io.InvalidMarshallableException;
-import net.openhft.chronicle.core.pool.EnumCache;
+import net.openhft.chronicle.core.scoped.ScopedResource;
 import net.openhft.chronicle.core.util.ObjectUtils;
 import net.openhft.chronicle.core.util.ReadResolvable;
 import org.jetbrains.annotations.NotNull;
@@ -186,6 +186,9 @@ public enum SerializationStrategies implements SerializationStrategy {
         @Nullable
         @Override
         public Object readUsing(Class clazz, Object o, @NotNull ValueIn in, BracketType bracketType) {
+            // match the constant without creating a String
+            if (clazz != null && clazz.isEnum())
+                return in.asEnum(clazz);
             return in.text();
         }
 
@@ -235,15 +238,17 @@ public enum SerializationStrategies implements SerializationStrategy {
         @Override
         public Object readUsing(Class clazz, Object o, @NotNull ValueIn in, BracketType bracketType) throws InvalidMarshallableException {
             if (bracketType != BracketType.MAP || !(o instanceof ReadMarshallable)) {
-                String text = in.text();
                 if (o != null) {
-                    EnumCache<?> cache = EnumCache.of(o.getClass());
-                    Object ret = cache.valueOf(text);
-                    if (ret == null)
-                        throw new IORuntimeException("No enum value '" + text + "' defined for " + o.getClass());
-                    return ret;
+                    try (ScopedResource<StringBuilder> stlSb = Wires.acquireStringBuilderScoped()) {
+                        StringBuilder sb = stlSb.get();
+                        in.text(sb);
+                        Object ret = EnumLookup.of(o.getClass()).valueOf(sb);
+                        if (ret == null)
+                            throw new IORuntimeException("No enum value '" + sb + "' defined for " + o.getClass());
+                        return ret;
+                    }
                 }
-                return text;
+                return in.text();
             }
             ((ReadMarshallable) o).readMarshallable(in.wireIn());
             return o;
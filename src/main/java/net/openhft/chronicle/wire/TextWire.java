@@ -28,6 +28,7 @@ import net.openhft.chronicle.core.scoped.ScopedResource;
 import net.openhft.chronicle.core.threads.ThreadLocalHelper;
 import net.openhft.chronicle.core.util.*;
 import net.openhft.chronicle.core.values.*;
+import net.openhft.chronicle.wire.internal.FastDoubles;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -2012,7 +2013,7 @@ public class TextWire extends YamlWireOut<TextWire> {
             if (peekCode() == '$') {
                 unsubstitutedNumber();
             } else {
-                tf.accept(t, (float) bytes.parseDouble());
+                tf.accept(t, (float) FastDoubles.parseDouble(bytes));
             }
             return TextWire.this;
         }
@@ -2024,7 +2025,7 @@ public class TextWire extends YamlWireOut<TextWire> {
             if (peekCode() == '$') {
                 unsubstitutedNumber();
             } else {
-                td.accept(t, bytes.parseDouble());
+                td.accept(t, FastDoubles.parseDouble(bytes));
             }
             return TextWire.this;
         }
@@ -2789,7 +2790,7 @@ public class TextWire extends YamlWireOut<TextWire> {
                     sep = bytes.readUnsignedByte();
                     break;
             }
-            final double v = bytes.parseDouble();
+            final double v = FastDoubles.parseDouble(bytes);
 
             if (sep != 0) {
                 int end = peekBack();
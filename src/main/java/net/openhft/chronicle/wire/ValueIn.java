@@ -1176,7 +1176,7 @@ public interface ValueIn {
         try (ScopedResource<StringBuilder> stlSb = Wires.acquireStringBuilderScoped()) {
             StringBuilder sb = stlSb.get();
             text(sb);
-            return sb.length() == 0 ? null : WireInternal.internEnum(eClass, sb);
+            return EnumLookup.of(eClass).valueOf(sb);
         }
     }
 
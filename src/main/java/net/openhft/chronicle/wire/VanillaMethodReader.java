@@ -32,6 +32,7 @@ import org.jetbrains.annotations.NotNull;
 import java.lang.annotation.Annotation;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
@@ -60,6 +61,8 @@ public class VanillaMethodReader implements MethodReader {
     private final WireParser dataWireParser;
     private final MethodReaderInterceptorReturns methodReaderInterceptorReturns;
     private final Predicate<MethodReader> predicate;
+    // a subclass overriding invoke(Object, Method, Object[]) is always called through it
+    private final boolean invokeOverridden = overridesInvoke(getClass());
 
     private MessageHistory messageHistory;
     private boolean closeIn = false;
@@ -532,6 +535,7 @@ public class VanillaMethodReader implements MethodReader {
 
         // Make the method accessible to bypass security checks for faster invocations
         Jvm.setAccessible(m);
+        MethodInvoker invoker = new MethodInvoker(m);
         String name = m.getName();
         Class<?> parameterType2 = ObjectUtils.implementationToUse(parameterType);
         if (parameterType == long.class && o2 != null) {
@@ -543,6 +547,21 @@ public class VanillaMethodReader implements MethodReader {
             } catch (IllegalAccessException e) {
                 Jvm.warn().on(o2.getClass(), "Unable to unreflect " + m, e);
             }
+        } else if (isPolymorphic(parameterType2)) {
+            @NotNull Object[] argArr = {null};
+            ArgumentRecycler<Object> recycler = new ArgumentRecycler<>();
+            MethodWireKey key = createWireKey(m, name);
+            wireParser.registerOnce(key, (s, v) -> {
+                if (Jvm.isDebug())
+                    logMessage(s, v);
+
+                argArr[0] = recycler.recycle(v.object(recycler, parameterType2));
+                if (context[0] == null)
+                    updateContext(context, o2);
+                Object invoke = invoke(context[0], invoker, argArr);
+                updateContext(context, invoke);
+            });
+
         } else if (parameterType.isPrimitive() || parameterType2.isInterface() || !ReadMarshallable.class.isAssignableFrom(parameterType2)) {
             @NotNull Object[] argArr = {null};
             MethodWireKey key = createWireKey(m, name);
@@ -553,7 +572,7 @@ public class VanillaMethodReader implements MethodReader {
                 argArr[0] = v.object(checkRecycle(argArr[0]), parameterType2);
                 if (context[0] == null)
                     updateContext(context, o2);
-                Object invoke = invoke(context[0], m, argArr);
+                Object invoke = invoke(context[0], invoker, argArr);
                 updateContext(context, invoke);
             });
 
@@ -569,7 +588,7 @@ public class VanillaMethodReader implements MethodReader {
                 argArr[0] = v.object(checkRecycle(argArr[0]), Jvm.uncheckedCast(parameterType2));
                 if (context[0] == null)
                     updateContext(context, o2);
-                Object invoke = invoke(contextSupplier.get(), m, argArr);
+                Object invoke = invoke(contextSupplier.get(), invoker, argArr);
                 updateContext(context, invoke);
             });
         }
@@ -590,6 +609,7 @@ public class VanillaMethodReader implements MethodReader {
         throwExceptionIfClosed();
 
         Jvm.setAccessible(m); // turn of security check to make a little faster
+        MethodInvoker invoker = new MethodInvoker(m);
         String name = m.getName();
         MethodWireKey key = createWireKey(m, name);
         wireParser.registerOnce(key, (s, v) -> {
@@ -598,7 +618,7 @@ public class VanillaMethodReader implements MethodReader {
 
             v.skipValue();
 
-            Object invoke = invoke(contextSupplier.get(), m, NO_ARGS);
+            Object invoke = invoke(contextSupplier.get(), invoker, NO_ARGS);
             if (invoke != null)
                 updateContext(context, invoke);
             else if (o2 != null)
@@ -640,11 +660,16 @@ public class VanillaMethodReader implements MethodReader {
         throwExceptionIfClosed();
 
         Jvm.setAccessible(m); // turn of security check to make a little faster
+        MethodInvoker invoker = new MethodInvoker(m);
         @NotNull Object[] args = new Object[parameterTypes.length];
+        ArgumentRecycler<Object>[] recyclers = recyclersFor(parameterTypes);
         @NotNull BiConsumer<Object[], ValueIn> sequenceReader = (a, v) -> {
             int i = 0;
             for (@NotNull Class<?> clazz : parameterTypes) {
-                a[i] = v.object(checkRecycle(a[i]), clazz);
+                ArgumentRecycler<Object> recycler = recyclers[i];
+                a[i] = recycler == null
+                        ? v.object(checkRecycle(a[i]), clazz)
+                        : recycler.recycle(v.object(recycler, clazz));
                 i++;
             }
         };
@@ -656,7 +681,7 @@ public class VanillaMethodReader implements MethodReader {
 
             v.sequence(args, sequenceReader);
 
-            Object invoke = invoke(contextSupplier.get(), m, args);
+            Object invoke = invoke(contextSupplier.get(), invoker, args);
             if (invoke != null)
                 updateContext(context, invoke);
             else if (o2 != null)
@@ -664,6 +689,38 @@ public class VanillaMethodReader implements MethodReader {
         });
     }
 
+    /**
+     * Determines whether arguments of this type may arrive as several concrete classes, in which case
+     * an {@link ArgumentRecycler} keeps one instance per class rather than reusing only the last argument.
+     *
+     * @param parameterType The declared parameter type, after any implementation substitution
+     * @return true for {@code Object}, abstract classes and interfaces other than collections and maps
+     */
+    static boolean isPolymorphic(Class<?> parameterType) {
+        if (parameterType == Object.class)
+            return true;
+        if (parameterType.isPrimitive() || parameterType.isArray()
+                || Collection.class.isAssignableFrom(parameterType) || Map.class.isAssignableFrom(parameterType)
+                || CharSequence.class.isAssignableFrom(parameterType) || Bytes.class.isAssignableFrom(parameterType))
+            return false;
+        return parameterType.isInterface() || Modifier.isAbstract(parameterType.getModifiers());
+    }
+
+    /**
+     * Creates an {@link ArgumentRecycler} for each polymorphic parameter, leaving {@code null} for the others.
+     *
+     * @param parameterTypes The parameter types of the method
+     * @return An array of recyclers, indexed by parameter
+     */
+    @SuppressWarnings("unchecked")
+    private static ArgumentRecycler<Object>[] recyclersFor(Class[] parameterTypes) {
+        ArgumentRecycler<Object>[] recyclers = new ArgumentRecycler[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++)
+            if (isPolymorphic(ObjectUtils.implementationToUse(parameterTypes[i])))
+                recyclers[i] = new ArgumentRecycler<>();
+        return recyclers;
+    }
+
     /**
      * Checks if the given object can be recycled. For collections, it clears the collection and returns the same instance.
      * If the object is an instance of Marshallable, it returns the same object; otherwise, it returns null.
@@ -701,6 +758,7 @@ public class VanillaMethodReader implements MethodReader {
         throwExceptionIfClosed();
 
         Jvm.setAccessible(m);
+        MethodInvoker invoker = new MethodInvoker(m);
 
         // Create an array to store the arguments
         @NotNull Object[] args = new Object[parameterTypes.length];
@@ -747,7 +805,7 @@ public class VanillaMethodReader implements MethodReader {
             }
 
             // Invoke the method and update the context if needed
-            Object invoke = invoke(contextSupplier.get(), m, args);
+            Object invoke = invoke(contextSupplier.get(), invoker, args);
             if (invoke != null)
                 updateContext(context, invoke);
             else if (o2 != null)
@@ -755,6 +813,45 @@ public class VanillaMethodReader implements MethodReader {
         });
     }
 
+    /**
+     * Invokes a method via its {@link MethodHandle} where possible, which avoids the access checks and boxing
+     * of {@link Method#invoke}. Falls back to {@link #invoke(Object, Method, Object[])} when a subclass overrides it,
+     * there is an interceptor, no handle, or the target or arguments aren't of the types expected, so the same
+     * exceptions are thrown.
+     *
+     * @param o       The object on which to invoke the method
+     * @param invoker The method and its handle
+     * @param args    The arguments to pass to the method
+     * @return The result of the method invocation
+     * @throws InvocationTargetRuntimeException if the invoked method itself throws an exception
+     */
+    protected Object invoke(Object o, @NotNull MethodInvoker invoker, Object[] args) throws InvocationTargetRuntimeException {
+        if (invokeOverridden || methodReaderInterceptorReturns != null || !invoker.canInvokeExact(o, args))
+            return invoke(o, invoker.method, args);
+        try {
+            return invoker.handle.invokeExact(o, args);
+        } catch (Throwable t) {
+            // the target and arguments were checked, so this was thrown by the method, as InvocationTargetException would be
+            throw new InvocationTargetRuntimeException(t);
+        }
+    }
+
+    /**
+     * @param c the class of this reader
+     * @return whether it, or a superclass below VanillaMethodReader, declares invoke(Object, Method, Object[])
+     */
+    static boolean overridesInvoke(Class<?> c) {
+        for (; c != null && c != VanillaMethodReader.class; c = c.getSuperclass()) {
+            try {
+                c.getDeclaredMethod("invoke", Object.class, Method.class, Object[].class);
+                return true;
+            } catch (NoSuchMethodException ignored) {
+                // check the superclass
+            }
+        }
+        return false;
+    }
+
     /**
      * Invokes a method on an object with the provided arguments. If an interceptor is provided,
      * it will use the interceptor to invoke the method.
@@ -874,4 +971,52 @@ public class VanillaMethodReader implements MethodReader {
 
         return methodReaderInterceptorReturns;
     }
+
+    /**
+     * A method with a {@link MethodHandle} taking the target and an array of arguments, created once when
+     * the method is registered.
+     */
+    protected static final class MethodInvoker {
+        final Method method;
+        final MethodHandle handle;
+        private final boolean[] primitive;
+        private final Class<?>[] boxedTypes;
+
+        MethodInvoker(@NotNull Method method) {
+            this.method = method;
+            Class<?>[] parameterTypes = method.getParameterTypes();
+            primitive = new boolean[parameterTypes.length];
+            boxedTypes = new Class<?>[parameterTypes.length];
+            for (int i = 0; i < parameterTypes.length; i++) {
+                primitive[i] = parameterTypes[i].isPrimitive();
+                boxedTypes[i] = ObjectUtils.primToWrapper(parameterTypes[i]);
+            }
+            this.handle = spreadHandle(method, parameterTypes.length);
+        }
+
+        private static MethodHandle spreadHandle(Method method, int parameterCount) {
+            if (Modifier.isStatic(method.getModifiers()))
+                return null;
+            try {
+                return MethodHandles.lookup().unreflect(method)
+                        .asSpreader(Object[].class, parameterCount)
+                        .asType(MethodType.methodType(Object.class, Object.class, Object[].class));
+            } catch (IllegalAccessException | RuntimeException e) {
+                Jvm.debug().on(VanillaMethodReader.class, "Using reflection to call " + method + " " + e);
+                return null;
+            }
+        }
+
+        boolean canInvokeExact(Object o, Object[] args) {
+            if (handle == null || !method.getDeclaringClass().isInstance(o))
+                return false;
+            // a null can't be unboxed and a wrong type can't be cast, leave Method.invoke to report them
+            for (int i = 0; i < primitive.length; i++) {
+                Object arg = args[i];
+                if (arg == null ? primitive[i] : !boxedTypes[i].isInstance(arg))
+                    return false;
+            }
+            return true;
+        }
+    }
 }
@@ -19,7 +19,6 @@ package net.openhft.chronicle.wire;
 
 import net.openhft.chronicle.core.Jvm;
 import net.openhft.chronicle.core.io.InvalidMarshallableException;
-import net.openhft.chronicle.core.util.CharSequenceComparator;
 import net.openhft.chronicle.core.util.InvocationTargetRuntimeException;
 import net.openhft.chronicle.core.util.StringUtils;
 import org.jetbrains.annotations.NotNull;
@@ -27,7 +26,6 @@ import org.jetbrains.annotations.NotNull;
 import java.util.AbstractMap;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.TreeMap;
 
 /**
  * Provides an implementation of the WireParser interface, parsing wire inputs using both named and numbered
@@ -37,8 +35,10 @@ import java.util.TreeMap;
  */
 public class VanillaWireParser implements WireParser {
 
-    // Map of field names to their associated parselets, sorted by CharSequence order.
-    private final Map<CharSequence, WireParselet> namedConsumer = new TreeMap<>(CharSequenceComparator.INSTANCE);
+    // Field names and their parselets, in an open addressing hash table kept at most half full.
+    private String[] names = new String[16];
+    private WireParselet[] parselets = new WireParselet[16];
+    private int namedCount;
 
     // Map of field numbers to their associated parselets.
     private final Map<Integer, Map.Entry<String, WireParselet>> numberedConsumer = new HashMap<>();
@@ -111,7 +111,7 @@ public class VanillaWireParser implements WireParser {
         @NotNull ValueIn valueIn = wireIn.readEventName(sb);
         WireParselet parslet;
 
-        // Check if the event name is the same as the previous one to avoid unnecessary TreeMap lookup.
+        // Check if the event name is the same as the previous one to avoid an unnecessary lookup.
         if (StringUtils.isEqual(sb, lastEventName)) {
             parslet = lastParslet;
 
@@ -198,7 +198,7 @@ public class VanillaWireParser implements WireParser {
 
     /**
      * Registers a WireParselet with a given keyName and code.
-     * The keyName is stored in the namedConsumer map and the code
+     * The keyName is stored in the named hash table and the code
      * with its corresponding keyName in the numberedConsumer map.
      *
      * @param keyName         The name of the key to register.
@@ -207,16 +207,48 @@ public class VanillaWireParser implements WireParser {
      * @return Returns the current instance of VanillaWireParser for method chaining.
      */
     private VanillaWireParser register(String keyName, int code, WireParselet valueInConsumer) {
-        // Store the WireParselet in the namedConsumer map using the keyName.
-        namedConsumer.put(keyName, valueInConsumer);
+        // Store the WireParselet in the hash table using the keyName.
+        putNamed(keyName, valueInConsumer);
 
         // Store the keyName and its WireParselet in the numberedConsumer map using the code.
         numberedConsumer.put(code, new AbstractMap.SimpleEntry<>(keyName, valueInConsumer));
         return this;
     }
 
+    private void putNamed(String keyName, WireParselet parselet) {
+        int mask = names.length - 1;
+        int i = EnumLookup.hash(keyName) & mask;
+        for (; names[i] != null; i = (i + 1) & mask) {
+            if (names[i].equals(keyName)) {
+                parselets[i] = parselet;
+                return;
+            }
+        }
+        names[i] = keyName;
+        parselets[i] = parselet;
+        if (++namedCount * 2 > names.length)
+            resize();
+    }
+
+    private void resize() {
+        String[] names0 = names;
+        WireParselet[] parselets0 = parselets;
+        names = new String[names0.length * 2];
+        parselets = new WireParselet[names0.length * 2];
+        namedCount = 0;
+        for (int i = 0; i < names0.length; i++)
+            if (names0[i] != null)
+                putNamed(names0[i], parselets0[i]);
+    }
+
     @Override
     public WireParselet lookup(CharSequence name) {
-        return namedConsumer.get(name);
+        // O(length) with no comparisons against other names, unlike a sorted map
+        final String[] names = this.names;
+        final int mask = names.length - 1;
+        for (int i = EnumLookup.hash(name) & mask; names[i] != null; i = (i + 1) & mask)
+            if (StringUtils.isEqual(names[i], name))
+                return parselets[i];
+        return null;
     }
 }
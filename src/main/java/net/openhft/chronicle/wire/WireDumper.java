@@ -18,10 +18,24 @@
 package net.openhft.chronicle.wire;
 
 import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.BytesStore;
 import net.openhft.chronicle.bytes.BytesUtil;
+import net.openhft.chronicle.bytes.MappedBytes;
+import net.openhft.chronicle.threads.NamedThreadFactory;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 @SuppressWarnings("rawtypes")
 /**
  * The WireDumper class provides utility methods to obtain a human-readable dump representation of {@link WireIn} content.
@@ -29,6 +43,11 @@ import org.jetbrains.annotations.Nullable;
  */
 public class WireDumper {
 
+    // The number of bytes of documents dumped by each task when dumping in parallel
+    static final int CHUNK_SIZE = 4 << 20;
+    // The number of characters buffered before being written out when dumping
+    private static final int FLUSH_SIZE = 64 << 10;
+
     // Instance of WireIn to read from
     @NotNull
     private final WireIn wireIn;
@@ -40,6 +59,9 @@ public class WireDumper {
     // Tracks the header number for internal operations
     private long headerNumber = -1;
 
+    // Whether the wire is a BinaryWire created for the bytes, so another can be created for other ranges
+    private boolean ownWire;
+
     /**
      * Private constructor for WireDumper.
      * It initializes the wireIn and bytes. If wireIn is null, a new BinaryWire is created.
@@ -89,7 +111,9 @@ public class WireDumper {
     public static WireDumper of(@NotNull Bytes<?> bytes, boolean align) {
         final BinaryWire wireIn = new BinaryWire(bytes);
         wireIn.usePadding(align);
-        return new WireDumper(wireIn, bytes);
+        final WireDumper dumper = new WireDumper(wireIn, bytes);
+        dumper.ownWire = true;
+        return dumper;
     }
 
     /**
@@ -167,6 +191,169 @@ public class WireDumper {
         return sb.toString();
     }
 
+    /**
+     * Writes the same text as {@link #asString(boolean)} to an OutputStream as it is produced, rather than building
+     * one String, using a thread per available processor for large inputs.
+     *
+     * @param out    to write to, which is flushed but not closed
+     * @param abbrev Boolean value indicating whether to use abbreviated format
+     * @throws IOException if the stream can't be written to
+     */
+    public void dumpTo(@NotNull OutputStream out, boolean abbrev) throws IOException {
+        // each char appended is one byte of the input, so the bytes are written unchanged
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.ISO_8859_1), FLUSH_SIZE);
+        dumpTo(writer, abbrev, Runtime.getRuntime().availableProcessors());
+        writer.flush();
+    }
+
+    /**
+     * Writes the same text as {@link #asString(boolean)} to an Appendable as it is produced, rather than building
+     * one String, so the memory used doesn't depend on the size of the input.
+     * <p>
+     * If more than one thread is requested, the length headers are walked to split the documents into ranges of about
+     * {@value #CHUNK_SIZE} bytes, which are dumped in parallel, and appended in order. This is only done for a dumper
+     * created from Bytes, which are not a {@link MappedBytes} mapped in chunks; otherwise the documents are dumped
+     * one at a time.
+     *
+     * @param out     to append to
+     * @param abbrev  Boolean value indicating whether to use abbreviated format
+     * @param threads the most threads to use, 1 to use only the calling thread
+     * @throws IOException if the Appendable throws an IOException
+     */
+    public void dumpTo(@NotNull Appendable out, boolean abbrev, int threads) throws IOException {
+        if (threads < 1)
+            throw new IllegalArgumentException("threads must be positive: " + threads);
+        final long position = bytes.readPosition();
+        final long limit = bytes.readLimit();
+        final List<Range> ranges = threads > 1 && canSplit(limit)
+                ? splitRanges(position, limit)
+                : null;
+        if (ranges == null || ranges.size() < 2) {
+            dumpSequentially(out, abbrev);
+            return;
+        }
+
+        final ExecutorService service = Executors.newFixedThreadPool(Math.min(threads, ranges.size()),
+                new NamedThreadFactory("wire-dumper", true));
+        try {
+            final Deque<Future<CharSequence>> pending = new ArrayDeque<>();
+            int next = 0;
+            int done = 0;
+            while (next < ranges.size() || !pending.isEmpty()) {
+                // bounds the output held in memory
+                while (next < ranges.size() && pending.size() < threads * 2) {
+                    final Range range = ranges.get(next++);
+                    pending.add(service.submit(() -> dumpRange(range, abbrev)));
+                }
+                out.append(pending.removeFirst().get());
+                final Range range = ranges.get(done++);
+                headerNumber = range.headerNumber;
+                // as asString would, the documents after it aren't dumped
+                if (range.stopped)
+                    break;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.toString());
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        } finally {
+            service.shutdownNow();
+        }
+    }
+
+    // returns true if it stopped before the end, at the end of the data written or as a document couldn't be dumped
+    private boolean dumpSequentially(@NotNull Appendable out, boolean abbrev) throws IOException {
+        @NotNull StringBuilder sb = new StringBuilder();
+        final long limit0 = bytes.readLimit();
+        final long position0 = bytes.readPosition();
+
+        Bytes<?> bytes2 = Bytes.allocateElasticOnHeap();
+        boolean stopped = false;
+        try {
+            while (bytes.readRemaining() >= 4) {
+                try {
+                    stopped = dumpOne(sb, bytes2, abbrev);
+                } catch (Throwable t) {
+                    sb.append(" ").append(t);
+                    stopped = true;
+                }
+                if (stopped)
+                    break;
+                // the last char is kept as dumpOne checks it
+                if (sb.length() >= FLUSH_SIZE) {
+                    out.append(sb, 0, sb.length() - 1);
+                    sb.delete(0, sb.length() - 1);
+                }
+            }
+            out.append(sb);
+        } finally {
+            bytes.readLimit(limit0);
+            bytes.readPosition(position0);
+            bytes2.releaseLast();
+        }
+        return stopped;
+    }
+
+    // whether other threads can read the same memory with their own Bytes
+    private boolean canSplit(long limit) {
+        if (!ownWire || bytes instanceof MappedBytes)
+            return false;
+        final BytesStore<?, ?> store = bytes.bytesStore();
+        return store != null && store.start() == 0 && limit <= store.realCapacity();
+    }
+
+    // walks the length headers to split the documents into ranges of about CHUNK_SIZE bytes
+    private List<Range> splitRanges(long position, long limit) {
+        final boolean padding = wireIn.usePadding();
+        final List<Range> ranges = new ArrayList<>();
+        long start = position;
+        long headerNumber0 = headerNumber;
+        long headerNumber1 = headerNumber;
+        long pos = position;
+        for (; ; ) {
+            if (padding)
+                pos += BytesUtil.padOffset(pos);
+            if (pos + 4 > limit)
+                break;
+            final int header = bytes.readInt(pos);
+            final int len = Wires.lengthOf(header);
+            // the rest is dumped as one range from the first document dumpOne might stop at, or which is incomplete
+            if (len == 0 || Wires.isNotComplete(header) || pos + 4 + len > limit)
+                break;
+            if (pos - start >= CHUNK_SIZE) {
+                ranges.add(new Range(start, pos, headerNumber0));
+                start = pos;
+                headerNumber0 = headerNumber1;
+            }
+            if (Wires.isReadyData(header))
+                headerNumber1++;
+            pos += 4 + (padding ? (len + 3) & ~3 : len);
+        }
+        ranges.add(new Range(start, limit, headerNumber0));
+        return ranges;
+    }
+
+    // dumps the documents in a range using another Bytes for the same memory
+    private CharSequence dumpRange(Range range, boolean abbrev) {
+        final Bytes<?> bytes2 = bytes.bytesStore().bytesForRead();
+        try {
+            bytes2.readLimit(range.end);
+            bytes2.readPosition(range.start);
+            final WireDumper dumper = of(bytes2, wireIn.usePadding());
+            dumper.headerNumber = range.headerNumber;
+            final StringBuilder sb = new StringBuilder();
+            // these are read once the task has completed
+            range.stopped = dumper.dumpSequentially(sb, abbrev);
+            range.headerNumber = dumper.headerNumber;
+            return sb;
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        } finally {
+            bytes2.releaseLast();
+        }
+    }
+
     /**
      * Dumps a single wire entry from the internal byte buffer to the provided StringBuilder.
      * This method uses the default abbreviated format.
@@ -339,4 +526,21 @@ public class WireDumper {
         // Adjust the read position of the byte buffer after reading.
         bytes.readPosition(readPosition + len);
     }
+
+    /**
+     * A range of whole documents, and the header number before the first of them.
+     */
+    private static final class Range {
+        final long start;
+        final long end;
+        long headerNumber;
+        // whether the dump of the range stopped before its end
+        boolean stopped;
+
+        Range(long start, long end, long headerNumber) {
+            this.start = start;
+            this.end = end;
+            this.headerNumber = headerNumber;
+        }
+    }
 }
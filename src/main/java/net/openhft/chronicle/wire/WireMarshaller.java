@@ -54,6 +54,8 @@ import static net.openhft.chronicle.core.UnsafeMemory.*;
 public class WireMarshaller<T> {
     private static final Class[] UNEXPECTED_FIELDS_PARAMETER_TYPES = {Object.class, ValueIn.class};
     private static final FieldAccess[] NO_FIELDS = {};
+    // When enabled, List and Map fields read without overwriting read into the elements already present, by index or by key
+    static boolean RECYCLE_COLLECTION_ELEMENTS = Jvm.getBoolean("wire.collection.recycle");
     private static Method isRecord;
     @NotNull
     final FieldAccess[] fields;
@@ -1951,6 +1953,8 @@ public class WireMarshaller<T> {
         private final Class<?>componentType;
         private final Class<?> type;
         private final BiConsumer<Object, ValueOut> sequenceGetter;
+        private final BiConsumer<Collection, ValueIn> sequenceReader;
+        private final BiConsumer<Collection, ValueIn> recyclingSequenceReader;
 
         /**
          * Constructs a CollectionFieldAccess instance for a given field, with optional leaf indication,
@@ -1992,6 +1996,43 @@ public class WireMarshaller<T> {
                     }
                 }
             };
+            sequenceReader = (c, in2) -> {
+                if (!c.isEmpty())
+                    c.clear();
+                while (in2.hasNextSequenceItem())
+                    c.add(in2.object(componentType));
+            };
+            recyclingSequenceReader = (c, in2) -> {
+                if (c instanceof List && c instanceof RandomAccess)
+                    readRecycling((List) c, in2);
+                else
+                    sequenceReader.accept(c, in2);
+            };
+        }
+
+        /**
+         * Reads each element into the element already at the same index, if any, then trims any extra elements.
+         * Elements which can't be read into, such as immutable values or a different type, are replaced.
+         *
+         * @param list to read into
+         * @param in   of the sequence
+         */
+        private void readRecycling(List list, ValueIn in) {
+            int size = list.size();
+            int i = 0;
+            while (in.hasNextSequenceItem()) {
+                if (i < size) {
+                    Object using = list.get(i);
+                    Object element = in.object(using, componentType);
+                    if (element != using)
+                        list.set(i, element);
+                } else {
+                    list.add(in.object(componentType));
+                }
+                i++;
+            }
+            for (int j = list.size() - 1; j >= i; j--)
+                list.remove(j);
         }
 
         /**
@@ -2078,12 +2119,9 @@ public class WireMarshaller<T> {
                 coll = collectionSupplier.get();
                 field.set(o, coll);
             }
-            if (!read.sequence(coll, (c, in2) -> {
-                if (!c.isEmpty())
-                    c.clear();
-                while (in2.hasNextSequenceItem())
-                    c.add(in2.object(componentType));
-            })) {
+            // when enabled and not overwriting, the elements already present are read into
+            final boolean recycle = RECYCLE_COLLECTION_ELEMENTS && !overwrite;
+            if (!read.sequence(coll, recycle ? recyclingSequenceReader : sequenceReader)) {
                 Collection defaultColl = (Collection) field.get(defaults);
                 if (defaultColl == null) {
                     field.set(o, null);
@@ -2248,6 +2286,9 @@ public class WireMarshaller<T> {
         // The type of the map that this field access manages
         private final Class<?> type;
 
+        // Sets of keys read by readRecycling, one per level of nesting, to find those which were not
+        private static final ThreadLocal<Deque<KeySet>> SEEN_KEYS = ThreadLocal.withInitial(ArrayDeque::new);
+
         // The type of the keys within the map
         @NotNull
         private final Class<?> keyType;
@@ -2320,6 +2361,12 @@ public class WireMarshaller<T> {
         @Override
         protected void readValue(Object o, Object defaults, ValueIn read, boolean overwrite) throws IllegalAccessException, InvalidMarshallableException {
             Map map = (Map) field.get(o);
+            // when enabled and not overwriting, the values already present are read into
+            if (RECYCLE_COLLECTION_ELEMENTS && !overwrite && map != null && !map.isEmpty()) {
+                if (!readRecycling(map, read))
+                    field.set(o, null);
+                return;
+            }
             if (map == null) {
                 map = collectionSupplier.get();
                 field.set(o, map);
@@ -2330,6 +2377,102 @@ public class WireMarshaller<T> {
                 field.set(o, null);
         }
 
+        /**
+         * Reads each value into the value already held for its key, if any, then removes the keys not read.
+         * Values which can't be read into, such as immutable values or a different type, are replaced.
+         *
+         * @param map  to read into
+         * @param read the value holding the map
+         * @return false if the map read was null
+         */
+        private boolean readRecycling(Map map, ValueIn read) throws InvalidMarshallableException {
+            // a value read may have a map field of its own, which needs its own set
+            final Deque<KeySet> sets = SEEN_KEYS.get();
+            final KeySet seen = sets.isEmpty() ? new KeySet() : sets.pop();
+            try {
+                boolean present = read.marshallable(w -> {
+                    while (w.isNotEmptyAfterPadding()) {
+                        long len = w.bytes().readRemaining();
+                        Object key = w.readEvent(keyType);
+                        Object using = map.get(key);
+                        Object value = w.getValueIn().object(using, valueType);
+                        if (len == w.bytes().readRemaining())
+                            break;
+                        if (using == null || value != using)
+                            map.put(key, value);
+                        seen.add(key);
+                    }
+                });
+                if (present && seen.size() < map.size())
+                    map.keySet().removeIf(k -> !seen.contains(k));
+                return present;
+            } finally {
+                seen.clear();
+                sets.push(seen);
+            }
+        }
+
+        /**
+         * An open addressing set of keys which keeps its table when cleared, so adding a key doesn't allocate
+         * once it has grown to the size of the maps read.
+         */
+        static final class KeySet {
+            private static final Object NULL_KEY = new Object();
+            private Object[] table = new Object[16];
+            private int size;
+
+            int size() {
+                return size;
+            }
+
+            void add(Object key) {
+                if (key == null)
+                    key = NULL_KEY;
+                if (size * 2 >= table.length)
+                    resize();
+                final int mask = table.length - 1;
+                for (int i = (int) Maths.agitate(key.hashCode()) & mask; ; i = (i + 1) & mask) {
+                    final Object k = table[i];
+                    if (k == null) {
+                        table[i] = key;
+                        size++;
+                        return;
+                    }
+                    if (k.equals(key))
+                        return;
+                }
+            }
+
+            boolean contains(Object key) {
+                if (key == null)
+                    key = NULL_KEY;
+                final int mask = table.length - 1;
+                for (int i = (int) Maths.agitate(key.hashCode()) & mask; ; i = (i + 1) & mask) {
+                    final Object k = table[i];
+                    if (k == null)
+                        return false;
+                    if (k.equals(key))
+                        return true;
+                }
+            }
+
+            void clear() {
+                if (size > 0) {
+                    Arrays.fill(table, null);
+                    size = 0;
+                }
+            }
+
+            private void resize() {
+                final Object[] old = table;
+                table = new Object[old.length * 2];
+                size = 0;
+                for (Object k : old)
+                    if (k != null)
+                        add(k);
+            }
+        }
+
         @Override
         protected void setValue(Object o, ValueIn read, boolean overwrite) {
             throw new UnsupportedOperationException();
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.io.AbstractCloseable;
+import net.openhft.chronicle.core.io.IORuntimeException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+
+import static net.openhft.chronicle.wire.ChannelToWire.bigEndian;
+
+/**
+ * The WireToChannel class writes documents to a WritableByteChannel, such as a FileChannel, a Pipe or a
+ * SocketChannel, in the format read by {@link InputStreamToWire} and {@link ChannelToWire},
+ * i.e. each document is prefixed by its length as a 32-bit big-endian int.
+ * <p>
+ * Unlike {@link WireToOutputStream}, documents are written in place to a direct buffer, and many documents are
+ * written to the channel at once, when at least {@code batchSize} bytes are buffered or {@link #flush()} is called.
+ * Documents already in this format in a file can be sent with {@link #transferFrom(FileChannel, long, long)}.
+ */
+public class WireToChannel extends AbstractCloseable {
+
+    // The default number of bytes to buffer before writing to the channel
+    public static final int DEFAULT_BATCH_SIZE = 64 << 10;
+
+    private static final int LENGTH_SIZE = 4;
+
+    private final Bytes<ByteBuffer> bytes;
+    private final Wire wire;
+    private final WritableByteChannel channel;
+    private final int batchSize;
+
+    // The position of the length of the current document, or -1 if there isn't one
+    private long documentStart = -1;
+
+    /**
+     * Constructs a WireToChannel which writes {@link #DEFAULT_BATCH_SIZE} bytes at a time.
+     *
+     * @param wireType The type of Wire to be used.
+     * @param channel  The channel to write to.
+     */
+    public WireToChannel(WireType wireType, WritableByteChannel channel) {
+        this(wireType, channel, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param wireType  The type of Wire to be used.
+     * @param channel   The channel to write to.
+     * @param batchSize The number of bytes to buffer before writing to the channel.
+     */
+    public WireToChannel(WireType wireType, WritableByteChannel channel, int batchSize) {
+        if (batchSize <= 0)
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        this.bytes = Bytes.elasticByteBuffer(batchSize + LENGTH_SIZE);
+        this.wire = wireType.apply(bytes);
+        this.channel = channel;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Starts a new document, completing the previous one. The documents buffered are written to the channel
+     * if there are at least {@code batchSize} bytes of them.
+     *
+     * @return The Wire to write the new document to.
+     * @throws IOException If an I/O error occurs.
+     */
+    public Wire getWire() throws IOException {
+        throwExceptionIfClosed();
+        endDocument();
+        if (bytes.readRemaining() >= batchSize)
+            writeBuffered();
+        documentStart = bytes.writePosition();
+        bytes.writeInt(0);
+        return wire;
+    }
+
+    /**
+     * Completes the current document, if any, and writes the documents buffered to the channel.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    public void flush() throws IOException {
+        endDocument();
+        writeBuffered();
+    }
+
+    /**
+     * Writes documents already in this format, e.g. written to a file by a WireToChannel, from a file to the channel,
+     * using {@link FileChannel#transferTo(long, long, WritableByteChannel)} so the OS can avoid copying them through
+     * this process. Any documents buffered are written first.
+     *
+     * @param file     The file to write from.
+     * @param position The position in the file of the first document.
+     * @param count    The number of bytes to write, which should be whole documents.
+     * @return The number of bytes written, less than count if the end of the file was reached,
+     * or a non-blocking channel is full.
+     * @throws IOException If an I/O error occurs.
+     */
+    public long transferFrom(FileChannel file, long position, long count) throws IOException {
+        flush();
+        long written = 0;
+        while (written < count) {
+            final long n = file.transferTo(position + written, count - written, channel);
+            if (n <= 0)
+                break;
+            written += n;
+        }
+        return written;
+    }
+
+    // sets the length of the current document
+    private void endDocument() {
+        if (documentStart < 0)
+            return;
+        final long length = bytes.writePosition() - documentStart - LENGTH_SIZE;
+        bytes.writeInt(documentStart, bigEndian(Math.toIntExact(length)));
+        documentStart = -1;
+    }
+
+    private void writeBuffered() throws IOException {
+        if (bytes.isEmpty())
+            return;
+        final ByteBuffer bb = bytes.underlyingObject();
+        bb.limit((int) bytes.writePosition());
+        bb.position((int) bytes.readPosition());
+        while (bb.hasRemaining())
+            channel.write(bb);
+        bytes.clear();
+    }
+
+    /**
+     * Writes any documents buffered to the channel, which is not closed.
+     */
+    @Override
+    protected void performClose() {
+        try {
+            flush();
+        } catch (IOException ioe) {
+            throw new IORuntimeException(ioe);
+        } finally {
+            bytes.releaseLast();
+        }
+    }
+}
@@ -22,6 +22,7 @@ import net.openhft.chronicle.bytes.BytesIn;
 import net.openhft.chronicle.core.pool.StringBuilderPool;
 import net.openhft.chronicle.core.scoped.ScopedResource;
 import net.openhft.chronicle.core.scoped.ScopedResourcePool;
+import net.openhft.chronicle.wire.internal.FastDoubles;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
@@ -1089,7 +1090,7 @@ public class YamlTokeniser {
      */
     public double parseDouble() {
         if (blockEnd < 0 && temp != null) {
-            return temp.parseDouble();
+            return FastDoubles.parseDouble(temp);
         }
         if (blockStart == blockEnd || NO_TEXT.contains(last))
             return -0.0;  // Return -0.0 if there's no data.
@@ -1097,7 +1098,7 @@ public class YamlTokeniser {
         long pos = in.readPosition();
         try {
             in.readPosition(blockStart);
-            return in.parseDouble();
+            return FastDoubles.parseDouble(in);
         } finally {
             // Reset the reading position.
             in.readPosition(pos);
@@ -33,6 +33,7 @@ import net.openhft.chronicle.core.io.IOTools;
 import net.openhft.chronicle.core.io.InvalidMarshallableException;
 import net.openhft.chronicle.core.pool.ClassLookup;
 import net.openhft.chronicle.core.values.*;
+import net.openhft.chronicle.wire.internal.FastDoubles;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -87,6 +88,7 @@ public abstract class YamlWireOut<T extends YamlWireOut<T>> extends AbstractWire
     protected final StringBuilder sb = new StringBuilder();
     private boolean addTimeStamps = false;
     private boolean trimFirstCurly = true;
+    private int decimalPlaces = -1;
 
     /**
      * Constructs a new instance of YamlWireOut with specified bytes and 8-bit flag.
@@ -504,6 +506,30 @@ public abstract class YamlWireOut<T extends YamlWireOut<T>> extends AbstractWire
         return (T) this;
     }
 
+    /**
+     * Returns the number of decimal places doubles are rounded to when written.
+     *
+     * @return the number of decimal places, or -1 if doubles are written in full.
+     */
+    public int decimalPlaces() {
+        return decimalPlaces;
+    }
+
+    /**
+     * Sets the number of decimal places doubles are rounded to when written, e.g. for prices.
+     * This is faster than writing doubles in full, but they may not read back as the same value.
+     * Doubles too large to be rounded exactly, or not finite, are written in full.
+     *
+     * @param decimalPlaces from 0 to {@link FastDoubles#MAX_DECIMAL_PLACES}, or -1 to write doubles in full.
+     * @return The current instance of {@code YamlWireOut} (fluent API style).
+     */
+    public T decimalPlaces(int decimalPlaces) {
+        if (decimalPlaces < -1 || decimalPlaces > FastDoubles.MAX_DECIMAL_PLACES)
+            throw new IllegalArgumentException("decimalPlaces out of range: " + decimalPlaces);
+        this.decimalPlaces = decimalPlaces;
+        return (T) this;
+    }
+
     /**
      * This internal class represents an output value in the YAML format. It provides functionalities related
      * to appending separators, handling whitespace, and maintaining indentation among others.
@@ -1012,6 +1038,10 @@ public abstract class YamlWireOut<T extends YamlWireOut<T>> extends AbstractWire
                 writeSavedEventName();
             }
             prependSeparator();
+            if (decimalPlaces >= 0 && FastDoubles.appendFixed(bytes, d, decimalPlaces)) {
+                elementSeparator();
+                return wireOut();
+            }
             double ad = Math.abs(d);
             if (ad == 0) {
                 bytes.append(d);
@@ -18,6 +18,8 @@
 
 package net.openhft.chronicle.wire.channel;
 
+import net.openhft.chronicle.wire.ClassIdLookup;
+
 /**
  * The AbstractHandler class serves as a foundational template for all types of channel handlers.
  * It extends the AbstractHeader class and implements the ChannelHandler interface.
@@ -34,6 +36,9 @@ public abstract class AbstractHandler<H extends AbstractHandler<H>>
     // A flag to indicate whether or not a channel should be buffered
     private Boolean buffered;
 
+    // An optional table of class ids both ends use for this session
+    private ClassIdLookup classIds;
+
     /**
      * Retrieves the buffer status of the channel associated with this handler.
      *
@@ -56,4 +61,21 @@ public abstract class AbstractHandler<H extends AbstractHandler<H>>
         this.buffered = buffered;
         return (H) this;
     }
+
+    @Override
+    public ClassIdLookup classIds() {
+        return classIds;
+    }
+
+    /**
+     * Sets the table of class ids both ends use once the session is established.
+     *
+     * @param classIds to use, or null to write class names
+     * @return This instance of the handler, enabling method chaining.
+     */
+    @SuppressWarnings("unchecked")
+    public H classIds(ClassIdLookup classIds) {
+        this.classIds = classIds;
+        return (H) this;
+    }
 }
@@ -20,6 +20,7 @@ package net.openhft.chronicle.wire.channel;
 
 import net.openhft.chronicle.core.io.ClosedIORuntimeException;
 import net.openhft.chronicle.core.io.InvalidMarshallableException;
+import net.openhft.chronicle.wire.ClassIdLookup;
 
 /**
  * This interface represents a channel handler that performs various channel-related operations
@@ -82,4 +83,15 @@ public interface ChannelHandler extends ChannelHeader {
     default boolean recordHistory() {
         return false;
     }
+
+    /**
+     * Provides a table of class ids for the session. When present, both ends use it as the class lookup for
+     * the messages after the handshake, so polymorphic values of the classes registered are written with a
+     * numeric id rather than their name.
+     *
+     * @return the class ids to use for this session, or null to use names
+     */
+    default ClassIdLookup classIds() {
+        return null;
+    }
 }
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire.channel;
+
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.Maths;
+import net.openhft.chronicle.core.io.InvalidMarshallableException;
+import net.openhft.chronicle.core.scoped.ScopedResource;
+import net.openhft.chronicle.core.util.StringUtils;
+import net.openhft.chronicle.threads.PauserMode;
+import net.openhft.chronicle.wire.*;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends requests over a ChronicleChannel without waiting for each reply, so many requests can be outstanding
+ * on one connection at once.
+ * <p>
+ * Each request is a document starting with a correlation id, {@code cid: 123}, followed by an event and its payload.
+ * The service replies with a document starting with the same correlation id, e.g. by copying it with
+ * {@link #readCorrelationId(WireIn)} and {@link #writeCorrelationId(WireOut, long)}, which may arrive in any order.
+ * An {@link net.openhft.chronicle.wire.channel.echo.EchoHandler} replies to each request with itself.
+ * <p>
+ * The handler for each request is held in a ring of {@code maxInFlight} rounded up to a power of two slots, indexed
+ * by correlation id, so no object is created per request. {@link #request(String, Object, ReplyHandler)} returns -1
+ * if {@code maxInFlight} requests are outstanding, or the slot for the next id is still held by the request sent
+ * one ring earlier. {@link #poll()} reads the replies available, passing each to its handler, and times out requests
+ * without a reply after {@code timeoutMS}; a reply which arrives after that is ignored.
+ * <p>
+ * The channel must use {@link PauserMode#busy} so reading a reply doesn't block, otherwise poll() could wait forever
+ * for a reply which was lost, and never time it out.
+ * <p>
+ * This class is not thread safe, requests are sent, and replies handled, by the thread calling poll().
+ */
+@SuppressWarnings("deprecation")
+public class ChannelRpcClient {
+
+    // The field the correlation id is written to, before the event
+    public static final String CORRELATION_ID = "cid";
+
+    private final ChronicleChannel channel;
+    private final int maxInFlight;
+    private final long timeoutNS;
+    private final int mask;
+    private final ReplyHandler[] handlers;
+    private final long[] ids;
+    private final long[] sentNS;
+    private final StringBuilder event = new StringBuilder();
+
+    // the next id to send, and the oldest id which might still be in flight
+    private long nextId = 1;
+    private long oldestId = 1;
+    private int inFlight;
+
+    /**
+     * @param channel     to send requests and receive replies on, with a busy pauserMode
+     * @param maxInFlight the most requests without a reply at once
+     * @param timeoutMS   how long to wait for a reply
+     * @throws IllegalArgumentException if the channel doesn't use a busy pauserMode, or maxInFlight or timeoutMS
+     *                                  isn't positive
+     */
+    public ChannelRpcClient(@NotNull ChronicleChannel channel, int maxInFlight, long timeoutMS) {
+        if (channel.channelCfg().pauserMode() != PauserMode.busy)
+            throw new IllegalArgumentException("The channel must use pauserMode busy so poll() doesn't block, was " + channel.channelCfg().pauserMode());
+        if (maxInFlight <= 0)
+            throw new IllegalArgumentException("maxInFlight must be positive: " + maxInFlight);
+        if (timeoutMS <= 0)
+            throw new IllegalArgumentException("timeoutMS must be positive: " + timeoutMS);
+        this.channel = channel;
+        this.maxInFlight = maxInFlight;
+        this.timeoutNS = TimeUnit.MILLISECONDS.toNanos(timeoutMS);
+        final int capacity = (int) Maths.nextPower2(maxInFlight, 1);
+        this.mask = capacity - 1;
+        this.handlers = new ReplyHandler[capacity];
+        this.ids = new long[capacity];
+        this.sentNS = new long[capacity];
+    }
+
+    /**
+     * Writes the correlation id at the start of a reply, or a request.
+     *
+     * @param out           the wire of the document
+     * @param correlationId of the request
+     */
+    public static void writeCorrelationId(@NotNull WireOut out, long correlationId) {
+        out.write(CORRELATION_ID).int64(correlationId);
+    }
+
+    /**
+     * Reads the correlation id at the start of a request, or a reply.
+     *
+     * @param in the wire of the document
+     * @return the correlation id, or -1 if the document doesn't start with one
+     */
+    public static long readCorrelationId(@NotNull WireIn in) {
+        final long pos = in.bytes().readPosition();
+        try (ScopedResource<StringBuilder> stlSb = Wires.acquireStringBuilderScoped()) {
+            final StringBuilder sb = stlSb.get();
+            final ValueIn valueIn = in.read(sb);
+            if (StringUtils.isEqual(sb, CORRELATION_ID))
+                return valueIn.int64();
+        }
+        in.bytes().readPosition(pos);
+        return -1;
+    }
+
+    /**
+     * Sends a request, if there is room for it.
+     *
+     * @param eventName of the request
+     * @param payload   of the request
+     * @param handler   called with the reply, or on timeout
+     * @return the correlation id of the request, or -1 if maxInFlight requests are already in flight, or the slot for
+     * the next id is still held by an earlier request
+     * @throws InvalidMarshallableException if the payload can't be written
+     */
+    public long request(@NotNull String eventName, @Nullable Object payload, @NotNull ReplyHandler handler) throws InvalidMarshallableException {
+        advanceOldest();
+        // a slow request only holds its own slot, so at most one ring of ids is between oldestId and nextId
+        if (inFlight >= maxInFlight || handlers[(int) nextId & mask] != null)
+            return -1;
+        final long id = nextId++;
+        final int slot = (int) id & mask;
+        handlers[slot] = handler;
+        ids[slot] = id;
+        sentNS[slot] = System.nanoTime();
+        inFlight++;
+        try (DocumentContext dc = channel.writingDocument()) {
+            final Wire wire = dc.wire();
+            writeCorrelationId(wire, id);
+            wire.write(eventName).object(payload);
+        }
+        return id;
+    }
+
+    /**
+     * Reads the replies available, and times out any requests waiting longer than the timeout.
+     *
+     * @return the number of handlers called
+     */
+    public int poll() {
+        int count = 0;
+        for (; ; ) {
+            try (DocumentContext dc = channel.readingDocument()) {
+                if (!dc.isPresent())
+                    break;
+                if (dc.isMetaData())
+                    continue;
+                final Wire wire = dc.wire();
+                final long id = readCorrelationId(wire);
+                if (id < 0) {
+                    Jvm.debug().on(getClass(), "Ignoring a document without a " + CORRELATION_ID);
+                    continue;
+                }
+                final ReplyHandler handler = remove(id);
+                if (handler == null)
+                    continue;
+                final ValueIn in = wire.read(event);
+                handler.onReply(id, event, in);
+                count++;
+            }
+        }
+        return count + expire(System.nanoTime());
+    }
+
+    /**
+     * @return the number of requests without a reply, which haven't timed out
+     */
+    public int inFlight() {
+        return inFlight;
+    }
+
+    // times out requests in the order sent
+    private int expire(long now) {
+        int count = 0;
+        for (long id = oldestId; id < nextId; id++) {
+            final int slot = (int) id & mask;
+            if (handlers[slot] == null || ids[slot] != id)
+                continue;
+            if (now - sentNS[slot] < timeoutNS)
+                break;
+            final ReplyHandler handler = remove(id);
+            assert handler != null;
+            handler.onTimeout(id);
+            count++;
+        }
+        advanceOldest();
+        return count;
+    }
+
+    @Nullable
+    private ReplyHandler remove(long id) {
+        final int slot = (int) id & mask;
+        final ReplyHandler handler = handlers[slot];
+        // a late reply, or a reply to another client
+        if (handler == null || ids[slot] != id)
+            return null;
+        handlers[slot] = null;
+        inFlight--;
+        return handler;
+    }
+
+    // moves the start of the window past requests which are complete
+    private void advanceOldest() {
+        while (oldestId < nextId && handlers[(int) oldestId & mask] == null)
+            oldestId++;
+    }
+
+    /**
+     * Handles the reply to a request.
+     */
+    @FunctionalInterface
+    public interface ReplyHandler {
+        /**
+         * Called with the reply to a request.
+         *
+         * @param correlationId of the request
+         * @param event         the event name of the reply
+         * @param in            to read the payload of the reply from, only valid during this call
+         */
+        void onReply(long correlationId, CharSequence event, ValueIn in);
+
+        /**
+         * Called if there is no reply within the timeout.
+         *
+         * @param correlationId of the request
+         */
+        default void onTimeout(long correlationId) {
+            Jvm.warn().on(ReplyHandler.class, "No reply to request " + correlationId);
+        }
+    }
+}
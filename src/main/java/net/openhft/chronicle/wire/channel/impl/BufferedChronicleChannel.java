@@ -19,19 +19,21 @@
 package net.openhft.chronicle.wire.channel.impl;
 
 import net.openhft.affinity.AffinityThreadFactory;
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.BytesUtil;
 import net.openhft.chronicle.core.Jvm;
 import net.openhft.chronicle.core.io.ClosedIllegalStateException;
 import net.openhft.chronicle.threads.NamedThreadFactory;
 import net.openhft.chronicle.threads.Pauser;
-import net.openhft.chronicle.wire.DocumentContext;
-import net.openhft.chronicle.wire.UnrecoverableTimeoutException;
-import net.openhft.chronicle.wire.Wire;
-import net.openhft.chronicle.wire.WireOut;
+import net.openhft.chronicle.wire.*;
 import net.openhft.chronicle.wire.channel.EventPoller;
+import org.jetbrains.annotations.NotNull;
 
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
 
 import static net.openhft.chronicle.core.io.Closeable.closeQuietly;
 import static net.openhft.chronicle.wire.channel.impl.TCPChronicleChannel.validateHeader;
@@ -43,6 +45,11 @@ import static net.openhft.chronicle.wire.channel.impl.TCPChronicleChannel.valida
  * <p>
  * The class utilizes a background writer thread, which is responsible for asynchronously handling
  * data operations to improve the overall performance and responsiveness of the channel.
+ * <p>
+ * If the peer reads more slowly than messages are written, the buffer grows. {@link #flowControl(int, OverflowPolicy)}
+ * bounds this by limiting the messages sent which the peer hasn't read yet. The peer grants credit for more messages
+ * as it reads them, in a {@code credit} metadata message, and the {@link OverflowPolicy} decides what happens to a
+ * message written without credit.
  */
 @SuppressWarnings("this-escape")
 public class BufferedChronicleChannel extends DelegateChronicleChannel {
@@ -60,6 +67,23 @@ public class BufferedChronicleChannel extends DelegateChronicleChannel {
     // Volatile reference to an EventPoller, ensuring visibility across threads
     private volatile EventPoller eventPoller;
 
+    // Credit based flow control, off until flowControl is called
+    private final AtomicLong credit = new AtomicLong(Long.MAX_VALUE);
+    private final ConflatingDocumentContext conflatingContext = new ConflatingDocumentContext();
+    private final DroppingDocumentContext droppingContext = new DroppingDocumentContext();
+    // the last data message started by each thread, to find a chained one
+    private final ThreadLocal<DocumentContext> lastDocument = new ThreadLocal<>();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile OverflowPolicy overflowPolicy;
+    private volatile LongConsumer creditListener;
+    // a message conflated in the spareWire is waiting for credit, guarded by the exchanger lock
+    private volatile boolean conflatedPending;
+    // holds a dropped or conflated message, guarded by the exchanger lock
+    private Wire spareWire;
+    // where the holder of acquireProducer() started writing, guarded by the exchanger lock
+    private Wire producerWire;
+    private long producerStart;
+
     /**
      * Constructs a {@code BufferedChronicleChannel} with the specified channel and pauser.
      *
@@ -69,6 +93,11 @@ public class BufferedChronicleChannel extends DelegateChronicleChannel {
     public BufferedChronicleChannel(TCPChronicleChannel channel, Pauser pauser) {
         super(channel);
         this.pauser = pauser;
+        // messages are written to the exchanger, so it needs any class ids agreed in the handshake,
+        // which for an acceptor may happen after this
+        channel.classLookupListener(exchanger::classLookup);
+        // credit granted to the peer is sent in order with the buffered messages
+        channel.creditOut(exchanger);
 
         String desc = channel.connectionCfg().initiator() ? "init" : "accp";
         final String writer = desc + "-writer";
@@ -126,29 +155,277 @@ public class BufferedChronicleChannel extends DelegateChronicleChannel {
         }
     }
 
+    /**
+     * Limits the data messages written which the peer hasn't read yet to {@code window}, bounding the memory used
+     * by a slow peer. The peer needs to be a {@link TCPChronicleChannel}, and not echo metadata messages back.
+     * <p>
+     * Credit granted by the peer is read from this channel by {@link #readingDocument()}, so a thread needs to keep
+     * reading from it. Metadata messages don't use credit. Data messages written with {@link #acquireProducer()} are
+     * always sent, and the credit they use is taken when {@link #releaseProducer()} is called.
+     *
+     * @param window the most messages which can be sent before the peer has read them
+     * @param policy what to do with a message written when there is no credit
+     * @return this
+     * @throws IllegalStateException if flow control is already enabled
+     */
+    public synchronized BufferedChronicleChannel flowControl(int window, @NotNull OverflowPolicy policy) {
+        if (isClosed())
+            throw new ClosedIllegalStateException(this.getClass().getName() + " closed for " + Thread.currentThread().getName());
+        if (window <= 0)
+            throw new IllegalArgumentException("window must be positive: " + window);
+        if (overflowPolicy != null)
+            throw new IllegalStateException("Flow control is already enabled");
+        spareWire = WireType.BINARY_LIGHT.apply(Bytes.allocateElasticOnHeap(256));
+        credit.set(window);
+        ((TCPChronicleChannel) channel).creditListener(this::onCredit);
+        // the peer starts granting credit once it reads this
+        try (DocumentContext dc = exchanger.writingDocument(true)) {
+            dc.wire().write(TCPChronicleChannel.CREDIT_WINDOW).int32(window);
+        }
+        overflowPolicy = policy;
+        return this;
+    }
+
+    /**
+     * @return the number of data messages which can be written before running out of credit, negative if messages
+     * written with {@link #acquireProducer()} used more than was available, or Long.MAX_VALUE if flow control is not
+     * enabled
+     */
+    public long credit() {
+        return credit.get();
+    }
+
+    /**
+     * Sets a listener called with the credit available, each time the peer grants more.
+     * It is called on the thread calling {@link #readingDocument()}.
+     *
+     * @param creditListener to call, or null for none
+     * @return this
+     */
+    public BufferedChronicleChannel creditListener(LongConsumer creditListener) {
+        this.creditListener = creditListener;
+        return this;
+    }
+
+    /**
+     * @return the number of data messages dropped by {@link OverflowPolicy#DROP}
+     */
+    public long dropped() {
+        return dropped.get();
+    }
+
     @Override
     public DocumentContext writingDocument(boolean metaData) throws UnrecoverableTimeoutException {
-        return exchanger.writingDocument(metaData);
+        final OverflowPolicy policy = this.overflowPolicy;
+        if (metaData || policy == null)
+            return exchanger.writingDocument(metaData);
+        final DocumentContext dc = writingDocument0(policy);
+        lastDocument.set(dc);
+        return dc;
+    }
+
+    private DocumentContext writingDocument0(OverflowPolicy policy) {
+        // a conflated message waiting has to be replaced, rather than sent after this one, so the pending flag is
+        // checked, and credit taken, while holding the exchanger lock, which sendConflated() holds too
+        if (policy == OverflowPolicy.CONFLATE)
+            return conflatingContext.start();
+        if (tryAcquireCredit())
+            return exchanger.writingDocument(false);
+        switch (policy) {
+            case BLOCK:
+                awaitCredit();
+                return exchanger.writingDocument(false);
+            case DROP:
+                return droppingContext.start();
+            default:
+                throw new AssertionError(policy);
+        }
     }
 
     @Override
     public DocumentContext acquireWritingDocument(boolean metaData) throws UnrecoverableTimeoutException {
-        return exchanger.acquireWritingDocument(metaData);
+        if (metaData || overflowPolicy == null)
+            return exchanger.acquireWritingDocument(metaData);
+        final DocumentContext dc = lastDocument.get();
+        return dc instanceof WriteDocumentContext && dc.isOpen() && ((WriteDocumentContext) dc).chainedElement()
+                ? dc
+                : writingDocument(false);
+    }
+
+    private boolean tryAcquireCredit() {
+        for (; ; ) {
+            final long available = credit.get();
+            if (available <= 0)
+                return false;
+            if (credit.compareAndSet(available, available - 1))
+                return true;
+        }
+    }
+
+    private void awaitCredit() {
+        // only created if this thread has to wait, as any number of threads can
+        Pauser creditPauser = null;
+        while (!tryAcquireCredit()) {
+            if (isClosing())
+                throw new ClosedIllegalStateException(this.getClass().getName() + " closed while waiting for credit");
+            if (creditPauser == null)
+                creditPauser = Pauser.balanced();
+            creditPauser.pause();
+        }
+    }
+
+    /**
+     * Called by the reading thread with the credit granted by the peer.
+     */
+    private void onCredit(long granted) {
+        credit.addAndGet(granted);
+        if (overflowPolicy == OverflowPolicy.CONFLATE)
+            sendConflated();
+        final LongConsumer creditListener = this.creditListener;
+        if (creditListener != null)
+            creditListener.accept(credit.get());
+    }
+
+    // sends the latest message written without credit, if there is one
+    private void sendConflated() {
+        final Wire wire = exchanger.acquireProducer();
+        try {
+            if (conflatedPending && tryAcquireCredit()) {
+                try (DocumentContext in = spareWire.readingDocument();
+                     DocumentContext out = wire.writingDocument(false)) {
+                    out.wire().bytes().write(in.wire().bytes());
+                }
+                conflatedPending = false;
+            }
+        } finally {
+            exchanger.releaseProducer();
+        }
     }
 
     @Override
     public WireOut acquireProducer() {
-        return exchanger.acquireProducer();
+        final Wire wire = exchanger.acquireProducer();
+        producerWire = wire;
+        producerStart = wire.bytes().writePosition();
+        return wire;
     }
 
     @Override
     public void releaseProducer() {
+        // the peer grants credit for every data message it reads, so these use it too
+        if (overflowPolicy != null) {
+            final long messages = dataMessages(producerWire, producerStart);
+            if (messages > 0)
+                credit.addAndGet(-messages);
+        }
         exchanger.releaseProducer();
     }
 
+    // counts the complete data messages written from a position
+    private static long dataMessages(Wire wire, long position) {
+        final Bytes<?> bytes = wire.bytes();
+        final boolean padding = wire.usePadding();
+        final long limit = bytes.writePosition();
+        long messages = 0;
+        for (long pos = position; ; ) {
+            if (padding)
+                pos += BytesUtil.padOffset(pos);
+            if (pos + 4 > limit)
+                return messages;
+            final int header = bytes.readInt(pos);
+            if (Wires.isNotComplete(header))
+                return messages;
+            if (Wires.isData(header))
+                messages++;
+            final int len = Wires.lengthOf(header);
+            pos += 4 + (padding ? (len + 3) & ~3 : len);
+        }
+    }
+
     @Override
     public void close() {
         super.close();
         closeQuietly(eventPoller, exchanger);
+        synchronized (this) {
+            if (spareWire != null && spareWire.bytes().refCount() > 0)
+                spareWire.bytes().releaseLast();
+        }
+    }
+
+    /**
+     * What to do with a data message written when there is no credit.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Wait until the peer grants more credit. Another thread has to read from the channel.
+         */
+        BLOCK,
+        /**
+         * Discard the message, counting it in {@link #dropped()}.
+         */
+        DROP,
+        /**
+         * Keep only the latest message, sending it when the peer grants more credit.
+         * This suits messages which each replace the previous one, e.g. the latest price.
+         */
+        CONFLATE
+    }
+
+    /**
+     * Writes a message which is dropped to the spare wire. The exchanger lock is held until the message is complete,
+     * so only one thread uses the spare wire at a time.
+     */
+    private final class DroppingDocumentContext extends DocumentContextHolder {
+        DocumentContext start() {
+            exchanger.acquireProducer();
+            dropped.incrementAndGet();
+            spareWire.clear();
+            documentContext(spareWire.writingDocument(false));
+            return this;
+        }
+
+        @Override
+        public void close() {
+            final DocumentContext dc = documentContext();
+            dc.close();
+            if (!dc.isNotComplete()) {
+                documentContext(null);
+                exchanger.releaseProducer();
+            }
+        }
+    }
+
+    /**
+     * Writes to the exchanger if there is credit, otherwise to the spare wire, replacing any message waiting there.
+     * The exchanger lock is held until the message is complete, so credit granted meanwhile sends it afterwards.
+     */
+    private final class ConflatingDocumentContext extends DocumentContextHolder {
+        private boolean conflated;
+
+        DocumentContext start() {
+            final Wire wire = exchanger.acquireProducer();
+            // a new message replaces one waiting
+            conflatedPending = false;
+            conflated = !tryAcquireCredit();
+            if (conflated) {
+                spareWire.clear();
+                documentContext(spareWire.writingDocument(false));
+            } else {
+                documentContext(wire.writingDocument(false));
+            }
+            return this;
+        }
+
+        @Override
+        public void close() {
+            final DocumentContext dc = documentContext();
+            dc.close();
+            if (!dc.isNotComplete()) {
+                documentContext(null);
+                if (conflated)
+                    conflatedPending = true;
+                exchanger.releaseProducer();
+            }
+        }
     }
 }
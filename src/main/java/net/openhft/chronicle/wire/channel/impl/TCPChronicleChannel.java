@@ -21,6 +21,7 @@ package net.openhft.chronicle.wire.channel.impl;
 import net.openhft.chronicle.bytes.Bytes;
 import net.openhft.chronicle.core.Jvm;
 import net.openhft.chronicle.core.io.*;
+import net.openhft.chronicle.core.pool.ClassLookup;
 import net.openhft.chronicle.core.util.Mocker;
 import net.openhft.chronicle.threads.PauserMode;
 import net.openhft.chronicle.wire.*;
@@ -37,6 +38,7 @@ import java.util.Set;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.LongConsumer;
 
 import static java.util.Objects.requireNonNull;
 import static net.openhft.chronicle.core.io.Closeable.closeQuietly;
@@ -54,6 +56,9 @@ public class TCPChronicleChannel extends AbstractCloseable implements InternalCh
     // Default capacity for the channel buffers
     static final int CAPACITY = Integer.getInteger("tcp.capacity", 2 << 20); // 2 MB
     private static final String HEADER = "header";
+    // metadata events for credit based flow control, see BufferedChronicleChannel.flowControl
+    static final String CREDIT_WINDOW = "creditWindow";
+    static final String CREDIT = "credit";
     private static final ChannelHeader NO_HEADER = Mocker.ignored(ChannelHeader.class);
     private static final boolean DUMP_YAML = Jvm.getBoolean("dumpYaml");
     private final ReentrantLock lock = new ReentrantLock();
@@ -77,6 +82,15 @@ public class TCPChronicleChannel extends AbstractCloseable implements InternalCh
     private boolean unsentTestMessage = false;
     private int bufferSize = CAPACITY * 2;
     private Consumer<ChronicleChannel> closeCallback;
+    // the window the peer asked for, or 0 if it doesn't use flow control
+    private int creditWindow = 0;
+    // data messages read since credit was last granted
+    private int creditToGrant = 0;
+    // where credit is granted, this channel unless buffered
+    private MarshallableOut creditOut = this;
+    private volatile LongConsumer creditListener;
+    // told of the class ids agreed in the handshake, e.g. to use them for buffered messages as well
+    private volatile Consumer<ClassLookup> classLookupListener;
 
     /**
      * Initiator Constructor for TCPChronicleChannel.
@@ -222,6 +236,10 @@ public class TCPChronicleChannel extends AbstractCloseable implements InternalCh
     public DocumentContext readingDocument() throws ClosedIORuntimeException {
         if (unsentTestMessage && out.writingIsComplete())
             testMessage(lastTestMessage);
+        // the messages read before this call have been processed
+        if (creditToGrant > 0 && creditToGrant >= (creditWindow + 1) / 2
+                && (creditOut != this || out.writingIsComplete()))
+            grantCredit();
 
         final DocumentContext dc = readingDocument0();
 //        System.out.println("in - " + Wires.fromSizePrefixedBlobs(dc));
@@ -233,13 +251,59 @@ public class TCPChronicleChannel extends AbstractCloseable implements InternalCh
                 final long testMessage = wire.getValueIn().readLong(NanoTime.INSTANCE);
                 unsentTestMessage = testMessage > lastTestMessage;
                 lastTestMessage = testMessage;
+            } else if (CREDIT_WINDOW.equals(event)) {
+                creditWindow = wire.getValueIn().int32();
+                creditToGrant = 0;
+            } else if (CREDIT.equals(event)) {
+                final long credit = wire.getValueIn().int64();
+                final LongConsumer creditListener = this.creditListener;
+                if (creditListener != null)
+                    creditListener.accept(credit);
             }
             wire.bytes().readPosition(pos);
+        } else if (creditWindow > 0 && dc.isPresent()) {
+            creditToGrant++;
         }
 
         return dc;
     }
 
+    /**
+     * Tells the peer it can send as many messages again as have been read since credit was last granted.
+     */
+    private void grantCredit() {
+        try {
+            try (DocumentContext dc = creditOut.writingDocument(true)) {
+                dc.wire().write(CREDIT).int64(creditToGrant);
+            }
+            creditToGrant = 0;
+        } catch (Exception e) {
+            if (isClosing()) {
+                Jvm.debug().on(getClass(), "Ignoring credit exception as it is closing " + e);
+                return;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Sets where credit granted to the peer is written, so a buffered channel sends it in order with its other messages.
+     *
+     * @param creditOut to write credit to
+     */
+    void creditOut(MarshallableOut creditOut) {
+        this.creditOut = requireNonNull(creditOut);
+    }
+
+    /**
+     * Sets the listener called with the credit granted by the peer, on the thread reading from this channel.
+     *
+     * @param creditListener to call, or null for none
+     */
+    void creditListener(LongConsumer creditListener) {
+        this.creditListener = creditListener;
+    }
+
     /**
      * Retrieves a reading document from the wire 'in'.
      * <p>
@@ -370,6 +434,7 @@ public class TCPChronicleChannel extends AbstractCloseable implements InternalCh
                             configureSocket();
                             writeHeader();
                             readHeader();
+                            useClassIds(headerOut);
                             success = true;
                             break Outer;
 
@@ -460,6 +525,43 @@ public class TCPChronicleChannel extends AbstractCloseable implements InternalCh
         if (systemContext != null)
             headerOut.systemContext(systemContext);
         writeHeader();
+        useClassIds(headerIn);
+    }
+
+    /**
+     * Uses the class ids of the handler, if any, for the messages after the handshake.
+     *
+     * @param header the handler sent by the initiator
+     */
+    private void useClassIds(ChannelHeader header) {
+        if (!(header instanceof ChannelHandler))
+            return;
+        final ClassIdLookup classIds = ((ChannelHandler) header).classIds();
+        if (classIds == null)
+            return;
+        in.classLookup(classIds);
+        out.classLookup(classIds);
+        final Consumer<ClassLookup> classLookupListener = this.classLookupListener;
+        if (classLookupListener != null)
+            classLookupListener.accept(classIds);
+    }
+
+    /**
+     * Sets a listener for the class lookup agreed in the handshake, called now with the current class lookup,
+     * and again if the handshake, which may not have happened yet, agrees on class ids.
+     *
+     * @param classLookupListener to call
+     */
+    synchronized void classLookupListener(Consumer<ClassLookup> classLookupListener) {
+        this.classLookupListener = requireNonNull(classLookupListener);
+        classLookupListener.accept(classLookup());
+    }
+
+    /**
+     * @return the class lookup used for the messages of this channel
+     */
+    public ClassLookup classLookup() {
+        return out.classLookup();
     }
 
     /**
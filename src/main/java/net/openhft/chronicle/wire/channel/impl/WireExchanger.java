@@ -22,6 +22,7 @@ import net.openhft.chronicle.bytes.Bytes;
 import net.openhft.chronicle.core.Jvm;
 import net.openhft.chronicle.core.UnsafeMemory;
 import net.openhft.chronicle.core.io.SimpleCloseable;
+import net.openhft.chronicle.core.pool.ClassLookup;
 import net.openhft.chronicle.wire.*;
 import org.jetbrains.annotations.NotNull;
 
@@ -153,6 +154,16 @@ public class WireExchanger extends SimpleCloseable implements MarshallableOut {
         return writeTo == 0 ? wire0 : wire1;
     }
 
+    /**
+     * Sets the class lookup used by both wires when writing.
+     *
+     * @param classLookup to use
+     */
+    public void classLookup(ClassLookup classLookup) {
+        wire0.classLookup(classLookup);
+        wire1.classLookup(classLookup);
+    }
+
     /**
      * Acquires a consumer wire for data reading.
      * If the wire does not have any new data (i.e., it isn't dirty), an empty wire is returned.
@@ -146,6 +146,28 @@ public interface Reduction<T> extends ExcerptListener {
          * @throws NullPointerException if the provided {@code collector} is {@code null}
          */
         <A, R> Reduction<R> collecting(@NotNull final Collector<E, A, ? extends R> collector);
+
+        /**
+         * Creates and returns a new Reduction of type R using the provided {@code collector},
+         * which adds each element to one of a number of lists, chosen by the current thread,
+         * so many tailers can add elements concurrently with little contention.
+         * <p>
+         * The provided {@code collector} does not need to be concurrent. Each list is only
+         * accessed while holding its own lock. Each time {@link Reduction#reduction()} is called,
+         * all the elements so far, in the order they were read by each thread, are accumulated into
+         * a new container from the collector's supplier, so no mutable container, including nested
+         * ones such as the lists of {@code groupingBy(f, toList())}, is shared between results.
+         * <p>
+         * Every element extracted is kept, and each call of {@link Reduction#reduction()} costs time
+         * in proportion to all the elements so far, not just the ones added since the previous call.
+         *
+         * @param collector to use (non-null)
+         * @param <A>       intermediate accumulation form
+         * @param <R>       Reduction type
+         * @return a new Reduction of type R
+         * @throws NullPointerException if the provided {@code collector} is {@code null}
+         */
+        <A, R> Reduction<R> collectingStriped(@NotNull final Collector<E, A, ? extends R> collector);
     }
 
     /**
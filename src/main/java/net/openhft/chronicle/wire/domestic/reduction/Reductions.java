@@ -20,18 +20,18 @@ package net.openhft.chronicle.wire.domestic.reduction;
 
 import net.openhft.chronicle.wire.SelfDescribingMarshallable;
 import net.openhft.chronicle.wire.Wire;
+import net.openhft.chronicle.wire.domestic.extractor.DocumentExtractor;
 import net.openhft.chronicle.wire.domestic.extractor.ToDoubleDocumentExtractor;
 import net.openhft.chronicle.wire.domestic.extractor.ToLongDocumentExtractor;
+import net.openhft.chronicle.wire.internal.reduction.ReductionUtil;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.concurrent.atomic.AtomicLongFieldUpdater;
-import java.util.concurrent.atomic.DoubleAccumulator;
-import java.util.concurrent.atomic.LongAccumulator;
-import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.atomic.*;
 import java.util.function.DoubleBinaryOperator;
 import java.util.function.DoubleSupplier;
 import java.util.function.LongBinaryOperator;
 import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
 
 import static net.openhft.chronicle.core.util.ObjectUtils.requireNonNull;
 
@@ -102,6 +102,126 @@ public final class Reductions {
                 );
     }
 
+    /**
+     * Creates and returns a new Reduction that will sum the elements of type {@code long} extracted using
+     * the provided {@code extractor}.
+     * <p>
+     * The sum is held in a {@link LongAdder} so many threads may accumulate concurrently with little contention.
+     * The returned Reduction is guaranteed to not create any internal objects per excerpt.
+     *
+     * @param extractor to apply on each document (non-null)
+     * @return a new Reduction summing long values
+     * @throws NullPointerException if any objects provided are {@code null}.
+     */
+    public static Reduction<LongSupplier> summingLong(@NotNull final ToLongDocumentExtractor extractor) {
+        requireNonNull(extractor);
+
+        return Reduction.ofLong(extractor)
+                .reducing(
+                        LongAdder::new,
+                        LongAdder::add,
+                        LongAdder::sum
+                );
+    }
+
+    /**
+     * Creates and returns a new Reduction that will sum the elements of type {@code double} extracted using
+     * the provided {@code extractor}.
+     * <p>
+     * The sum is held in a {@link DoubleAdder} so many threads may accumulate concurrently with little contention.
+     * The returned Reduction is guaranteed to not create any internal objects per excerpt.
+     *
+     * @param extractor to apply on each document (non-null)
+     * @return a new Reduction summing double values
+     * @throws NullPointerException if any objects provided are {@code null}.
+     */
+    public static Reduction<DoubleSupplier> summingDouble(@NotNull final ToDoubleDocumentExtractor extractor) {
+        requireNonNull(extractor);
+
+        return Reduction.ofDouble(extractor)
+                .reducing(
+                        DoubleAdder::new,
+                        DoubleAdder::add,
+                        DoubleAdder::sum
+                );
+    }
+
+    /**
+     * Creates and returns a new Reduction that will count the elements of type {@code long} extracted using
+     * the provided {@code extractor} into buckets. A value is counted in the first bucket whose upper bound
+     * is greater than or equal to it, or in an extra last bucket if it is above all the bounds.
+     * <p>
+     * The counts are held in one row per stripe of threads, so many threads may accumulate concurrently with
+     * little contention, and are summed into a new array each time {@link Reduction#reduction()} is called.
+     * The returned Reduction is guaranteed to not create any internal objects per excerpt.
+     *
+     * @param extractor   to apply on each document (non-null)
+     * @param upperBounds the inclusive upper bound of each bucket, in ascending order (non-null)
+     * @return a new Reduction counting long values per bucket
+     * @throws NullPointerException     if any objects provided are {@code null}.
+     * @throws IllegalArgumentException if the upperBounds are not in ascending order
+     */
+    public static Reduction<long[]> histogram(@NotNull final ToLongDocumentExtractor extractor,
+                                              @NotNull final long... upperBounds) {
+        requireNonNull(extractor);
+        requireNonNull(upperBounds);
+
+        return new ReductionUtil.StripedLongHistogram(extractor, upperBounds);
+    }
+
+    /**
+     * Creates and returns a new Reduction of the values of the elements extracted using the provided
+     * {@code extractor} in the last {@code windows} windows of {@code windowSize} consecutive keys,
+     * such as timestamps, obtained from each element using the {@code keyFunction}.
+     * <p>
+     * One window is a tumbling window, more than one is a sliding window.
+     * The returned Reduction is guaranteed to not create any internal objects per excerpt and its state
+     * can be saved and restored as it is Marshallable.
+     *
+     * @param extractor     to apply on each document (non-null)
+     * @param keyFunction   to obtain the key of each element (non-null)
+     * @param valueFunction to obtain the value of each element (non-null)
+     * @param windowSize    the number of consecutive keys in each window
+     * @param windows       the number of windows to retain and combine
+     * @param operation     to accumulate and combine values with (non-null)
+     * @param <E>           the type of element extracted
+     * @return a new WindowedReduction
+     * @throws NullPointerException     if any objects provided are {@code null}.
+     * @throws IllegalArgumentException if the windowSize or windows are not positive
+     */
+    public static <E> WindowedReduction<E> windowed(@NotNull final DocumentExtractor<E> extractor,
+                                                    @NotNull final ToLongFunction<? super E> keyFunction,
+                                                    @NotNull final ToLongFunction<? super E> valueFunction,
+                                                    final long windowSize,
+                                                    final int windows,
+                                                    @NotNull final WindowedReduction.Operation operation) {
+        requireNonNull(keyFunction);
+        return new WindowedReduction<>(extractor, keyFunction, valueFunction, windowSize, windows, operation);
+    }
+
+    /**
+     * Creates and returns a new Reduction of the values of the elements extracted using the provided
+     * {@code extractor} in the last {@code windows} windows of {@code windowSize} consecutive excerpt indices.
+     *
+     * @param extractor     to apply on each document (non-null)
+     * @param valueFunction to obtain the value of each element (non-null)
+     * @param windowSize    the number of consecutive indices in each window
+     * @param windows       the number of windows to retain and combine
+     * @param operation     to accumulate and combine values with (non-null)
+     * @param <E>           the type of element extracted
+     * @return a new WindowedReduction
+     * @throws NullPointerException     if any objects provided are {@code null}.
+     * @throws IllegalArgumentException if the windowSize or windows are not positive
+     * @see #windowed(DocumentExtractor, ToLongFunction, ToLongFunction, long, int, WindowedReduction.Operation)
+     */
+    public static <E> WindowedReduction<E> windowedByIndex(@NotNull final DocumentExtractor<E> extractor,
+                                                           @NotNull final ToLongFunction<? super E> valueFunction,
+                                                           final long windowSize,
+                                                           final int windows,
+                                                           @NotNull final WindowedReduction.Operation operation) {
+        return new WindowedReduction<>(extractor, null, valueFunction, windowSize, windows, operation);
+    }
+
     /**
      * Creates and returns a new Reduction that will count the number of excerpts.
      * <p>
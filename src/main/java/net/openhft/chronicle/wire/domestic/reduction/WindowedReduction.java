@@ -0,0 +1,224 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire.domestic.reduction;
+
+import net.openhft.chronicle.core.io.IORuntimeException;
+import net.openhft.chronicle.core.io.InvalidMarshallableException;
+import net.openhft.chronicle.wire.SelfDescribingMarshallable;
+import net.openhft.chronicle.wire.Wire;
+import net.openhft.chronicle.wire.WireIn;
+import net.openhft.chronicle.wire.WireOut;
+import net.openhft.chronicle.wire.domestic.extractor.DocumentExtractor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+import static net.openhft.chronicle.core.util.ObjectUtils.requireNonNull;
+
+/**
+ * A Reduction of the long values of the elements extracted in the last few windows of a key, such as a timestamp
+ * or the index of the excerpt.
+ * <p>
+ * Each window covers {@code windowSize} consecutive keys and has its own value, held in a ring of
+ * {@code windows} slots. The reduction is the combination of the windows which are no more than {@code windows - 1}
+ * windows older than the latest key seen, so one window is a tumbling window and more than one is a sliding window.
+ * A window is evicted by resetting its slot when a later window reuses it, so this doesn't create any objects
+ * per excerpt. Elements older than the windows retained are ignored.
+ * <p>
+ * The state, including the index of the last excerpt seen, is {@link net.openhft.chronicle.wire.Marshallable},
+ * so a snapshot can be written, and later read into a new WindowedReduction with the same extractor, e.g.
+ * <pre>{@code
+ * WindowedReduction<MarketData> restored = Reductions.windowed(extractor, MarketData::time, md -> 1, 60_000, 5, Operation.COUNT);
+ * restored.readMarshallable(snapshotWire);
+ * tailer.moveToIndex(restored.lastIndex() + 1);
+ * restored.accept(tailer);
+ * }</pre>
+ * resuming from the snapshot rather than reading the whole source again.
+ *
+ * @param <E> the type of element extracted
+ */
+public final class WindowedReduction<E> extends SelfDescribingMarshallable implements Reduction<LongSupplier> {
+
+    private final transient DocumentExtractor<E> extractor;
+    // null to use the index of the excerpt as the key
+    private final transient ToLongFunction<? super E> keyFunction;
+    private final transient ToLongFunction<? super E> valueFunction;
+
+    private long windowSize;
+    private Operation operation;
+    // the window number held in each slot, or Long.MIN_VALUE if not used yet
+    private long[] windowNumbers;
+    private long[] values;
+    private long latestWindow = Long.MIN_VALUE;
+    private long lastIndex = -1;
+
+    /**
+     * @param extractor     to apply on each document
+     * @param keyFunction   to obtain the key of an element, or null to use the index of the excerpt
+     * @param valueFunction to obtain the value of an element
+     * @param windowSize    the number of consecutive keys in each window
+     * @param windows       the number of windows to combine in the reduction
+     * @param operation     to accumulate and combine values with
+     */
+    WindowedReduction(@NotNull final DocumentExtractor<E> extractor,
+                      @Nullable final ToLongFunction<? super E> keyFunction,
+                      @NotNull final ToLongFunction<? super E> valueFunction,
+                      final long windowSize,
+                      final int windows,
+                      @NotNull final Operation operation) {
+        if (windowSize <= 0)
+            throw new IllegalArgumentException("windowSize must be positive: " + windowSize);
+        if (windows <= 0)
+            throw new IllegalArgumentException("windows must be positive: " + windows);
+        this.extractor = requireNonNull(extractor);
+        this.keyFunction = keyFunction;
+        this.valueFunction = requireNonNull(valueFunction);
+        this.windowSize = windowSize;
+        this.operation = requireNonNull(operation);
+        this.windowNumbers = new long[windows];
+        this.values = new long[windows];
+        Arrays.fill(windowNumbers, Long.MIN_VALUE);
+    }
+
+    @Override
+    public void onExcerpt(@NotNull Wire wire, long index) throws InvalidMarshallableException {
+        final E element = extractor.extract(wire, index);
+        if (element == null)
+            return;
+        final long key = keyFunction == null ? index : keyFunction.applyAsLong(element);
+        final long value = valueFunction.applyAsLong(element);
+        synchronized (this) {
+            accumulate(key, value);
+            lastIndex = Math.max(lastIndex, index);
+        }
+    }
+
+    private void accumulate(long key, long value) {
+        final long window = Math.floorDiv(key, windowSize);
+        final int windows = values.length;
+        if (latestWindow != Long.MIN_VALUE && window <= latestWindow - windows)
+            return; // already evicted
+        final int slot = (int) Math.floorMod(window, (long) windows);
+        if (windowNumbers[slot] != window) {
+            windowNumbers[slot] = window;
+            values[slot] = operation.identity;
+        }
+        values[slot] = operation.accumulate(values[slot], value);
+        if (window > latestWindow)
+            latestWindow = window;
+    }
+
+    /**
+     * @return a view of the combination of the windows retained, as of when it is called
+     */
+    @NotNull
+    @Override
+    public LongSupplier reduction() {
+        return this::current;
+    }
+
+    private synchronized long current() {
+        long result = operation.identity;
+        final int windows = values.length;
+        for (int i = 0; i < windows; i++) {
+            final long window = windowNumbers[i];
+            if (window != Long.MIN_VALUE && window > latestWindow - windows)
+                result = operation.combine(result, values[i]);
+        }
+        return result;
+    }
+
+    /**
+     * @return the value of the latest window only, or the identity of the operation if nothing has been seen
+     */
+    public synchronized long latestWindowValue() {
+        if (latestWindow == Long.MIN_VALUE)
+            return operation.identity;
+        return values[(int) Math.floorMod(latestWindow, (long) values.length)];
+    }
+
+    /**
+     * @return the first key of the latest window, or Long.MIN_VALUE if nothing has been seen
+     */
+    public synchronized long latestWindowStart() {
+        return latestWindow == Long.MIN_VALUE ? Long.MIN_VALUE : latestWindow * windowSize;
+    }
+
+    /**
+     * @return the highest index of an excerpt seen, or -1 if none
+     */
+    public synchronized long lastIndex() {
+        return lastIndex;
+    }
+
+    @Override
+    public synchronized void writeMarshallable(@NotNull WireOut wire) throws InvalidMarshallableException {
+        super.writeMarshallable(wire);
+    }
+
+    @Override
+    public synchronized void readMarshallable(@NotNull WireIn wire) throws IORuntimeException, InvalidMarshallableException {
+        super.readMarshallable(wire);
+        if (windowNumbers == null || values == null || windowNumbers.length != values.length || values.length == 0)
+            throw new InvalidMarshallableException("windowNumbers and values must have the same, non-zero length");
+    }
+
+    /**
+     * How values are accumulated within a window, and how windows are combined.
+     */
+    public enum Operation {
+        SUM(0),
+        COUNT(0),
+        MIN(Long.MAX_VALUE),
+        MAX(Long.MIN_VALUE);
+
+        final long identity;
+
+        Operation(long identity) {
+            this.identity = identity;
+        }
+
+        long accumulate(long a, long value) {
+            switch (this) {
+                case COUNT:
+                    return a + 1;
+                case MIN:
+                    return Math.min(a, value);
+                case MAX:
+                    return Math.max(a, value);
+                default:
+                    return a + value;
+            }
+        }
+
+        long combine(long a, long b) {
+            switch (this) {
+                case MIN:
+                    return Math.min(a, b);
+                case MAX:
+                    return Math.max(a, b);
+                default:
+                    return a + b;
+            }
+        }
+    }
+}
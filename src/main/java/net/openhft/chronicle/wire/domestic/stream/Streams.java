@@ -26,8 +26,12 @@ import net.openhft.chronicle.wire.internal.stream.StreamsUtil;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Iterator;
+import java.util.List;
 import java.util.PrimitiveIterator;
 import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
 import java.util.stream.DoubleStream;
 import java.util.stream.LongStream;
 import java.util.stream.Stream;
@@ -269,4 +273,96 @@ public final class Streams {
 
         return new StreamsUtil.ExcerptIteratorOfDouble(documentProvider, extractor);
     }
+
+    /**
+     * Reads all the remaining excerpts from the provided {@code documentProvider} into a ring of
+     * {@code batchSize} objects of the given {@code type}, and passes the objects read to the
+     * {@code action} a batch at a time.
+     * <p>
+     * The objects are created once by the {@code supplier} and reused for every batch, so
+     * a scan creates no objects per excerpt and doesn't need a ThreadLocal to find the object to reuse.
+     * The List passed and its elements are only valid until the action returns. The action
+     * is called on the current thread, so it may accumulate into a collector which isn't concurrent.
+     *
+     * @param <T>              the type of elements
+     * @param documentProvider from which excerpts are obtained
+     * @param type             of the objects to read
+     * @param supplier         to create each of the objects in the ring
+     * @param batchSize        the maximum number of elements in each batch
+     * @param action           to call for each batch
+     * @return the index of the last excerpt read, or -1 if there were none
+     * @throws NullPointerException     if any of the provided parameters are {@code null}
+     * @throws IllegalArgumentException if the batchSize is not positive
+     */
+    public static <T> long forEachBatch(@NotNull final MarshallableIn documentProvider,
+                                        @NotNull final Class<T> type,
+                                        @NotNull final Supplier<? extends T> supplier,
+                                        final int batchSize,
+                                        @NotNull final Consumer<? super List<T>> action) {
+        requireNonNull(documentProvider);
+        requireNonNull(type);
+        requireNonNull(supplier);
+        requireNonNull(action);
+        requirePositive(batchSize);
+        return StreamsUtil.forEachBatch(documentProvider, type, supplier, batchSize, action);
+    }
+
+    /**
+     * Extracts a long from each of the remaining excerpts from the provided {@code documentProvider}
+     * into a column of {@code batchSize} values, and passes the column and the number of values in it
+     * to the {@code action} a batch at a time.
+     * <p>
+     * Excerpts for which the extractor returns {@link Long#MIN_VALUE} are skipped. The array is
+     * reused for every batch, so it is only valid until the action returns.
+     *
+     * @param documentProvider from which excerpts are obtained
+     * @param extractor        used to extract a long from each excerpt
+     * @param batchSize        the maximum number of values in each batch
+     * @param action           to call with the values and the number of values for each batch
+     * @return the index of the last excerpt read, or -1 if there were none
+     * @throws NullPointerException     if any of the provided parameters are {@code null}
+     * @throws IllegalArgumentException if the batchSize is not positive
+     */
+    public static long forEachBatchOfLong(@NotNull final MarshallableIn documentProvider,
+                                          @NotNull final ToLongDocumentExtractor extractor,
+                                          final int batchSize,
+                                          @NotNull final ObjIntConsumer<long[]> action) {
+        requireNonNull(documentProvider);
+        requireNonNull(extractor);
+        requireNonNull(action);
+        requirePositive(batchSize);
+        return StreamsUtil.forEachBatchOfLong(documentProvider, extractor, batchSize, action);
+    }
+
+    /**
+     * Extracts a double from each of the remaining excerpts from the provided {@code documentProvider}
+     * into a column of {@code batchSize} values, and passes the column and the number of values in it
+     * to the {@code action} a batch at a time.
+     * <p>
+     * Excerpts for which the extractor returns {@link Double#NaN} are skipped. The array is
+     * reused for every batch, so it is only valid until the action returns.
+     *
+     * @param documentProvider from which excerpts are obtained
+     * @param extractor        used to extract a double from each excerpt
+     * @param batchSize        the maximum number of values in each batch
+     * @param action           to call with the values and the number of values for each batch
+     * @return the index of the last excerpt read, or -1 if there were none
+     * @throws NullPointerException     if any of the provided parameters are {@code null}
+     * @throws IllegalArgumentException if the batchSize is not positive
+     */
+    public static long forEachBatchOfDouble(@NotNull final MarshallableIn documentProvider,
+                                            @NotNull final ToDoubleDocumentExtractor extractor,
+                                            final int batchSize,
+                                            @NotNull final ObjIntConsumer<double[]> action) {
+        requireNonNull(documentProvider);
+        requireNonNull(extractor);
+        requireNonNull(action);
+        requirePositive(batchSize);
+        return StreamsUtil.forEachBatchOfDouble(documentProvider, extractor, batchSize, action);
+    }
+
+    private static void requirePositive(final int batchSize) {
+        if (batchSize <= 0)
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+    }
 }
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire.internal;
+
+import net.openhft.chronicle.bytes.ByteStringAppender;
+import net.openhft.chronicle.bytes.BytesIn;
+
+/**
+ * Fast paths for converting doubles to and from text, for the text wires.
+ * <p>
+ * {@link #parseDouble(BytesIn)} converts a plain decimal of up to 15 significant digits, and a power of ten
+ * of no more than 22, with a single exact multiplication or division, which is correctly rounded.
+ * This covers most prices and quantities. Anything else is left to {@code BytesIn.parseDouble()}.
+ * <p>
+ * {@link #appendFixed(ByteStringAppender, double, int)} appends a double rounded to a number of decimal places
+ * using long arithmetic only.
+ */
+public final class FastDoubles {
+
+    // The largest number of decimal places appendFixed supports
+    public static final int MAX_DECIMAL_PLACES = 15;
+
+    // Significant digits which always fit in the 53-bit mantissa of a double
+    private static final int MAX_DIGITS = 15;
+    // Powers of ten which are exact as doubles
+    private static final int MAX_EXACT_POWER = 22;
+    private static final double[] POW10 = new double[MAX_EXACT_POWER + 1];
+    private static final long[] LONG_POW10 = new long[MAX_DECIMAL_PLACES + 1];
+    // Scaled values below this are exact as a long and as a double
+    private static final double MAX_SCALED = 1L << 53;
+
+    static {
+        double d = 1;
+        for (int i = 0; i <= MAX_EXACT_POWER; i++, d *= 10)
+            POW10[i] = d;
+        long l = 1;
+        for (int i = 0; i <= MAX_DECIMAL_PLACES; i++, l *= 10)
+            LONG_POW10[i] = l;
+    }
+
+    private FastDoubles() {
+    }
+
+    /**
+     * Parses a double from the read position, in the same way as {@code bytes.parseDouble()} i.e. the byte after
+     * the number is also read.
+     *
+     * @param bytes to read from
+     * @return the value
+     */
+    public static double parseDouble(BytesIn<?> bytes) {
+        final double d = parseSimple(bytes);
+        return Double.isNaN(d) ? bytes.parseDouble() : d;
+    }
+
+    /**
+     * Parses a plain decimal which can be converted exactly, and the byte after it.
+     *
+     * @return the value, or NaN having read nothing, if the text isn't such a decimal
+     */
+    private static double parseSimple(BytesIn<?> bytes) {
+        final long limit = bytes.readLimit();
+        long pos = bytes.readPosition();
+        if (pos >= limit)
+            return Double.NaN;
+        int ch = bytes.peekUnsignedByte(pos);
+        final boolean negative = ch == '-';
+        if (negative) {
+            if (++pos >= limit)
+                return Double.NaN;
+            ch = bytes.peekUnsignedByte(pos);
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean hasDigits = false;
+        boolean hasPoint = false;
+        for (; ; ) {
+            if (ch >= '0' && ch <= '9') {
+                hasDigits = true;
+                if (mantissa != 0 || ch != '0') {
+                    if (++digits > MAX_DIGITS)
+                        return Double.NaN;
+                    mantissa = mantissa * 10 + (ch - '0');
+                }
+                if (hasPoint)
+                    scale++;
+            } else if (ch == '.' && !hasPoint) {
+                hasPoint = true;
+            } else {
+                break;
+            }
+            if (++pos >= limit) {
+                ch = -1;
+                break;
+            }
+            ch = bytes.peekUnsignedByte(pos);
+        }
+        if (!hasDigits)
+            return Double.NaN;
+
+        int exponent = 0;
+        if (ch == 'e' || ch == 'E') {
+            if (++pos >= limit)
+                return Double.NaN;
+            ch = bytes.peekUnsignedByte(pos);
+            final boolean negativeExponent = ch == '-';
+            if (negativeExponent || ch == '+') {
+                if (++pos >= limit)
+                    return Double.NaN;
+                ch = bytes.peekUnsignedByte(pos);
+            }
+            int expDigits = 0;
+            while (ch >= '0' && ch <= '9') {
+                if (++expDigits > 3)
+                    return Double.NaN;
+                exponent = exponent * 10 + (ch - '0');
+                if (++pos >= limit) {
+                    ch = -1;
+                    break;
+                }
+                ch = bytes.peekUnsignedByte(pos);
+            }
+            if (expDigits == 0)
+                return Double.NaN;
+            if (negativeExponent)
+                exponent = -exponent;
+        }
+        if (ch >= 0) {
+            if (!isTerminator(ch))
+                return Double.NaN;
+            pos++;
+        }
+
+        final int power = exponent - scale;
+        final double value;
+        if (mantissa == 0) {
+            // leave -0.0 to the general parser
+            if (negative)
+                return Double.NaN;
+            value = 0.0;
+        } else if (power >= 0 && power <= MAX_EXACT_POWER) {
+            value = mantissa * POW10[power];
+        } else if (power < 0 && power >= -MAX_EXACT_POWER) {
+            value = mantissa / POW10[-power];
+        } else {
+            return Double.NaN;
+        }
+        bytes.readPosition(pos);
+        return negative ? -value : value;
+    }
+
+    private static boolean isTerminator(int ch) {
+        switch (ch) {
+            case ' ':
+            case '\t':
+            case '\r':
+            case '\n':
+            case ',':
+            case ':':
+            case '#':
+            case '}':
+            case ']':
+            case ')':
+            case '"':
+            case '\'':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Appends a double rounded half up to a number of decimal places, without trailing zeros, but with at least one
+     * decimal place, e.g. 1.0, 0.25 or -12.125
+     *
+     * @param bytes         to append to
+     * @param d             the value
+     * @param decimalPlaces at most, from 0 to {@link #MAX_DECIMAL_PLACES}
+     * @return false, having appended nothing, if the value isn't finite, or is too large to scale exactly
+     */
+    public static boolean appendFixed(ByteStringAppender<?> bytes, double d, int decimalPlaces) {
+        final double scaled = Math.abs(d) * POW10[decimalPlaces];
+        if (!(scaled < MAX_SCALED))
+            return false;
+        final long units = Math.round(scaled);
+        if (d < 0 && units != 0)
+            bytes.append('-');
+        final long factor = LONG_POW10[decimalPlaces];
+        bytes.append(units / factor);
+        bytes.append('.');
+        long fraction = units % factor;
+        if (fraction == 0) {
+            bytes.append('0');
+            return true;
+        }
+        int places = decimalPlaces;
+        while (fraction % 10 == 0) {
+            fraction /= 10;
+            places--;
+        }
+        for (long f = LONG_POW10[places - 1]; fraction < f; f /= 10)
+            bytes.append('0');
+        bytes.append(fraction);
+        return true;
+    }
+}
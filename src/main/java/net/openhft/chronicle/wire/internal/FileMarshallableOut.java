@@ -92,11 +92,7 @@ public class FileMarshallableOut implements MarshallableOut {
         assert url.getProtocol().equals("file"); // Ensure the protocol is "file"
 
         // If there's a query in the URL, parse and set the options
-        final String query = url.getQuery();
-        if (query != null) {
-            QueryWire queryWire = new QueryWire(Bytes.from(query));
-            options.readMarshallable(queryWire);
-        }
+        readOptions(url, options);
 
         // Initialize the wire with appropriate memory allocation
         this.wire = wireType.apply(Bytes.allocateElasticOnHeap());
@@ -121,11 +117,43 @@ public class FileMarshallableOut implements MarshallableOut {
             dc.rollbackIfNotComplete();
     }
 
+    /**
+     * Determines whether the query of a file URL selects the memory-mapped append mode
+     * i.e. {@code ?mapped=true}, in which case a {@link MappedFileMarshallableOut} is used.
+     *
+     * @param url the file URL
+     * @return true if the mapped mode is selected
+     * @throws InvalidMarshallableException if the query can't be parsed
+     */
+    public static boolean mapped(URL url) throws InvalidMarshallableException {
+        return readOptions(url, new FMOOptions()).mapped;
+    }
+
+    /**
+     * Reads the options, if any, in the query of the URL.
+     *
+     * @param url     the file URL
+     * @param options to read into
+     * @return the options
+     */
+    static FMOOptions readOptions(URL url, FMOOptions options) throws InvalidMarshallableException {
+        final String query = url.getQuery();
+        if (query != null) {
+            QueryWire queryWire = new QueryWire(Bytes.from(query));
+            options.readMarshallable(queryWire);
+        }
+        return options;
+    }
+
     /**
      * The FMOOptions class encapsulates configuration options specific to the FileMarshallableOut class.
-     * Currently, it includes options for controlling file append behavior.
+     * It includes options for controlling file append behavior, and for the memory-mapped append mode.
      */
     static class FMOOptions extends SelfDescribingMarshallable {
         boolean append; // Indicates if data should be appended to the existing file
+        boolean mapped; // Keep a memory-mapped log of size-prefixed documents open
+        long chunkSize = 64 << 20; // When mapped, the file grows and is mapped this many bytes at a time
+        int syncEvery; // When mapped, force to disk every this many documents, 0 for no limit
+        long syncMicros; // When mapped, force to disk at most this many micro-seconds after writing, 0 for no limit
     }
 }
@@ -22,12 +22,18 @@ import net.openhft.chronicle.bytes.Bytes;
 import net.openhft.chronicle.core.Jvm;
 import net.openhft.chronicle.core.io.Closeable;
 import net.openhft.chronicle.core.io.IORuntimeException;
+import net.openhft.chronicle.threads.NamedThreadFactory;
 import net.openhft.chronicle.wire.*;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static net.openhft.chronicle.bytes.Bytes.allocateElasticOnHeap;
 
@@ -37,9 +43,20 @@ import static net.openhft.chronicle.bytes.Bytes.allocateElasticOnHeap;
  * <p>
  * The class encapsulates a {@link Wire} which holds the serialized representation. On closure of a document context,
  * the serialized content is posted to the given URL.
+ * <p>
+ * Connections are kept alive between POSTs. The builder can also set
+ * <ul>
+ *     <li>{@link MarshallableOutBuilder#batchBytes(int)} to send many documents in one POST, newline delimited for text
+ *     and size-prefixed for binary, once there are this many bytes to send</li>
+ *     <li>{@link MarshallableOutBuilder#batchMicros(long)} to send a batch once its first document is this old,
+ *     checked when a document is written, or {@link #flush()} can be called</li>
+ *     <li>{@link MarshallableOutBuilder#maxInFlight(int)} to POST from a background thread, so the writer only waits
+ *     when this many batches are waiting for a response. A failure is thrown by the next call to write or flush</li>
+ * </ul>
+ * Any documents not sent yet are sent by {@link #close()}.
  */
 @SuppressWarnings("this-escape")
-public class HTTPMarshallableOut implements MarshallableOut {
+public class HTTPMarshallableOut implements MarshallableOut, Closeable {
 
     // The target URL to which serialized data is posted
     private final URL url;
@@ -47,6 +64,23 @@ public class HTTPMarshallableOut implements MarshallableOut {
     // The encapsulated Wire object for serialization
     private final Wire wire;
 
+    // The number of bytes, and the age, a batch can reach before it is sent
+    private final int batchBytes;
+    private final long batchNS;
+
+    // Buffers not in flight, and the thread to post them, when asynchronous
+    private final BlockingQueue<Bytes<byte[]>> freeBuffers;
+    private final ExecutorService sender;
+    private final int maxInFlight;
+    private volatile Throwable failure;
+
+    // For discarding the body of a response
+    private final byte[] discard = new byte[256];
+
+    // When the first document in the current batch was written
+    private long batchStartNS;
+    private boolean closed;
+
     // Document context holder for managing the wire and the HTTP communication
     private final DocumentContextHolder dcHolder = new DocumentContextHolder() {
 
@@ -60,34 +94,12 @@ public class HTTPMarshallableOut implements MarshallableOut {
                 return;
             if (wire.bytes().isEmpty())
                 return;
-            try {
-                final HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-                conn.setDoOutput(true);
-                conn.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
-                conn.setRequestMethod("POST");
-
-                try {
-                    endWire();
-                    try (final OutputStream out = conn.getOutputStream()) {
-                        final Bytes<byte[]> bytes = Jvm.uncheckedCast(wire.bytes());
-                        final byte[] b = bytes.underlyingObject();
-                        assert b != null;
-                        out.write(b, 0, (int) bytes.readLimit());
-                    }
-
-                    final int responseCode = conn.getResponseCode();
-                    if (responseCode < 200 || responseCode >= 300)
-                        throw new IORuntimeException("ResponseCode: " + responseCode);
-
-                    Closeable.closeQuietly(conn.getInputStream());
-                    Closeable.closeQuietly(conn.getErrorStream());
-                } finally {
-                    Closeable.closeQuietly(conn);
-                }
-            } catch (IOException ioe) {
-                throw new IORuntimeException(ioe);
-            }
-            startWire();
+            endWire();
+            if (batchStartNS == 0)
+                batchStartNS = System.nanoTime();
+            if (wire.bytes().readRemaining() >= batchBytes
+                    || (batchNS > 0 && System.nanoTime() - batchStartNS >= batchNS))
+                flush();
         }
     };
 
@@ -105,12 +117,26 @@ public class HTTPMarshallableOut implements MarshallableOut {
         else
             this.wire = wireType.apply(allocateElasticOnHeap());
 
+        this.batchBytes = builder.batchBytes();
+        this.batchNS = builder.batchMicros() * 1000;
+        this.maxInFlight = builder.maxInFlight();
+        if (maxInFlight > 0) {
+            freeBuffers = new ArrayBlockingQueue<>(maxInFlight);
+            for (int i = 0; i < maxInFlight; i++)
+                freeBuffers.add(allocateElasticOnHeap());
+            sender = Executors.newSingleThreadExecutor(new NamedThreadFactory("http-out", true));
+        } else {
+            freeBuffers = null;
+            sender = null;
+        }
+
         startWire();
     }
 
     // Method for resetting the wire state
     void startWire() {
         wire.clear();
+        batchStartNS = 0;
     }
 
     // Method for finalizing the wire content
@@ -122,8 +148,96 @@ public class HTTPMarshallableOut implements MarshallableOut {
         }
     }
 
+    /**
+     * Sends the documents written but not sent yet, and when asynchronous, doesn't wait for the response.
+     *
+     * @throws IORuntimeException if this or an earlier POST failed
+     */
+    public void flush() {
+        throwIfFailed();
+        if (wire.bytes().isEmpty())
+            return;
+        final Bytes<byte[]> bytes = Jvm.uncheckedCast(wire.bytes());
+        if (sender == null) {
+            post(bytes);
+        } else {
+            final Bytes<byte[]> buffer = acquireBuffer();
+            buffer.clear().write(bytes);
+            sender.execute(() -> {
+                try {
+                    if (failure == null)
+                        post(buffer);
+                } catch (Throwable t) {
+                    failure = t;
+                } finally {
+                    freeBuffers.add(buffer);
+                }
+            });
+        }
+        startWire();
+    }
+
+    // Waits for a buffer which isn't in flight
+    private Bytes<byte[]> acquireBuffer() {
+        try {
+            return freeBuffers.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IORuntimeException(e);
+        }
+    }
+
+    private void throwIfFailed() {
+        final Throwable t = failure;
+        if (t != null)
+            throw t instanceof IORuntimeException ? (IORuntimeException) t : new IORuntimeException(t);
+    }
+
+    // Posts the bytes, reading the response so the connection can be kept alive
+    private void post(Bytes<byte[]> bytes) {
+        try {
+            final HttpURLConnection conn = (HttpURLConnection) url.openConnection();
+            conn.setDoOutput(true);
+            conn.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
+            conn.setRequestMethod("POST");
+
+            final int length = (int) bytes.readRemaining();
+            conn.setFixedLengthStreamingMode(length);
+            try (final OutputStream out = conn.getOutputStream()) {
+                final byte[] b = bytes.underlyingObject();
+                assert b != null;
+                out.write(b, (int) bytes.readPosition(), length);
+            }
+
+            final int responseCode = conn.getResponseCode();
+            if (responseCode < 200 || responseCode >= 300) {
+                // the error body is read too, or the connection is dropped rather than kept alive
+                try (InputStream err = conn.getErrorStream()) {
+                    discardBody(err);
+                }
+                throw new IORuntimeException("ResponseCode: " + responseCode);
+            }
+            // closing the stream once read returns the connection to the keep-alive cache, unlike disconnect()
+            try (InputStream in = conn.getInputStream()) {
+                discardBody(in);
+            }
+        } catch (IOException ioe) {
+            throw new IORuntimeException(ioe);
+        }
+    }
+
+    // Reads a response body to the end, whatever its content length, as a chunked body has none
+    private void discardBody(InputStream in) throws IOException {
+        if (in == null)
+            return;
+        while (in.read(discard) >= 0) {
+            // discard the body
+        }
+    }
+
     @Override
     public DocumentContext writingDocument(boolean metaData) throws UnrecoverableTimeoutException {
+        throwIfFailed();
         dcHolder.documentContext(wire.writingDocument(metaData));
         return dcHolder;
     }
@@ -133,4 +247,33 @@ public class HTTPMarshallableOut implements MarshallableOut {
         dcHolder.documentContext(wire.acquireWritingDocument(metaData));
         return dcHolder;
     }
+
+    /**
+     * Sends any documents not sent yet and, when asynchronous, waits for every POST to complete.
+     *
+     * @throws IORuntimeException if a POST failed
+     */
+    @Override
+    public void close() {
+        if (closed)
+            return;
+        closed = true;
+        try {
+            flush();
+            if (sender != null) {
+                // all the buffers are free once nothing is in flight
+                for (int i = 0; i < maxInFlight; i++)
+                    acquireBuffer();
+                throwIfFailed();
+            }
+        } finally {
+            if (sender != null)
+                sender.shutdown();
+        }
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
 }
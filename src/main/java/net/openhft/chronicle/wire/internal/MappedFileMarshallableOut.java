@@ -0,0 +1,322 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire.internal;
+
+import net.openhft.chronicle.bytes.BytesUtil;
+import net.openhft.chronicle.bytes.MappedBytes;
+import net.openhft.chronicle.bytes.MappedBytesStore;
+import net.openhft.chronicle.bytes.MappedFile;
+import net.openhft.chronicle.core.io.AbstractCloseable;
+import net.openhft.chronicle.core.io.IORuntimeException;
+import net.openhft.chronicle.core.io.InvalidMarshallableException;
+import net.openhft.chronicle.threads.NamedThreadFactory;
+import net.openhft.chronicle.wire.*;
+import net.openhft.chronicle.wire.domestic.InternalWire;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.net.URL;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A MarshallableOut which appends to a memory-mapped file of size-prefixed documents, selected with a
+ * {@code file:} URL with the query {@code ?mapped=true}.
+ * <p>
+ * The file is kept open and each document is written in place, using the header protocol of the wire,
+ * so a {@link MappedFileMarshallableIn} can tail the file while it is written. A document is only visible to
+ * readers once it is complete. Opening an existing file appends after the documents already in it.
+ * <p>
+ * Documents are forced to disk every {@code syncEvery} documents and/or at most {@code syncMicros} after they are
+ * written, by a background thread if no more are written, and when this is closed. Otherwise writing back to disk is
+ * left to the OS. The file grows as it is written, mapped in chunks of {@code chunkSize}, 64 MiB by default, and only
+ * one writer should append to a file at a time.
+ */
+public class MappedFileMarshallableOut extends AbstractCloseable implements MarshallableOut {
+
+    private final FileMarshallableOut.FMOOptions options = new FileMarshallableOut.FMOOptions();
+    private final MappedBytes bytes;
+    private final MappedFile mappedFile;
+    private final Wire wire;
+    private final MappedDocumentContext context = new MappedDocumentContext();
+    // forces documents written, but not synced, once syncMicros has passed, null if not used
+    private final ScheduledExecutorService syncer;
+    // the end of the last complete document, set by the writer
+    private volatile long committed;
+    private int unsynced;
+    // guarded by this
+    private long syncedUpTo;
+
+    /**
+     * Constructs an instance of MappedFileMarshallableOut using the provided builder and WireType.
+     *
+     * @param builder  The builder containing configuration details
+     * @param wireType The binary WireType to write documents with
+     * @throws InvalidMarshallableException if the options in the URL are invalid
+     */
+    public MappedFileMarshallableOut(MarshallableOutBuilder builder, WireType wireType) throws InvalidMarshallableException {
+        final URL url = builder.url();
+        assert url.getProtocol().equals("file");
+        FileMarshallableOut.readOptions(url, options);
+        if (options.chunkSize <= 0 || options.syncEvery < 0 || options.syncMicros < 0)
+            throw new IllegalArgumentException("Invalid options " + options);
+
+        try {
+            bytes = MappedBytes.mappedBytes(new File(url.getPath()), options.chunkSize);
+        } catch (IOException ioe) {
+            throw new IORuntimeException(ioe);
+        }
+        mappedFile = bytes.mappedFile();
+        wire = wireType.apply(bytes);
+        // keeps each header aligned so it can be updated atomically
+        wire.usePadding(true);
+
+        // a new file starts with a meta data header, as a document header can't be at position 0
+        if (wire.writeFirstHeader())
+            wire.updateFirstHeader();
+        skipToEnd();
+        committed = syncedUpTo = bytes.writePosition();
+        if (options.syncMicros > 0) {
+            syncer = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("mapped-file-sync", true));
+            syncer.scheduleAtFixedRate(this::syncIfDue, options.syncMicros, options.syncMicros, TimeUnit.MICROSECONDS);
+        } else {
+            syncer = null;
+        }
+    }
+
+    /**
+     * Moves the write position after the complete documents already in the file, so appending starts there.
+     */
+    private void skipToEnd() {
+        long pos = 0;
+        for (; ; ) {
+            pos += BytesUtil.padOffset(pos);
+            final int header = bytes.readVolatileInt(pos);
+            if (header == Wires.NOT_INITIALIZED || Wires.isNotComplete(header))
+                break;
+            pos += Wires.lengthOf(header) + Wires.SPB_HEADER_SIZE;
+        }
+        bytes.writePosition(pos);
+    }
+
+    @Override
+    public DocumentContext writingDocument(boolean metaData) throws UnrecoverableTimeoutException {
+        context.start(metaData);
+        return context;
+    }
+
+    @Override
+    public DocumentContext acquireWritingDocument(boolean metaData) throws UnrecoverableTimeoutException {
+        if (context.isOpen() && context.chainedElement())
+            return context;
+        return writingDocument(metaData);
+    }
+
+    @Override
+    public void rollbackIfNotComplete() {
+        context.rollbackIfNotComplete();
+    }
+
+    /**
+     * Forces the documents written since the last sync to disk.
+     */
+    public synchronized void sync() {
+        final long end = committed;
+        // each chunk the documents were written to
+        for (long pos = syncedUpTo; pos < end; ) {
+            final MappedBytesStore store = mappedFile.acquireByteStore(this, pos);
+            try {
+                final long chunkEnd = store.start() + mappedFile.chunkSize();
+                store.syncUpTo(Math.min(end, chunkEnd));
+                pos = chunkEnd;
+            } finally {
+                store.release(this);
+            }
+        }
+        syncedUpTo = end;
+    }
+
+    // called by the syncer, so documents aren't left unsynced when no more are written
+    private synchronized void syncIfDue() {
+        if (committed > syncedUpTo)
+            sync();
+    }
+
+    /**
+     * @return the position up to which documents have been forced to disk
+     */
+    public synchronized long syncedPosition() {
+        return syncedUpTo;
+    }
+
+    /**
+     * @return the position after the last complete document written
+     */
+    public long writePosition() {
+        return committed;
+    }
+
+    private void afterDocument() {
+        committed = bytes.writePosition();
+        unsynced++;
+        if (options.syncEvery > 0 && unsynced >= options.syncEvery) {
+            unsynced = 0;
+            sync();
+        }
+    }
+
+    @Override
+    protected void performClose() {
+        if (syncer != null) {
+            syncer.shutdownNow();
+            try {
+                syncer.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        context.rollbackIfNotComplete();
+        sync();
+        bytes.releaseLast();
+    }
+
+    /**
+     * Writes a document in place, the header is zero while it is written and set to the length once complete.
+     */
+    private final class MappedDocumentContext implements WriteDocumentContext {
+        private int count;
+        private long position;
+        private boolean metaData;
+        private boolean notComplete;
+        private boolean rollback;
+        private boolean chainedElement;
+
+        @Override
+        public void start(boolean metaData) {
+            count++;
+            if (count > 1) {
+                assert metaData == this.metaData;
+                return;
+            }
+            throwExceptionIfClosed();
+            // the file grows as needed
+            position = wire.enterHeader(Wires.LENGTH_MASK);
+            this.metaData = metaData;
+            notComplete = true;
+            rollback = false;
+            chainedElement = false;
+        }
+
+        @Override
+        public void close() {
+            if (chainedElement)
+                return;
+            if (count == 0)
+                return;
+            count--;
+            if (count > 0)
+                return;
+            notComplete = false;
+            if (rollback) {
+                bytes.zeroOut(position, bytes.writePosition());
+                bytes.writePosition(position);
+                bytes.writeLimit(bytes.capacity());
+                ((InternalWire) wire).forceNotInsideHeader();
+                return;
+            }
+            try {
+                wire.updateHeader(position, metaData, 0);
+            } catch (StreamCorruptedException e) {
+                throw new IORuntimeException(e);
+            }
+            wire.getValueOut().resetBetweenDocuments();
+            afterDocument();
+        }
+
+        @Override
+        public void rollbackIfNotComplete() {
+            if (!notComplete)
+                return;
+            chainedElement = false;
+            count = 1;
+            rollback = true;
+            close();
+        }
+
+        @Override
+        public void rollbackOnClose() {
+            rollback = true;
+        }
+
+        @Override
+        public void reset() {
+            chainedElement = false;
+            if (count > 0)
+                close();
+            count = 0;
+        }
+
+        @Override
+        public boolean chainedElement() {
+            return chainedElement;
+        }
+
+        @Override
+        public void chainedElement(boolean chainedElement) {
+            this.chainedElement = chainedElement;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return notComplete && bytes.writePosition() == position + Wires.SPB_HEADER_SIZE;
+        }
+
+        @Override
+        public boolean isMetaData() {
+            return metaData;
+        }
+
+        @Override
+        public boolean isPresent() {
+            return false;
+        }
+
+        @Override
+        public Wire wire() {
+            return wire;
+        }
+
+        @Override
+        public boolean isNotComplete() {
+            return notComplete;
+        }
+
+        @Override
+        public long index() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int sourceId() {
+            return -1;
+        }
+    }
+}
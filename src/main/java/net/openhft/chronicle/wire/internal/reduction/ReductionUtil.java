@@ -19,6 +19,7 @@
 package net.openhft.chronicle.wire.internal.reduction;
 
 import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.Maths;
 import net.openhft.chronicle.core.io.InvalidMarshallableException;
 import net.openhft.chronicle.core.util.ObjectUtils;
 import net.openhft.chronicle.wire.DocumentContext;
@@ -31,6 +32,10 @@ import net.openhft.chronicle.wire.domestic.extractor.ToLongDocumentExtractor;
 import net.openhft.chronicle.wire.domestic.reduction.Reduction;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.function.*;
 import java.util.stream.Collector;
 
@@ -138,6 +143,184 @@ public final class ReductionUtil {
         }
     }
 
+    /**
+     * @return the number of stripes to use for partial results, a power of two at least the number of processors
+     */
+    public static int stripes() {
+        return Maths.nextPower2(Runtime.getRuntime().availableProcessors(), 1);
+    }
+
+    /**
+     * @param mask one less than the number of stripes
+     * @return the stripe for the current thread
+     */
+    public static int stripe(final int mask) {
+        // spread the thread ids, which are usually sequential
+        final long h = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32) & mask;
+    }
+
+    /**
+     * The StripedCollectorReduction class adds the elements extracted to one of a number of lists, chosen by the
+     * thread, so many threads can add elements with little contention. Each list is guarded by its own lock.
+     * When the reduction is read, the elements added to each list are moved to the elements kept from earlier reads,
+     * in the order they were added, and all the elements kept are accumulated into a new container from the
+     * collector's supplier, which is then finished. No container is shared between two results, or with this
+     * reduction, so the collector can have nested mutable containers, e.g. {@code groupingBy(f, toList())}.
+     * Each read costs as much as accumulating all the elements extracted so far, and every element is kept.
+     *
+     * @param <E> Type of the element to extract.
+     * @param <A> Intermediate accumulation type of the collector.
+     * @param <R> Result type of the reduction.
+     */
+    public static final class StripedCollectorReduction<E, A, R> implements Reduction<R> {
+
+        private final DocumentExtractor<E> extractor;
+        private final Collector<E, A, ? extends R> collector;
+        private final Object[] locks;
+        private final List<E>[] added;
+        private final int mask;
+        // the elements moved from the stripes so far, in the order read, guarded by this
+        private final List<E> elements = new ArrayList<>();
+
+        /**
+         * Initializes a new instance of StripedCollectorReduction with the provided extractor and collector.
+         *
+         * @param extractor The extractor to fetch elements from a wire.
+         * @param collector The collector to accumulate the elements.
+         */
+        public StripedCollectorReduction(@NotNull final DocumentExtractor<E> extractor,
+                                         @NotNull final Collector<E, A, ? extends R> collector) {
+            this(extractor, collector, stripes());
+        }
+
+        /**
+         * @param extractor The extractor to fetch elements from a wire.
+         * @param collector The collector to accumulate the elements.
+         * @param stripes   The number of lists the elements are added to, a power of two.
+         */
+        @SuppressWarnings("unchecked")
+        public StripedCollectorReduction(@NotNull final DocumentExtractor<E> extractor,
+                                         @NotNull final Collector<E, A, ? extends R> collector,
+                                         final int stripes) {
+            if (stripes <= 0 || (stripes & (stripes - 1)) != 0)
+                throw new IllegalArgumentException("stripes must be a power of two, was " + stripes);
+            this.extractor = requireNonNull(extractor);
+            this.collector = requireNonNull(collector);
+            this.locks = new Object[stripes];
+            this.added = new List[stripes];
+            this.mask = stripes - 1;
+            for (int i = 0; i < stripes; i++) {
+                locks[i] = new Object();
+                added[i] = new ArrayList<>();
+            }
+        }
+
+        @Override
+        public void onExcerpt(@NotNull Wire wire, long index) throws InvalidMarshallableException {
+            final E element = extractor.extract(wire, index);
+            if (element != null) {
+                final int stripe = stripe(mask);
+                synchronized (locks[stripe]) {
+                    added[stripe].add(element);
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        @NotNull
+        @Override
+        public synchronized R reduction() {
+            for (int i = 0; i < added.length; i++) {
+                synchronized (locks[i]) {
+                    elements.addAll(added[i]);
+                    added[i].clear();
+                }
+            }
+
+            // a new container each time, so nothing in a result returned is changed by a later read
+            final A accumulation = collector.supplier().get();
+            final BiConsumer<A, ? super E> accumulator = collector.accumulator();
+            for (int i = 0; i < elements.size(); i++)
+                accumulator.accept(accumulation, elements.get(i));
+            if (collector.characteristics().contains(Collector.Characteristics.IDENTITY_FINISH)) {
+                return (R) accumulation;
+            }
+            return collector.finisher().apply(accumulation);
+        }
+
+        @Override
+        public long accept(@NotNull final MarshallableIn tailer) throws InvalidMarshallableException {
+            requireNonNull(tailer);
+            return ReductionUtil.accept(tailer, this);
+        }
+    }
+
+    /**
+     * The StripedLongHistogram class counts the long values extracted from documents into buckets, with a row of
+     * counters per stripe so threads on different stripes don't update the same cache lines.
+     * It doesn't create any objects per excerpt; the rows are summed into a new array when the reduction is read.
+     */
+    public static final class StripedLongHistogram implements Reduction<long[]> {
+
+        // the number of longs in a cache line, used to pad each row
+        private static final int PADDING = 8;
+
+        private final ToLongDocumentExtractor extractor;
+        private final long[] upperBounds;
+        private final AtomicLongArray counts;
+        private final int rowLength;
+        private final int mask;
+
+        /**
+         * @param extractor   The extractor to fetch long values from a wire.
+         * @param upperBounds The inclusive upper bound of each bucket, in ascending order.
+         */
+        public StripedLongHistogram(@NotNull final ToLongDocumentExtractor extractor,
+                                    @NotNull final long[] upperBounds) {
+            this.extractor = requireNonNull(extractor);
+            this.upperBounds = upperBounds.clone();
+            for (int i = 1; i < this.upperBounds.length; i++)
+                if (this.upperBounds[i - 1] >= this.upperBounds[i])
+                    throw new IllegalArgumentException("upperBounds must be ascending " + Arrays.toString(upperBounds));
+            final int stripes = stripes();
+            // one more bucket for values above the last bound
+            this.rowLength = (upperBounds.length + 1 + PADDING - 1) / PADDING * PADDING + PADDING;
+            this.counts = new AtomicLongArray(stripes * rowLength);
+            this.mask = stripes - 1;
+        }
+
+        @Override
+        public void onExcerpt(@NotNull Wire wire, long index) throws InvalidMarshallableException {
+            final long value = extractor.extractAsLong(wire, index);
+            if (value != Long.MIN_VALUE) {
+                int bucket = Arrays.binarySearch(upperBounds, value);
+                if (bucket < 0)
+                    bucket = -bucket - 1;
+                counts.getAndIncrement(stripe(mask) * rowLength + bucket);
+            }
+        }
+
+        /**
+         * @return the count per bucket, with the last element being the count of values above the last upper bound
+         */
+        @NotNull
+        @Override
+        public long[] reduction() {
+            final long[] total = new long[upperBounds.length + 1];
+            for (int row = 0; row < counts.length(); row += rowLength)
+                for (int i = 0; i < total.length; i++)
+                    total[i] += counts.get(row + i);
+            return total;
+        }
+
+        @Override
+        public long accept(@NotNull final MarshallableIn tailer) throws InvalidMarshallableException {
+            requireNonNull(tailer);
+            return ReductionUtil.accept(tailer, this);
+        }
+    }
+
     /**
      * The LongSupplierReduction class provides functionalities to perform reduction operations
      * over long values extracted from documents. It reads long values from a wire, accumulates them,
@@ -290,6 +473,12 @@ public final class ReductionUtil {
             // Create a new CollectorReduction using the provided collector and this builder's extractor.
             return new ReductionUtil.CollectorReduction<>(extractor, collector);
         }
+
+        @Override
+        public <A, R> Reduction<R> collectingStriped(@NotNull Collector<E, A, ? extends R> collector) {
+            ObjectUtils.requireNonNull(collector);
+            return new ReductionUtil.StripedCollectorReduction<>(extractor, collector);
+        }
     }
 
     /**
@@ -27,10 +27,7 @@ import net.openhft.chronicle.wire.domestic.extractor.ToLongDocumentExtractor;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
-import java.util.function.BiConsumer;
-import java.util.function.Consumer;
-import java.util.function.DoubleConsumer;
-import java.util.function.LongConsumer;
+import java.util.function.*;
 
 import static net.openhft.chronicle.core.util.ObjectUtils.requireNonNull;
 
@@ -47,6 +44,145 @@ public final class StreamsUtil {
     private StreamsUtil() {
     }
 
+    /**
+     * Reads each excerpt into the next object of a ring of {@code batchSize} objects, created once by the
+     * {@code supplier}, and passes each full ring, and then any remainder, to the {@code action} as a {@link List}.
+     * <p>
+     * The List and its elements are reused for the next batch so the action must not retain them.
+     *
+     * @return the index of the last excerpt read, or -1 if none
+     */
+    public static <T> long forEachBatch(@NotNull final MarshallableIn tailer,
+                                        @NotNull final Class<T> type,
+                                        @NotNull final Supplier<? extends T> supplier,
+                                        final int batchSize,
+                                        @NotNull final Consumer<? super List<T>> action) {
+        final ReusedBatch<T> batch = new ReusedBatch<>(batchSize);
+        for (int i = 0; i < batchSize; i++)
+            batch.elements[i] = requireNonNull(supplier.get());
+        long lastIndex = -1;
+        for (; ; ) {
+            try (final DocumentContext dc = tailer.readingDocument()) {
+                final Wire wire = dc.wire();
+                if (!dc.isPresent() || wire == null)
+                    break;
+                lastIndex = dc.index();
+                @SuppressWarnings("unchecked") final T using = (T) batch.elements[batch.size];
+                final T t = wire.getValueIn().object(using, type);
+                if (t == null)
+                    continue;
+                batch.elements[batch.size++] = t;
+            }
+            if (batch.size == batchSize) {
+                action.accept(batch);
+                batch.size = 0;
+            }
+        }
+        if (batch.size > 0)
+            action.accept(batch);
+        return lastIndex;
+    }
+
+    /**
+     * Extracts a long from each excerpt into an array of {@code batchSize} values, and passes each full array,
+     * and then any remainder, to the {@code action} with the number of values in it.
+     * Values of {@link Long#MIN_VALUE} are skipped.
+     * <p>
+     * The array is reused for the next batch so the action must not retain it.
+     *
+     * @return the index of the last excerpt read, or -1 if none
+     */
+    public static long forEachBatchOfLong(@NotNull final MarshallableIn tailer,
+                                          @NotNull final ToLongDocumentExtractor extractor,
+                                          final int batchSize,
+                                          @NotNull final ObjIntConsumer<long[]> action) {
+        final long[] values = new long[batchSize];
+        int size = 0;
+        long lastIndex = -1;
+        for (; ; ) {
+            try (final DocumentContext dc = tailer.readingDocument()) {
+                final Wire wire = dc.wire();
+                if (!dc.isPresent() || wire == null)
+                    break;
+                lastIndex = dc.index();
+                final long value = extractor.extractAsLong(wire, lastIndex);
+                if (value == Long.MIN_VALUE)
+                    continue;
+                values[size++] = value;
+            }
+            if (size == batchSize) {
+                action.accept(values, size);
+                size = 0;
+            }
+        }
+        if (size > 0)
+            action.accept(values, size);
+        return lastIndex;
+    }
+
+    /**
+     * Extracts a double from each excerpt into an array of {@code batchSize} values, and passes each full array,
+     * and then any remainder, to the {@code action} with the number of values in it.
+     * Values of {@link Double#NaN} are skipped.
+     * <p>
+     * The array is reused for the next batch so the action must not retain it.
+     *
+     * @return the index of the last excerpt read, or -1 if none
+     */
+    public static long forEachBatchOfDouble(@NotNull final MarshallableIn tailer,
+                                            @NotNull final ToDoubleDocumentExtractor extractor,
+                                            final int batchSize,
+                                            @NotNull final ObjIntConsumer<double[]> action) {
+        final double[] values = new double[batchSize];
+        int size = 0;
+        long lastIndex = -1;
+        for (; ; ) {
+            try (final DocumentContext dc = tailer.readingDocument()) {
+                final Wire wire = dc.wire();
+                if (!dc.isPresent() || wire == null)
+                    break;
+                lastIndex = dc.index();
+                final double value = extractor.extractAsDouble(wire, lastIndex);
+                if (Double.isNaN(value))
+                    continue;
+                values[size++] = value;
+            }
+            if (size == batchSize) {
+                action.accept(values, size);
+                size = 0;
+            }
+        }
+        if (size > 0)
+            action.accept(values, size);
+        return lastIndex;
+    }
+
+    /**
+     * A read only view of the first {@code size} objects of a ring reused between batches.
+     */
+    static final class ReusedBatch<T> extends AbstractList<T> implements RandomAccess {
+
+        final Object[] elements;
+        int size;
+
+        ReusedBatch(int capacity) {
+            elements = new Object[capacity];
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public T get(int index) {
+            if (index >= size)
+                throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+            return (T) elements[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
     /**
      * The VanillaSpliterator class provides basic spliterator functionalities
      * over an iterator without any concurrent modifications.
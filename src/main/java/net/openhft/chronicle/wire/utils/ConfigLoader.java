@@ -3,9 +3,15 @@ package net.openhft.chronicle.wire.utils;
 import net.openhft.chronicle.core.io.IOTools;
 import net.openhft.chronicle.wire.TextWire;
 
+import org.jetbrains.annotations.Nullable;
+
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static net.openhft.chronicle.bytes.util.PropertyReplacer.replaceTokensWithProperties;
 
@@ -27,10 +33,15 @@ import static net.openhft.chronicle.bytes.util.PropertyReplacer.replaceTokensWit
  * <pre>
  * {@code ClassAliasPool.CLASS_ALIASES.addAlias(SimpleConfig.class);}
  * </pre>
+ * Each load parses the file again. To load a file once, and again only when it changes, use
+ * {@link #cached(Class, String, Properties)}.
  */
 public enum ConfigLoader {
     ; // none
 
+    // keyed by the class loader, file name and a copy of the properties
+    private static final Map<List<Object>, ReloadableConfig.Shared<?>> CACHE = new ConcurrentHashMap<>();
+
     public static String loadFile(Class<?> classLoader, String filename) throws IOException {
         return new String(IOTools.readFile(classLoader, filename), StandardCharsets.UTF_8);
     }
@@ -60,4 +71,53 @@ public enum ConfigLoader {
     public static <T> T loadWithProperties(String fileAsString, Properties properties) {
         return (T) TextWire.from(replaceTokensWithProperties(fileAsString, properties)).readObject();
     }
+
+    public static <T> ReloadableConfig<T> cached(String filename) throws IOException {
+        return cached(ConfigLoader.class, filename, null);
+    }
+
+    public static <T> ReloadableConfig<T> cached(String filename, Properties properties) throws IOException {
+        return cached(ConfigLoader.class, filename, properties);
+    }
+
+    /**
+     * Returns a handle to the configuration loaded from a file, which is shared by all callers with the same file
+     * and properties and is only cached while one of them has a handle open.
+     * The file is loaded on the first call, and again only if {@link ReloadableConfig#reload()} finds it has changed,
+     * or it is being watched.
+     *
+     * @param classLoader to find the file with
+     * @param filename    to load
+     * @param properties  to replace tokens with, or null for System properties only
+     * @return a handle to the cached configuration, which the caller must close, the last to be closed removes it from the cache
+     * @throws IOException if the file can't be loaded
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ReloadableConfig<T> cached(Class<?> classLoader, String filename, @Nullable Properties properties) throws IOException {
+        final Properties copy = properties == null ? null : copyOf(properties);
+        final List<Object> key = Arrays.asList(classLoader, filename, copy);
+        ReloadableConfig.Shared<?> config = CACHE.get(key);
+        if (config == null || !config.reserve()) {
+            synchronized (CACHE) {
+                config = CACHE.get(key);
+                if (config == null || !config.reserve()) {
+                    config = new ReloadableConfig.Shared<>(classLoader, filename, copy);
+                    config.reserve();
+                    CACHE.put(key, config);
+                }
+            }
+        }
+        return new ReloadableConfig<>((ReloadableConfig.Shared<T>) config);
+    }
+
+    static void removeCached(ReloadableConfig.Shared<?> config) {
+        CACHE.values().remove(config);
+    }
+
+    private static Properties copyOf(Properties properties) {
+        final Properties copy = new Properties();
+        for (String name : properties.stringPropertyNames())
+            copy.setProperty(name, properties.getProperty(name));
+        return copy;
+    }
 }
@@ -0,0 +1,357 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire.utils;
+
+import net.openhft.chronicle.bytes.Invocation;
+import net.openhft.chronicle.bytes.UpdateInterceptor;
+import net.openhft.chronicle.wire.GeneratingMethodReaderInterceptorReturns;
+import net.openhft.chronicle.wire.SelfDescribingMarshallable;
+import net.openhft.chronicle.wire.WireParselet;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Optional per-method instrumentation for method readers and method writers.
+ * <p>
+ * Passing an instance to {@code methodReaderBuilder().methodReaderInterceptorReturns(metrics)} adds a call
+ * counter and a latency measurement to each method of the generated reader, compiled into the generated source
+ * rather than invoked reflectively. Readers and writers built without it are unchanged and pay nothing.
+ * <p>
+ * The latency is the time in the handler, from once the arguments have been decoded until the call returns or
+ * throws; decoding the arguments is not measured. A call which throws is still counted.
+ * <p>
+ * Other counters can be attached with
+ * <ul>
+ *     <li>{@link #unknownEventCounter(WireParselet)} as the {@code defaultParselet} of a reader, to count unknown events</li>
+ *     <li>{@link #updateInterceptor()} as the {@code updateInterceptor} of a method writer, to count calls written</li>
+ * </ul>
+ * Counters are striped {@link LongAdder}s so one instance can be shared by readers and writers on many threads.
+ * Calls read and calls written are counted separately. {@link #snapshot()} returns a
+ * {@link net.openhft.chronicle.wire.Marshallable} copy of the current values, suitable for logging or publishing.
+ * <p>
+ * The generated code finds an instance through the {@code interceptor} field of the reader, so readers using
+ * different instances share one generated class.
+ */
+public final class MethodMetrics implements GeneratingMethodReaderInterceptorReturns {
+    static final int BUCKETS = 32;
+    // one index per method name for all instances, so the generated code doesn't depend on the instance
+    private static final Map<String, Integer> INDEX_BY_NAME = new ConcurrentHashMap<>();
+    private static final List<String> NAMES = new ArrayList<>();
+
+    private volatile Counters[] readCounters = {};
+    private final Map<String, Counters> writeCounters = new ConcurrentHashMap<>();
+    private final LongAdder unknownEvents = new LongAdder();
+
+    /**
+     * Returns the index of the counters for a method read, which is the same for every instance.
+     *
+     * @param methodName of the method
+     * @return the index to pass to {@link #onCall(int, long)}
+     */
+    public static int indexOf(String methodName) {
+        Integer index = INDEX_BY_NAME.get(methodName);
+        if (index != null)
+            return index;
+        synchronized (NAMES) {
+            index = INDEX_BY_NAME.get(methodName);
+            if (index == null) {
+                index = NAMES.size();
+                NAMES.add(methodName);
+                INDEX_BY_NAME.put(methodName, index);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Records a call read of the method with this index.
+     *
+     * @param index      as returned by {@link #indexOf(String)}
+     * @param durationNs time taken by the call, or a negative value if not measured
+     */
+    public void onCall(int index, long durationNs) {
+        final Counters[] counters = readCounters;
+        final Counters c = index < counters.length ? counters[index] : null;
+        (c == null ? readCounters(index) : c).onCall(durationNs);
+    }
+
+    /**
+     * Records a call read of a method by name, used where the index is not known in advance.
+     *
+     * @param methodName of the method
+     * @param durationNs time taken by the call, or a negative value if not measured
+     */
+    public void onCall(String methodName, long durationNs) {
+        onCall(indexOf(methodName), durationNs);
+    }
+
+    /**
+     * Records a call written by a method writer.
+     *
+     * @param methodName of the method
+     */
+    public void onWrite(String methodName) {
+        writeCounters.computeIfAbsent(methodName, Counters::new).onCall(-1);
+    }
+
+    /**
+     * Wraps the default parselet of a method reader so events with no matching method are counted.
+     *
+     * @param delegate the parselet to call after counting
+     * @return a counting parselet
+     */
+    public WireParselet unknownEventCounter(@NotNull WireParselet delegate) {
+        return (s, in) -> {
+            unknownEvents.increment();
+            delegate.accept(s, in);
+        };
+    }
+
+    /**
+     * @return an UpdateInterceptor for a method writer which counts each call by method name and lets it proceed
+     */
+    public UpdateInterceptor updateInterceptor() {
+        return (methodName, t) -> {
+            onWrite(methodName);
+            return true;
+        };
+    }
+
+    /**
+     * @return a copy of the current values
+     */
+    public Snapshot snapshot() {
+        Snapshot snapshot = new Snapshot();
+        snapshot.unknownEvents = unknownEvents.sum();
+        for (Counters counters : readCounters)
+            if (counters != null)
+                snapshot.methods.put(counters.name, counters.stats());
+        for (Counters counters : writeCounters.values())
+            snapshot.writes.put(counters.name, counters.stats());
+        return snapshot;
+    }
+
+    /**
+     * Resets all the counters to zero.
+     */
+    public void reset() {
+        unknownEvents.reset();
+        for (Counters counters : readCounters)
+            if (counters != null)
+                counters.reset();
+        for (Counters counters : writeCounters.values())
+            counters.reset();
+    }
+
+    @Override
+    public String generatorId() {
+        return "metrics";
+    }
+
+    // the call is wrapped in a try block, so it is recorded even if it throws
+    @Override
+    public String codeBeforeCall(Method m, String objectName, String[] argumentNames) {
+        return "final long metricsStart = System.nanoTime();\n" +
+                "try {";
+    }
+
+    @Override
+    public String codeAfterCall(Method m, String objectName, String[] argumentNames) {
+        return "} finally {\n" +
+                "((" + MethodMetrics.class.getName() + ") interceptor).onCall(" + indexOf(m.getName()) + ", System.nanoTime() - metricsStart);\n" +
+                "}";
+    }
+
+    @Override
+    public Object intercept(Method m, Object o, Object[] args, Invocation invocation) throws InvocationTargetException {
+        long start = System.nanoTime();
+        try {
+            return invocation.invoke(m, o, args);
+        } finally {
+            onCall(m.getName(), System.nanoTime() - start);
+        }
+    }
+
+    private Counters readCounters(int index) {
+        synchronized (this) {
+            Counters[] counters = readCounters;
+            if (index >= counters.length)
+                counters = Arrays.copyOf(counters, Math.max(index + 1, counters.length * 2));
+            else if (counters[index] != null)
+                return counters[index];
+            else
+                counters = counters.clone();
+            final Counters c = new Counters(nameOf(index));
+            counters[index] = c;
+            readCounters = counters;
+            return c;
+        }
+    }
+
+    private static String nameOf(int index) {
+        synchronized (NAMES) {
+            return NAMES.get(index);
+        }
+    }
+
+    /**
+     * Returns the histogram bucket for a duration, bucket {@code n} holding durations below 2<sup>n</sup> ns.
+     */
+    static int bucketFor(long durationNs) {
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(durationNs));
+    }
+
+    static final class Counters {
+        final String name;
+        final LongAdder count = new LongAdder();
+        final LongAdder timed = new LongAdder();
+        final LongAdder totalNs = new LongAdder();
+        final LongAdder[] histogram = new LongAdder[BUCKETS];
+
+        Counters(String name) {
+            this.name = name;
+            for (int i = 0; i < BUCKETS; i++)
+                histogram[i] = new LongAdder();
+        }
+
+        void onCall(long durationNs) {
+            count.increment();
+            if (durationNs < 0)
+                return;
+            timed.increment();
+            totalNs.add(durationNs);
+            histogram[bucketFor(durationNs)].increment();
+        }
+
+        Stats stats() {
+            Stats stats = new Stats();
+            stats.count = count.sum();
+            stats.timed = timed.sum();
+            stats.totalNs = totalNs.sum();
+            stats.histogram = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++)
+                stats.histogram[i] = histogram[i].sum();
+            return stats;
+        }
+
+        void reset() {
+            count.reset();
+            timed.reset();
+            totalNs.reset();
+            for (LongAdder adder : histogram)
+                adder.reset();
+        }
+    }
+
+    /**
+     * The values recorded for one method.
+     */
+    public static class Stats extends SelfDescribingMarshallable {
+        long count;
+        long timed;
+        long totalNs;
+        long[] histogram;
+
+        /**
+         * @return the number of calls
+         */
+        public long count() {
+            return count;
+        }
+
+        /**
+         * @return the number of calls which were timed
+         */
+        public long timed() {
+            return timed;
+        }
+
+        /**
+         * @return the total time of the timed calls
+         */
+        public long totalNs() {
+            return totalNs;
+        }
+
+        /**
+         * @return the average time of the timed calls, or 0 if none were timed
+         */
+        public double averageNs() {
+            return timed == 0 ? 0 : (double) totalNs / timed;
+        }
+
+        /**
+         * Returns an upper bound on the given percentile of the timed calls, from the power of two histogram.
+         *
+         * @param fraction between 0 and 1, e.g. 0.99
+         * @return the upper bound of the bucket which contains the percentile, or 0 if none were timed
+         */
+        public long percentileNs(double fraction) {
+            long target = (long) Math.ceil(timed * fraction);
+            long sum = 0;
+            for (int i = 0; i < histogram.length; i++) {
+                sum += histogram[i];
+                if (sum >= target && sum > 0)
+                    return i >= 63 ? Long.MAX_VALUE : 1L << i;
+            }
+            return 0;
+        }
+
+        /**
+         * @return the number of timed calls by bucket, bucket {@code n} counting durations below 2<sup>n</sup> ns
+         */
+        public long[] histogram() {
+            return histogram;
+        }
+    }
+
+    /**
+     * A copy of all the values recorded.
+     */
+    public static class Snapshot extends SelfDescribingMarshallable {
+        long unknownEvents;
+        Map<String, Stats> methods = new TreeMap<>();
+        Map<String, Stats> writes = new TreeMap<>();
+
+        /**
+         * @return the number of events read with no matching method
+         */
+        public long unknownEvents() {
+            return unknownEvents;
+        }
+
+        /**
+         * @return the values for each method read, by name
+         */
+        public Map<String, Stats> methods() {
+            return methods;
+        }
+
+        /**
+         * @return the number of calls written for each method, by name
+         */
+        public Map<String, Stats> writes() {
+            return writes;
+        }
+    }
+}
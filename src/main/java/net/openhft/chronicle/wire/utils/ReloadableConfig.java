@@ -0,0 +1,315 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.wire.utils;
+
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.io.ClosedIllegalStateException;
+import net.openhft.chronicle.core.io.Closeable;
+import net.openhft.chronicle.core.io.IOTools;
+import net.openhft.chronicle.threads.NamedThreadFactory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * A configuration object loaded by {@link ConfigLoader}, which is only parsed again when its file changes.
+ * Obtain one with {@link ConfigLoader#cached(Class, String, Properties)}, which caches one per file and properties.
+ * <p>
+ * {@link #get()} is a volatile read of the latest object, so it can be called as often as needed, e.g. per request.
+ * Objects loaded are never modified; a change to the file loads a new object, which replaces the previous one,
+ * and is passed to each listener. The file is checked for changes when {@link #reload()} is called, or as soon as
+ * it changes once {@link #watch()} has been called. A file whose content is unchanged, e.g. one which has only been
+ * touched, is not parsed again, and if the new content can't be parsed, the previous object is kept.
+ * Only a plain file can change; a resource in a jar is loaded once.
+ * <p>
+ * Each call to {@code cached} returns its own handle to the shared configuration, which must be closed once.
+ * Closing a handle again does nothing. The configuration stops watching and is removed from the cache when the
+ * last handle is closed.
+ *
+ * @param <T> the type of configuration object
+ */
+public class ReloadableConfig<T> implements Closeable, Supplier<T> {
+
+    private final Shared<T> shared;
+    private final AtomicBoolean closed = new AtomicBoolean();
+    // the listeners added with this handle, removed when it is closed
+    private final List<Consumer<? super T>> listeners = new CopyOnWriteArrayList<>();
+
+    ReloadableConfig(Shared<T> shared) {
+        this.shared = shared;
+    }
+
+    /**
+     * @return the latest configuration object loaded
+     */
+    @Override
+    public T get() {
+        return shared.value;
+    }
+
+    /**
+     * @return the name of the file or resource loaded
+     */
+    public String filename() {
+        return shared.filename;
+    }
+
+    /**
+     * Adds a listener which is passed each new configuration object loaded after this call, until this is closed.
+     *
+     * @param listener to add
+     * @return this
+     */
+    public ReloadableConfig<T> addListener(@NotNull Consumer<? super T> listener) {
+        checkNotClosed();
+        listeners.add(listener);
+        shared.listeners.add(listener);
+        return this;
+    }
+
+    /**
+     * @param listener to remove
+     * @return true if it was removed
+     */
+    public boolean removeListener(Consumer<? super T> listener) {
+        return listeners.remove(listener) && shared.listeners.remove(listener);
+    }
+
+    /**
+     * Loads the file again if its modification time or length has changed.
+     *
+     * @return true if a new configuration object was loaded
+     * @throws IOException if the file can't be read
+     */
+    public boolean reload() throws IOException {
+        checkNotClosed();
+        return shared.reload();
+    }
+
+    /**
+     * Watches the directory of the file with a {@link WatchService}, which uses inotify on Linux, reloading the file
+     * in a background thread when it changes, until the last handle is closed.
+     *
+     * @return this
+     * @throws IOException if the directory can't be watched
+     * @throws IllegalStateException if the resource is not a plain file
+     */
+    public ReloadableConfig<T> watch() throws IOException {
+        checkNotClosed();
+        shared.watch();
+        return this;
+    }
+
+    private void checkNotClosed() {
+        if (closed.get())
+            throw new ClosedIllegalStateException(getClass().getName() + " closed for " + shared.filename);
+    }
+
+    @Override
+    public boolean isClosing() {
+        return closed.get();
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    /**
+     * Releases this handle's reference, once. The last to be released stops watching the file and removes the
+     * configuration from the cache; until then, the other handles still work.
+     */
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true))
+            return;
+        for (Consumer<? super T> listener : listeners)
+            shared.listeners.remove(listener);
+        listeners.clear();
+        shared.release();
+    }
+
+    /**
+     * The configuration loaded from one file with one set of properties, cached by {@link ConfigLoader} while any
+     * handle to it is open.
+     */
+    static final class Shared<T> {
+        private final Class<?> classLoader;
+        private final String filename;
+        @Nullable
+        private final Properties properties;
+        // null if the resource is not a plain file, e.g. in a jar
+        @Nullable
+        private final File file;
+        private final List<Consumer<? super T>> listeners = new CopyOnWriteArrayList<>();
+        private volatile T value;
+        private volatile boolean closed;
+
+        // guarded by this
+        private int references;
+        private long lastModified;
+        private long length;
+        private String text;
+        private WatchService watchService;
+        private ExecutorService watcher;
+
+        Shared(Class<?> classLoader, String filename, @Nullable Properties properties) throws IOException {
+            this.classLoader = classLoader;
+            this.filename = filename;
+            this.properties = properties;
+            final URL url = IOTools.urlFor(classLoader, filename);
+            this.file = "file".equals(url.getProtocol()) ? toFile(url) : null;
+            synchronized (this) {
+                load();
+            }
+        }
+
+        // decodes the path, e.g. %20 for a space, unlike URL.getPath()
+        private static File toFile(URL url) {
+            try {
+                return Paths.get(url.toURI()).toFile();
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                // not a valid URI, so the path wasn't encoded
+                return new File(url.getPath());
+            }
+        }
+
+                synchronized boolean reload() throws IOException {
+            if (closed)
+                throw new ClosedIllegalStateException(ReloadableConfig.class.getName() + " closed for " + filename);
+            if (file == null || (file.lastModified() == lastModified && file.length() == length))
+                return false;
+            return load();
+        }
+
+        // parses the file if its content has changed
+        private boolean load() throws IOException {
+            String text0;
+            if (file == null) {
+                text0 = ConfigLoader.loadFile(classLoader, filename);
+            } else {
+                // taken before reading, so a change while it is read is seen next time
+                lastModified = file.lastModified();
+                length = file.length();
+                text0 = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+            }
+            if (text0.equals(text))
+                return false;
+            final T t = properties == null
+                    ? ConfigLoader.load(text0)
+                    : ConfigLoader.loadWithProperties(text0, properties);
+            text = text0;
+            value = t;
+            for (Consumer<? super T> listener : listeners)
+                listener.accept(t);
+            return true;
+        }
+
+        synchronized void watch() throws IOException {
+            if (file == null)
+                throw new IllegalStateException(filename + " is not a file which can be watched");
+            if (watchService != null)
+                return;
+            final Path dir = file.getAbsoluteFile().getParentFile().toPath();
+            watchService = dir.getFileSystem().newWatchService();
+            dir.register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+            watcher = Executors.newSingleThreadExecutor(new NamedThreadFactory("config-watcher", true));
+            watcher.submit(this::watchLoop);
+        }
+
+        private void watchLoop() {
+            final WatchService watchService0;
+            synchronized (this) {
+                watchService0 = watchService;
+            }
+            try {
+                while (!closed) {
+                    final WatchKey key = watchService0.take();
+                    boolean changed = false;
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == OVERFLOW
+                                || (event.context() instanceof Path
+                                && ((Path) event.context()).getFileName().toString().equals(file.getName())))
+                            changed = true;
+                    }
+                    key.reset();
+                    if (changed)
+                        reloadQuietly();
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                // closed
+            }
+        }
+
+        private void reloadQuietly() {
+            try {
+                reload();
+            } catch (Exception e) {
+                if (!closed)
+                    Jvm.warn().on(ReloadableConfig.class, "Unable to reload " + filename + ", keeping the previous configuration", e);
+            }
+        }
+
+        /**
+         * Adds a reference for a new handle.
+         *
+         * @return false if the last handle has been closed, and this can't be shared
+         */
+        synchronized boolean reserve() {
+            if (closed)
+                return false;
+            references++;
+            return true;
+        }
+
+        // releases one handle's reference, the last stops watching and removes this from the cache
+        void release() {
+            final WatchService watchService0;
+            final ExecutorService watcher0;
+            synchronized (this) {
+                if (closed || --references > 0)
+                    return;
+                closed = true;
+                watchService0 = watchService;
+                watcher0 = watcher;
+            }
+            if (watcher0 != null)
+                watcher0.shutdownNow();
+            if (watchService0 != null)
+                Closeable.closeQuietly(watchService0);
+            ConfigLoader.removeCached(this);
+        }
+    }
+}
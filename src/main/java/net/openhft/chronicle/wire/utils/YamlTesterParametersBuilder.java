@@ -30,6 +30,8 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -69,6 +71,12 @@ public class YamlTesterParametersBuilder<T> {
     // A function to process and possibly modify the test input
     private Function<String, String> inputFunction;
 
+    // Number of threads used to run the tests in advance, 1 to leave them to run when first checked
+    private int parallelism = 1;
+
+    // Contents of the files read so far, so each is read once however many tests use it
+    private final Map<String, String> fileCache = new HashMap<>();
+
     /**
      * Constructor that initializes the builder with a given component builder, output class, and paths specified as a comma-separated string.
      *
@@ -125,6 +133,22 @@ public class YamlTesterParametersBuilder<T> {
      * @return A list of test parameters with each entry containing a path and its associated YamlTester.
      */
     public List<Object[]> get() {
+        try {
+            List<Object[]> params = createParams();
+            runInParallel(params);
+            return params;
+        } finally {
+            // the files are only cached while building the tests
+            fileCache.clear();
+        }
+    }
+
+    /**
+     * Builds the tests for {@link #get()} without running them.
+     *
+     * @return A list of test parameters with each entry containing a path and its associated YamlTester.
+     */
+    private List<Object[]> createParams() {
         // Convert the builder into a function that returns an object
         Function<T, Object> compFunction = ThrowingFunction.asFunction(builder);
 
@@ -176,14 +200,20 @@ public class YamlTesterParametersBuilder<T> {
         // Process agitated tests
         for (Map.Entry<String, YamlTester> pyt : testers.entrySet()) {
             String path = pyt.getKey();
-            YamlTester yt = pyt.getValue();
             String setup = path + "/_setup.yaml";
 
             // add agitated tests
             if (agitators.length > 0) {
+                // read the input once, rather than once per agitator
+                String in_yaml;
+                try {
+                    in_yaml = readFile(path + "/in.yaml");
+                } catch (IOException e) {
+                    throw new IORuntimeException(e);
+                }
                 Map<String, String> inputToNameMap = new LinkedHashMap<>();
                 for (YamlAgitator agitator : agitators) {
-                    Map<String, String> agitateMap = yt.agitate(agitator);
+                    Map<String, String> agitateMap = agitator.generateInputs(in_yaml);
                     for (Map.Entry<String, String> entry : agitateMap.entrySet()) {
                         inputToNameMap.putIfAbsent(entry.getKey(), entry.getValue());
                     }
@@ -218,14 +248,14 @@ public class YamlTesterParametersBuilder<T> {
 
             String in_yaml;
             try {
-                in_yaml = new String(IOTools.readFile(outClass, path + "/in.yaml"), StandardCharsets.UTF_8);
+                in_yaml = readFile(path + "/in.yaml");
             } catch (IOException e) {
                 throw new IORuntimeException(e);
             }
 
             String _setup_yaml = "";
             try {
-                _setup_yaml = new String(IOTools.readFile(outClass, path + "/_setup.yaml"), StandardCharsets.UTF_8);
+                _setup_yaml = readFile(path + "/_setup.yaml");
             } catch (IOException e) {
                 // ignored
             }
@@ -244,14 +274,14 @@ public class YamlTesterParametersBuilder<T> {
 
                     String in_yaml2;
                     try {
-                        in_yaml2 = new String(IOTools.readFile(outClass, path2 + "/in.yaml"), StandardCharsets.UTF_8);
+                        in_yaml2 = readFile(path2 + "/in.yaml");
                     } catch (IOException e) {
                         throw new IORuntimeException(e);
                     }
 
                     String _setup_yaml2 = "";
                     try {
-                        _setup_yaml2 = new String(IOTools.readFile(outClass, path2 + "/_setup.yaml"), StandardCharsets.UTF_8);
+                        _setup_yaml2 = readFile(path2 + "/_setup.yaml");
                     } catch (IOException e) {
                         // ignored
                     }
@@ -281,6 +311,55 @@ public class YamlTesterParametersBuilder<T> {
         return params;
     }
 
+    /**
+     * Reads a file relative to the output class once, returning the cached contents on later calls.
+     *
+     * @param path of the file
+     * @return the contents as UTF-8
+     * @throws IOException if the file cannot be read, this is not cached
+     */
+    private String readFile(String path) throws IOException {
+        String contents = fileCache.get(path);
+        if (contents == null) {
+            contents = new String(IOTools.readFile(outClass, path), StandardCharsets.UTF_8);
+            fileCache.put(path, contents);
+        }
+        return contents;
+    }
+
+    /**
+     * Runs all the tests in advance on a fork-join pool, when {@link #parallelism(int)} is more than one.
+     * Each test builds its own component and wires, and keeps its results, so the parameterized test
+     * only compares {@link YamlTester#expected()} with {@link YamlTester#actual()}.
+     * <p>
+     * A test which fails here is left to run again when first checked, so it reports its own error.
+     * Tests are run one at a time if an exception handler function is set, as it replaces the JVM-wide handlers.
+     *
+     * @param params the tests to run
+     */
+    private void runInParallel(List<Object[]> params) {
+        if (parallelism <= 1 || exceptionHandlerFunction != null)
+            return;
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (Object[] param : params) {
+            YamlTester yt = (YamlTester) param[1];
+            tasks.add(() -> {
+                try {
+                    yt.actual();
+                } catch (Throwable t) {
+                    Jvm.debug().on(YamlTester.class, "Failed to run " + param[0] + " in advance", t);
+                }
+                return null;
+            });
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invokeAll(tasks);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     /**
      * Adds all additional output classes to the provided YamlTester.
      *
@@ -341,6 +420,29 @@ public class YamlTesterParametersBuilder<T> {
         return this;
     }
 
+    /**
+     * Returns the number of threads used to run the tests in advance.
+     *
+     * @return The parallelism, 1 if tests are only run when checked.
+     */
+    public int parallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets the number of threads used to run all the tests in advance when {@link #get()} is called.
+     * <p>
+     * The components built must not share mutable state, such as a {@code SystemTimeProvider.CLOCK}
+     * which increments on each call, as the order tests run in is not defined.
+     *
+     * @param parallelism The number of threads, 1 to run each test only when it is checked.
+     * @return The current instance of YamlTesterParametersBuilder.
+     */
+    public YamlTesterParametersBuilder<T> parallelism(int parallelism) {
+        this.parallelism = parallelism;
+        return this;
+    }
+
     /**
      * Sets the input function that transforms input strings.
      *
@@ -361,7 +463,7 @@ public class YamlTesterParametersBuilder<T> {
         final Set<String> msgs = new HashSet<>();
 
         @Override
-        public boolean test(String s) {
+        public synchronized boolean test(String s) {
             boolean added = false;
             for (String msg : s.split("...\\n"))
                 added |= msgs.add(msg);
@@ -4,8 +4,11 @@ import net.openhft.chronicle.bytes.Bytes;
 import org.junit.Test;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotSame;
 
 public class AbstractMarshallableCfgTest extends WireTestCommon{
@@ -20,6 +23,11 @@ public class AbstractMarshallableCfgTest extends WireTestCommon{
         boolean flag;        // Boolean flag
     }
 
+    // Define a configuration with a list of nested configurations
+    static class ListAMC extends AbstractMarshallableCfg {
+        List<NestedAMC> nested = new ArrayList<>();
+    }
+
     // Define a nested self-describing data class
     static class NestedSDM extends SelfDescribingMarshallable {
         Bytes<ByteBuffer> bytes = Bytes.elasticHeapByteBuffer();
@@ -74,4 +82,19 @@ public class AbstractMarshallableCfgTest extends WireTestCommon{
         assertNotSame(myAMC.nestedSDM, myAMC2.nestedSDM);
         assertNotSame(myAMC.nestedSDM.bytes, myAMC2.nestedSDM.bytes);
     }
+
+    // Test loading a list again gives fresh elements, without values left from the previous load
+    @Test
+    public void reloadListOfNested() {
+        ListAMC cfg = new ListAMC();
+        cfg.readMarshallable(WireType.TEXT.apply(Bytes.from("nested: [ { number: 1, flag: true }, { number: 2 } ]")));
+        assertEquals(2, cfg.nested.size());
+        NestedAMC first = cfg.nested.get(0);
+
+        cfg.readMarshallable(WireType.TEXT.apply(Bytes.from("nested: [ { number: 3 } ]")));
+        assertEquals(1, cfg.nested.size());
+        assertEquals(3, cfg.nested.get(0).number);
+        assertFalse(cfg.nested.get(0).flag);
+        assertNotSame(first, cfg.nested.get(0));
+    }
 }
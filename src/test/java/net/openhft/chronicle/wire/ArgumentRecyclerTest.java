@@ -0,0 +1,85 @@
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.MethodReader;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ArgumentRecyclerTest extends WireTestCommon {
+
+    @Test
+    public void oneInstancePerClass() {
+        ArgumentRecycler<Object> recycler = new ArgumentRecycler<>();
+        assertNull(recycler.apply(AEvent.class));
+
+        AEvent a = new AEvent();
+        BEvent b = new BEvent();
+        assertSame(a, recycler.recycle(a));
+        assertSame(b, recycler.recycle(b));
+        assertEquals(2, recycler.size());
+
+        assertSame(a, recycler.apply(AEvent.class));
+        assertSame(b, recycler.apply(BEvent.class));
+
+        AEvent a2 = new AEvent();
+        recycler.recycle(a2);
+        assertEquals(2, recycler.size());
+        assertSame(a2, recycler.apply(AEvent.class));
+
+        recycler.recycle(null);
+        recycler.recycle(new int[1]);
+        assertEquals(2, recycler.size());
+
+        recycler.clear();
+        assertEquals(0, recycler.size());
+        assertNull(recycler.apply(BEvent.class));
+    }
+
+    @Test
+    public void alternatingTypesAreReused() {
+        Wire wire = WireType.BINARY_LIGHT.apply(Bytes.allocateElasticOnHeap());
+        Events writer = wire.methodWriter(Events.class);
+        List<Object> received = new ArrayList<>();
+        MethodReader reader = wire.methodReader((Events) received::add);
+
+        for (int i = 0; i < 3; i++) {
+            writer.event(new AEvent().value(i));
+            writer.event(new BEvent().value(i));
+        }
+        for (int i = 0; i < 6; i++)
+            assertTrue(reader.readOne());
+        assertFalse(reader.readOne());
+
+        assertEquals(6, received.size());
+        for (int i = 2; i < 6; i++)
+            assertSame(received.get(i - 2), received.get(i));
+        assertEquals(2, ((AEvent) received.get(4)).value);
+        assertEquals(2, ((BEvent) received.get(5)).value);
+    }
+
+    interface Events {
+        void event(Object event);
+    }
+
+    static class AEvent extends SelfDescribingMarshallable {
+        long value;
+
+        AEvent value(long value) {
+            this.value = value;
+            return this;
+        }
+    }
+
+    static class BEvent extends SelfDescribingMarshallable {
+        long value;
+
+        BEvent value(long value) {
+            this.value = value;
+            return this;
+        }
+    }
+}
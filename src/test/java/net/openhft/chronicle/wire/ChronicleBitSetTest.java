@@ -60,6 +60,7 @@ public class ChronicleBitSetTest extends WireTestCommon {
     // Random number generator for tests
     private final Random generator = new Random();
     private final Class<?> clazz;
+    private final boolean summary;
     @SuppressWarnings("rawtypes")
     private final List closeables = new ArrayList<>();
     private final ChronicleBitSet emptyBS0;
@@ -75,9 +76,10 @@ public class ChronicleBitSetTest extends WireTestCommon {
     }
 
     @SuppressWarnings("this-escape")
-    public ChronicleBitSetTest(Class<?> clazz) {
+    public ChronicleBitSetTest(Class<?> clazz, boolean summary) {
         assumeTrue(Jvm.is64bit());
         this.clazz = clazz;
+        this.summary = summary;
         emptyBS0 = createBitSet();
         emptyBS1 = createBitSet(1);
         emptyBS127 = createBitSet(127);
@@ -90,12 +92,13 @@ public class ChronicleBitSetTest extends WireTestCommon {
 
     // Test data provider
     @NotNull
-    @Parameterized.Parameters(name = "{0}")
+    @Parameterized.Parameters(name = "{0} summary: {1}")
     public static Collection<Object[]> data() {
         // Return test cases for different ChronicleBitSet implementations
         return Arrays.asList(new Object[][]{
-                {LongArrayValueBitSet.class},
-                {LongValueBitSet.class},
+                {LongArrayValueBitSet.class, false},
+                {LongValueBitSet.class, false},
+                {LongArrayValueBitSet.class, true},
         });
     }
 
@@ -1236,6 +1239,194 @@ public class ChronicleBitSetTest extends WireTestCommon {
         return bitSet;
     }
 
+    // Claim every bit once, wrapping around, then release and claim again
+    @Test
+    public void claimAndReleaseBits() {
+        ChronicleBitSet bs = createBitSet(128);
+        bs.set(0, 70);
+        assertEquals(100, bs.claimNextClearBit(100));
+        assertEquals(70, bs.claimNextClearBit(100 - 30));
+        for (int i = 71; i < 128; i++)
+            if (i != 100)
+                assertEquals(i, bs.claimNextClearBit(71));
+        assertEquals(-1, bs.claimNextClearBit(0));
+        assertEquals(-1, bs.claimClearBit());
+
+        Assert.assertTrue(bs.releaseBit(5));
+        Assert.assertFalse(bs.releaseBit(5));
+        assertEquals(5, bs.claimNextClearBit(64));
+        assertEquals(128, bs.cardinality());
+    }
+
+    // Claiming never returns a bit at or above the maximum number of bits, when it isn't a whole number of words
+    @Test
+    public void claimBelowMaxNumberOfBits() {
+        ChronicleBitSet bs = createBitSet(100);
+        assertEquals(99, bs.claimNextClearBit(99));
+        // past the maximum, the search starts again at 0
+        assertEquals(0, bs.claimNextClearBit(110));
+        BitSet seen = new BitSet();
+        seen.set(0);
+        seen.set(99);
+        for (int i = 2; i < 100; i++) {
+            final int bit = bs.claimClearBit();
+            Assert.assertTrue("bit " + bit, bit >= 0 && bit < 100);
+            Assert.assertFalse("claimed twice " + bit, seen.get(bit));
+            seen.set(bit);
+        }
+        assertEquals(-1, bs.claimClearBit());
+        assertEquals(-1, bs.claimNextClearBit(64));
+
+        Assert.assertTrue(bs.releaseBit(70));
+        assertEquals(70, bs.claimNextClearBit(99));
+    }
+
+    // Claiming in a nearly full bit set finds the few clear bits, skipping full words with a summary
+    @Test
+    public void claimNearlyFull() {
+        final int bits = 64 * 200 + 10;
+        ChronicleBitSet bs = createBitSet(bits);
+        bs.set(0, 64 * 200);
+        assertEquals(64 * 200, bs.claimNextClearBit(0));
+        Assert.assertTrue(bs.releaseBit(6400));
+        assertEquals(6400, bs.claimNextClearBit(100));
+        assertEquals(64 * 200 + 1, bs.claimNextClearBit(6401));
+        for (int i = 2; i < 10; i++)
+            assertEquals(64 * 200 + i, bs.claimNextClearBit(0));
+        assertEquals(-1, bs.claimNextClearBit(5000));
+        assertEquals(bits, bs.cardinality());
+    }
+
+    // Concurrent claimers must never get the same bit
+    @Test
+    public void claimConcurrently() throws InterruptedException {
+        int bits = 4096;
+        ChronicleBitSet bs = createBitSet(bits);
+        int threads = 4;
+        int[][] claimed = new int[threads][bits / threads];
+        Thread[] ts = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int[] mine = claimed[t];
+            ts[t] = new Thread(() -> {
+                for (int i = 0; i < mine.length; i++)
+                    mine[i] = bs.claimClearBit();
+            });
+            ts[t].start();
+        }
+        for (Thread t : ts)
+            t.join();
+
+        BitSet seen = new BitSet();
+        for (int[] mine : claimed)
+            for (int bit : mine) {
+                Assert.assertTrue(bit >= 0);
+                Assert.assertFalse("claimed twice " + bit, seen.get(bit));
+                seen.set(bit);
+            }
+        assertEquals(bits, seen.cardinality());
+        assertEquals(-1, bs.claimClearBit());
+    }
+
+    @Test
+    public void sparseSearchAndCardinality() {
+        final int bits = 1 << 20;
+        ChronicleBitSet bs = createBitSet(bits);
+        BitSet expected = new BitSet(bits);
+        Random random = new Random(1);
+        for (int i = 0; i < 2000; i++) {
+            int bit = random.nextInt(bits);
+            if (random.nextInt(4) == 0) {
+                bs.clear(bit);
+                expected.clear(bit);
+            } else {
+                bs.set(bit);
+                expected.set(bit);
+            }
+        }
+        bs.clear(1000, 300_000);
+        expected.clear(1000, 300_000);
+        assertEquals(expected.cardinality(), bs.cardinality());
+
+        // walk from one set bit to the next, as stream() does
+        int from = 0;
+        for (int i = expected.nextSetBit(0); i >= 0; i = expected.nextSetBit(i + 1)) {
+            assertEquals(i, bs.nextSetBit(from));
+            from = i + 1;
+        }
+        assertEquals(-1, bs.nextSetBit(expected.length()));
+        for (int i = 0; i < 1000; i++) {
+            int bit = random.nextInt(bits);
+            assertEquals(expected.nextSetBit(bit), bs.nextSetBit(bit));
+            assertEquals(expected.previousSetBit(bit), bs.previousSetBit(bit));
+        }
+
+        int claimed = bs.claimNextClearBit(0);
+        assertEquals(expected.nextClearBit(0), claimed);
+        assertEquals(expected.cardinality() + 1, bs.cardinality());
+        bs.releaseBit(claimed);
+        assertEquals(expected.cardinality(), bs.cardinality());
+
+        bs.clear();
+        assertEquals(0, bs.cardinality());
+        assertEquals(-1, bs.nextSetBit(0));
+    }
+
+    @Test
+    public void bulkLogicalOps() {
+        final int bits = 64 * 1000;
+        for (boolean confined : new boolean[]{false, true}) {
+            Random random = new Random(2);
+            BitSet e1 = new BitSet(bits);
+            BitSet e2 = new BitSet(bits);
+            ChronicleBitSet b1 = createBitSet(bits);
+            ChronicleBitSet b2 = createBitSet(bits);
+            if (b1 instanceof LongArrayValueBitSet)
+                ((LongArrayValueBitSet) b1).threadConfined(confined);
+            for (int i = 0; i < 5000; i++) {
+                int from = random.nextInt(bits);
+                int to = Math.min(bits, from + random.nextInt(500));
+                switch (random.nextInt(3)) {
+                    case 0:
+                        b1.set(from, to);
+                        e1.set(from, to);
+                        break;
+                    case 1:
+                        b1.flip(from, to);
+                        e1.flip(from, to);
+                        break;
+                    default:
+                        b1.clear(from, to);
+                        e1.clear(from, to);
+                        break;
+                }
+                int bit = random.nextInt(bits / 2);
+                b2.set(bit);
+                e2.set(bit);
+            }
+            assertEquals(e1.cardinality(), b1.cardinality());
+
+            b1.or(b2);
+            e1.or(e2);
+            assertEquals(e1.cardinality(), b1.cardinality());
+            b1.xor(b2);
+            e1.xor(e2);
+            assertEquals(e1.cardinality(), b1.cardinality());
+            b1.or(b2);
+            e1.or(e2);
+            b1.andNot(b2);
+            e1.andNot(e2);
+            assertEquals(e1.cardinality(), b1.cardinality());
+            b2.flip(0, bits);
+            e2.flip(0, bits);
+            b1.and(b2);
+            e1.and(e2);
+            assertEquals(e1.cardinality(), b1.cardinality());
+            for (int i = e1.nextSetBit(0); i >= 0; i = e1.nextSetBit(i + 1))
+                assertEquals(i, b1.nextSetBit(i));
+            assertEquals(-1, b1.nextSetBit(e1.length()));
+        }
+    }
+
     /**
      * Create a new ChronicleBitSet with the specified size.
      * @param bits the size for the new ChronicleBitSet.
@@ -1259,6 +1450,8 @@ public class ChronicleBitSetTest extends WireTestCommon {
     @NotNull
     private ChronicleBitSet createBitSet(Wire w, long size) {
         try {
+            if (summary)
+                return (ChronicleBitSet) clazz.getConstructor(long.class, boolean.class, Wire.class).newInstance(size, true, w);
             return (ChronicleBitSet) clazz.getConstructor(long.class, Wire.class).newInstance(size, w);
         } catch (Throwable t) {
             throw new AssertionError(t);
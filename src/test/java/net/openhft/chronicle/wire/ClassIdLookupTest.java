@@ -0,0 +1,71 @@
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.util.ClassNotFoundRuntimeException;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ClassIdLookupTest extends WireTestCommon {
+
+    @Test
+    public void writesIdsForRegisteredClasses() {
+        ClassIdLookup classIds = new ClassIdLookup().register(Fill.class, Cancel.class);
+        assertEquals(0, classIds.idFor(Fill.class));
+        assertEquals(1, classIds.idFor(Cancel.class));
+        assertEquals(-1, classIds.idFor(String.class));
+
+        Wire named = WireType.BINARY_LIGHT.apply(Bytes.allocateElasticOnHeap());
+        named.write("event").object(new Fill().qty(10));
+
+        Wire wire = WireType.BINARY_LIGHT.apply(Bytes.allocateElasticOnHeap());
+        wire.classLookup(classIds);
+        wire.write("event").object(new Fill().qty(10));
+        wire.write("event").object(new Cancel());
+        assertTrue(wire.bytes().readRemaining() < 2 * named.bytes().readRemaining());
+
+        assertEquals(new Fill().qty(10), wire.read("event").object());
+        assertEquals(new Cancel(), wire.read("event").object());
+    }
+
+    @Test
+    public void textUsesTheSameIds() {
+        ClassIdLookup classIds = new ClassIdLookup().register(Fill.class);
+        Wire wire = WireType.TEXT.apply(Bytes.allocateElasticOnHeap());
+        wire.classLookup(classIds);
+        wire.write("event").object(new Fill().qty(3));
+        assertEquals("event: !0 {\n" +
+                "  qty: 3\n" +
+                "}\n", wire.toString());
+        assertEquals(new Fill().qty(3), wire.read("event").object());
+    }
+
+    @Test
+    public void tableRoundTrips() {
+        ClassIdLookup classIds = new ClassIdLookup().register(Fill.class, Cancel.class, Fill.class);
+        assertEquals(2, classIds.size());
+
+        ClassIdLookup copy = Marshallable.fromString(classIds.toString());
+        assertEquals(classIds, copy);
+        assertSame(Cancel.class, copy.forName("1"));
+        assertSame(String.class, copy.forName("String"));
+        assertEquals("1", copy.nameFor(Cancel.class));
+    }
+
+    @Test(expected = ClassNotFoundRuntimeException.class)
+    public void unknownId() {
+        new ClassIdLookup().register(Fill.class).forName("5");
+    }
+
+    static class Fill extends SelfDescribingMarshallable {
+        long qty;
+
+        Fill qty(long qty) {
+            this.qty = qty;
+            return this;
+        }
+    }
+
+    static class Cancel extends SelfDescribingMarshallable {
+    }
+}
@@ -0,0 +1,159 @@
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class CollectionRecyclingTest extends WireTestCommon {
+
+    private boolean recycle;
+
+    @Before
+    public void enableRecycling() {
+        recycle = WireMarshaller.RECYCLE_COLLECTION_ELEMENTS;
+        WireMarshaller.RECYCLE_COLLECTION_ELEMENTS = true;
+    }
+
+    @After
+    public void restoreRecycling() {
+        WireMarshaller.RECYCLE_COLLECTION_ELEMENTS = recycle;
+    }
+
+    // reads the fields of from into using, without overwriting
+    private static void readInto(Object using, Object from, boolean overwrite) {
+        Wire wire = WireType.TEXT.apply(Bytes.allocateElasticOnHeap());
+        Wires.writeMarshallable(from, wire);
+        Wires.readMarshallable(using, wire, overwrite);
+    }
+
+    @Test
+    public void listReadInPlace() {
+        Holder using = new Holder();
+        using.items.add(new Item(1));
+        using.items.add(new Item(2));
+        using.items.add(new Item(3));
+        Item item0 = using.items.get(0);
+        Item item1 = using.items.get(1);
+
+        Holder from = new Holder();
+        from.items.add(new Item(10));
+        from.items.add(new Item(20));
+        readInto(using, from, false);
+        assertEquals(from, using);
+        assertSame(item0, using.items.get(0));
+        assertSame(item1, using.items.get(1));
+
+        // overwriting replaces the elements
+        readInto(using, from, true);
+        assertEquals(from, using);
+        assertNotSame(item0, using.items.get(0));
+    }
+
+    @Test
+    public void mapReadInPlaceRemovesKeysNotRead() {
+        Holder using = new Holder();
+        using.byName.put("a", new Item(1));
+        using.byName.put("b", new Item(2));
+        using.byName.put("c", new Item(3));
+        Item a = using.byName.get("a");
+        Item c = using.byName.get("c");
+
+        Holder from = new Holder();
+        from.byName.put("a", new Item(10));
+        from.byName.put("c", new Item(30));
+        from.byName.put("d", new Item(40));
+        readInto(using, from, false);
+        assertEquals(from, using);
+        assertSame(a, using.byName.get("a"));
+        assertSame(c, using.byName.get("c"));
+        assertFalse(using.byName.containsKey("b"));
+    }
+
+    @Test
+    public void largeMapReadRepeatedly() {
+        Holder using = new Holder();
+        for (int round = 0; round < 3; round++) {
+            Holder from = new Holder();
+            // every other key is dropped each round, more than fit in the initial set of keys read
+            for (int i = round; i < 100; i += 2)
+                from.names.put("k" + i, "v" + i);
+            readInto(using, from, false);
+            assertEquals(from, using);
+        }
+    }
+
+    @Test
+    public void immutableValuesAreReplaced() {
+        Holder using = new Holder();
+        using.names.put("a", "x");
+        using.names.put("b", "y");
+
+        Holder from = new Holder();
+        from.names.put("a", "z");
+        from.names.put("c", "w");
+        readInto(using, from, false);
+        assertEquals(from, using);
+        assertEquals("{a=z, c=w}", using.names.toString());
+    }
+
+    @Test
+    public void nestedMapsKeepTheirOwnKeys() {
+        Node using = new Node(0);
+        using.children.put("a", new Node(1).child("x", new Node(11)).child("y", new Node(12)));
+        using.children.put("b", new Node(2).child("z", new Node(21)));
+        Node a = using.children.get("a");
+        Node x = a.children.get("x");
+
+        Node from = new Node(0);
+        from.children.put("a", new Node(3).child("x", new Node(31)));
+        from.children.put("b", new Node(4).child("z", new Node(41)));
+        readInto(using, from, false);
+        assertEquals(from, using);
+        // reading the nested map didn't remove the outer keys read before it
+        assertSame(a, using.children.get("a"));
+        assertSame(x, a.children.get("x"));
+        assertFalse(a.children.containsKey("y"));
+    }
+
+    static class Item extends SelfDescribingMarshallable {
+        int qty;
+
+        Item(int qty) {
+            this.qty = qty;
+        }
+    }
+
+    static class Holder extends SelfDescribingMarshallable {
+        List<Item> items = new ArrayList<>();
+        Map<String, Item> byName = new LinkedHashMap<>();
+        Map<String, String> names = new LinkedHashMap<>();
+    }
+
+    static class Node extends SelfDescribingMarshallable {
+        int value;
+        Map<String, Node> children = new LinkedHashMap<>();
+
+        Node(int value) {
+            this.value = value;
+        }
+
+        Node child(String name, Node node) {
+            children.put(name, node);
+            return this;
+        }
+
+        @Override
+        public void readMarshallable(WireIn wire) {
+            // nested nodes are read in place as well
+            Wires.readMarshallable(this, wire, false);
+        }
+    }
+}
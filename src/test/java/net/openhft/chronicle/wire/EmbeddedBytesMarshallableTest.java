@@ -232,6 +232,171 @@ public class EmbeddedBytesMarshallableTest extends WireTestCommon {
         ebm.readMarshallable(bytes);
     }
 
+    // Test an aligned block with a bounded string and a nested trivially copyable member.
+    @Test
+    public void alignedWithNested() {
+        ClassAliasPool.CLASS_ALIASES.addAlias(EBM1.class, Aligned.class);
+        Aligned a1 = new Aligned();
+        a1.id = 12345;
+        a1.name.append("hello");
+        a1.inner.l0 = 80;
+        a1.inner.b0 = 10;
+
+        Bytes<?> bytes = Bytes.allocateElasticDirect(64);
+        bytes.writeByte((byte) 1);
+        a1.writeMarshallable(bytes);
+        // description at 1, the number of nested members and padding, padding to 8, 16 bytes of name and id,
+        // then the nested EBM1
+        assertEquals(8 + 16 + 4 + 15, bytes.writePosition());
+
+        bytes.readSkip(1);
+        Aligned a2 = new Aligned();
+        a2.readMarshallable(bytes);
+        assertEquals(0, bytes.readRemaining());
+        assertEquals(a1, a2);
+        assertEquals("hello", a2.name.toString());
+        assertEquals(80, a2.inner.l0);
+        bytes.releaseLast();
+    }
+
+    // The padding is read from the message, so it can be read at an offset with a different alignment.
+    @Test
+    public void alignedReadAtAnotherOffset() {
+        Aligned a1 = new Aligned();
+        a1.id = 12345;
+        a1.name.append("hello");
+        a1.inner.l0 = 80;
+
+        Bytes<?> bytes = Bytes.allocateElasticDirect(64);
+        bytes.writeByte((byte) 1);
+        a1.writeMarshallable(bytes);
+        bytes.readSkip(1);
+
+        for (int offset : new int[]{0, 3}) {
+            Bytes<?> bytes2 = Bytes.allocateElasticDirect(64);
+            for (int i = 0; i < offset; i++)
+                bytes2.writeByte((byte) 0);
+            bytes2.write(bytes, bytes.readPosition(), bytes.readRemaining());
+            bytes2.readSkip(offset);
+
+            Aligned a2 = new Aligned();
+            a2.readMarshallable(bytes2);
+            assertEquals(0, bytes2.readRemaining());
+            assertEquals(a1, a2);
+            bytes2.releaseLast();
+        }
+        bytes.releaseLast();
+    }
+
+    // A reader without the alignment or nested member skips them, and one with them reads a message without.
+    @Test
+    public void alignedAndUnalignedReadEachOther() {
+        Aligned a1 = new Aligned();
+        a1.id = 12345;
+        a1.name.append("hello");
+        a1.inner.l0 = 80;
+
+        Bytes<?> bytes = Bytes.allocateElasticDirect(64);
+        bytes.writeByte((byte) 1);
+        a1.writeMarshallable(bytes);
+        bytes.readSkip(1);
+        Unaligned u = new Unaligned();
+        u.readMarshallable(bytes);
+        assertEquals(0, bytes.readRemaining());
+        assertEquals(12345, u.id);
+        assertEquals("hello", u.name.toString());
+
+        bytes.clear();
+        u.writeMarshallable(bytes);
+        // no padding or nested members
+        assertEquals(4 + 16, bytes.writePosition());
+        Aligned a2 = new Aligned();
+        a2.inner.l0 = 99;
+        a2.readMarshallable(bytes);
+        assertEquals(0, bytes.readRemaining());
+        assertEquals(12345, a2.id);
+        assertEquals("hello", a2.name.toString());
+        // the nested member wasn't written, so it's reset
+        assertEquals(0, a2.inner.l0);
+        bytes.releaseLast();
+    }
+
+    // The same fields as Aligned, without the alignment or nested member.
+    static class Unaligned extends SelfDescribingTriviallyCopyable {
+        static final int DESCRIPTION = BytesFieldInfo.lookup(Unaligned.class).description();
+        static final int LENGTH, START;
+
+        static {
+            final int[] range = BytesUtil.triviallyCopyableRange(Unaligned.class);
+            LENGTH = range[1] - range[0];
+            START = range[0];
+        }
+
+        @FieldGroup("name")
+        transient long name0;
+        long id;
+        Bytes<?> name = Bytes.forFieldGroup(this, "name");
+
+        @Override
+        protected int $description() {
+            return DESCRIPTION;
+        }
+
+        @Override
+        protected int $start() {
+            return START;
+        }
+
+        @Override
+        protected int $length() {
+            return LENGTH;
+        }
+    }
+
+    // A class with its fields aligned to 8 bytes, a bounded string and a nested member.
+    static class Aligned extends SelfDescribingTriviallyCopyable {
+        static final int DESCRIPTION = BytesFieldInfo.lookup(Aligned.class).description();
+        static final int LENGTH, START;
+
+        static {
+            final int[] range = BytesUtil.triviallyCopyableRange(Aligned.class);
+            LENGTH = range[1] - range[0];
+            START = range[0];
+        }
+
+        @FieldGroup("name")
+        transient long name0;
+        long id;
+        Bytes<?> name = Bytes.forFieldGroup(this, "name");
+        EBM1 inner = new EBM1();
+        transient SelfDescribingTriviallyCopyable[] nested = {inner};
+
+        @Override
+        protected int $description() {
+            return DESCRIPTION;
+        }
+
+        @Override
+        protected int $start() {
+            return START;
+        }
+
+        @Override
+        protected int $length() {
+            return LENGTH;
+        }
+
+        @Override
+        protected int $alignment() {
+            return 8;
+        }
+
+        @Override
+        protected SelfDescribingTriviallyCopyable[] $nested() {
+            return nested;
+        }
+    }
+
     // A class representing a Marshallable object with fields grouped into embedded Bytes.
     // This class extends SelfDescribingTriviallyCopyable, indicating that it can describe its own serialization format.
     static class EBM extends SelfDescribingTriviallyCopyable {
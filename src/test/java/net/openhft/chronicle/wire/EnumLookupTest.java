@@ -0,0 +1,89 @@
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.pool.EnumCache;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class EnumLookupTest extends WireTestCommon {
+
+    @Test
+    public void matchesCharSequencesAndBytes() {
+        EnumLookup<Side> lookup = EnumLookup.of(Side.class);
+        assertSame(lookup, EnumLookup.of(Side.class));
+        assertSame(Side.BUY, lookup.valueOf(new StringBuilder("BUY")));
+        assertSame(Side.SELL, lookup.valueOf("SELL"));
+        assertNull(lookup.valueOf(""));
+
+        Bytes<?> bytes = Bytes.from("xSELLBUY");
+        assertSame(Side.SELL, lookup.valueOf(bytes, 1, 4));
+        assertSame(Side.BUY, lookup.valueOf(bytes, 5, 3));
+        assertNull(lookup.valueOf(bytes, 0, 4));
+        bytes.releaseLast();
+    }
+
+    @Test
+    public void readsEnumFields() {
+        for (WireType wireType : new WireType[]{WireType.BINARY_LIGHT, WireType.TEXT, WireType.JSON_ONLY}) {
+            Wire wire = wireType.apply(Bytes.allocateElasticOnHeap());
+            Order order = new Order();
+            order.side = Side.SELL;
+            order.type = OrderType.LIMIT;
+            wire.getValueOut().object(Order.class, order);
+
+            Order order2 = wire.getValueIn().object(Order.class);
+            assertEquals(wireType.toString(), order, order2);
+        }
+    }
+
+    @Test
+    public void asEnumInBinary() {
+        Wire wire = WireType.BINARY_LIGHT.apply(Bytes.allocateElasticOnHeap());
+        wire.write("side").asEnum(Side.BUY);
+        wire.write("side").asEnum(Side.SELL);
+        wire.write("side").text("");
+        assertSame(Side.BUY, wire.read("side").asEnum(Side.class));
+        assertSame(Side.SELL, wire.read("side").asEnum(Side.class));
+        assertNull(wire.read("side").asEnum(Side.class));
+        assertFalse(wire.hasMore());
+    }
+
+    @Test
+    public void dynamicEnumValuesAreAddedAsRead() {
+        EnumLookup<Venue> lookup = EnumLookup.of(Venue.class);
+        assertSame(Venue.LSE, lookup.valueOf("LSE"));
+
+        // grows well past the initial table
+        for (int i = 0; i < 1000; i++) {
+            String name = "V" + i;
+            Venue venue = lookup.valueOf(new StringBuilder(name));
+            assertNotNull(venue);
+            assertEquals(name, venue.name());
+            assertSame(venue, lookup.valueOf(name));
+            assertSame(venue, EnumCache.of(Venue.class).valueOf(name));
+        }
+        for (int i = 0; i < 1000; i += 111) {
+            Bytes<?> bytes = Bytes.from("V" + i);
+            assertSame(lookup.valueOf("V" + i), lookup.valueOf(bytes, 0, (int) bytes.readRemaining()));
+            bytes.releaseLast();
+        }
+    }
+
+    enum Venue implements DynamicEnum {
+        LSE
+    }
+
+    enum Side {
+        BUY, SELL
+    }
+
+    enum OrderType {
+        MARKET, LIMIT, STOP_LIMIT
+    }
+
+    static class Order extends SelfDescribingMarshallable {
+        Side side;
+        OrderType type;
+    }
+}
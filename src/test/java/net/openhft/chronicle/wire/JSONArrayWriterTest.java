@@ -0,0 +1,122 @@
+package net.openhft.chronicle.wire;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+public class JSONArrayWriterTest extends WireTestCommon {
+
+    private static final int COUNT = 10_000;
+
+    @Test
+    public void roundTripJSON() throws IOException {
+        roundTrip(WireType.JSON);
+    }
+
+    @Test
+    public void roundTripJSONOnly() throws IOException {
+        roundTrip(WireType.JSON_ONLY);
+    }
+
+    private void roundTrip(WireType wireType) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JSONArrayWriter writer = new JSONArrayWriter(wireType, Channels.newChannel(out), 256)) {
+            for (int i = 0; i < COUNT; i++)
+                writer.write(new Row("row, [" + i + "] {\"x\"}", i, i / 4.0));
+            assertEquals(COUNT, writer.count());
+        }
+        final String text = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        assertTrue(text.startsWith("[{"));
+        assertTrue(text.endsWith("}]"));
+
+        // the elements are read through a small buffer a few bytes at a time
+        try (JSONArrayReader reader = new JSONArrayReader(wireType, Channels.newChannel(new ByteArrayInputStream(out.toByteArray())), 64)) {
+            for (int i = 0; i < COUNT; i++) {
+                final ValueIn in = reader.readElement();
+                assertNotNull(in);
+                assertEquals(new Row("row, [" + i + "] {\"x\"}", i, i / 4.0), in.object(Row.class));
+            }
+            assertNull(reader.readElement());
+            assertTrue(reader.endOfArray());
+            assertEquals(COUNT, reader.count());
+        }
+    }
+
+    @Test
+    public void scalarsAndSequences() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JSONArrayWriter writer = new JSONArrayWriter(WireType.JSON, out)) {
+            writer.writeElement().int64(1);
+            writer.writeElement().text("two, [2]");
+            writer.writeElement().sequence(v -> {
+                v.float64(3.5);
+                v.float64(4);
+            });
+            writer.writeElement().bool(true);
+        }
+        final String text = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        assertTrue(text, text.startsWith("[1,\"two, [2]\",["));
+        assertTrue(text, text.endsWith("],true]"));
+
+        try (JSONArrayReader reader = new JSONArrayReader(WireType.JSON, new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals(1, reader.readElement().int64());
+            assertEquals("two, [2]", reader.readElement().text());
+            assertNotNull(reader.readElement());
+            assertTrue(reader.readElement().bool());
+            assertNull(reader.readElement());
+        }
+    }
+
+    @Test
+    public void emptyArray() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new JSONArrayWriter(WireType.JSON, out).close();
+        assertEquals("[]", new String(out.toByteArray(), StandardCharsets.UTF_8));
+
+        try (JSONArrayReader reader = new JSONArrayReader(WireType.JSON, new ByteArrayInputStream(" [ ] ".getBytes(StandardCharsets.UTF_8)))) {
+            assertNull(reader.readElement());
+            assertTrue(reader.endOfArray());
+            assertEquals(0, reader.count());
+        }
+    }
+
+    @Test(expected = EOFException.class)
+    public void truncated() throws IOException {
+        try (JSONArrayReader reader = new JSONArrayReader(WireType.JSON, new ByteArrayInputStream("[1,{\"a\":2".getBytes(StandardCharsets.UTF_8)))) {
+            assertEquals(1, reader.readElement().int64());
+            reader.readElement();
+        }
+    }
+
+    @Test(expected = StreamCorruptedException.class)
+    public void notAnArray() throws IOException {
+        try (JSONArrayReader reader = new JSONArrayReader(WireType.JSON, new ByteArrayInputStream("{\"a\":1}".getBytes(StandardCharsets.UTF_8)))) {
+            reader.readElement();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void notJSON() {
+        new JSONArrayWriter(WireType.YAML_ONLY, new ByteArrayOutputStream());
+    }
+
+    static class Row extends SelfDescribingMarshallable {
+        String name;
+        int id;
+        double price;
+
+        Row(String name, int id, double price) {
+            this.name = name;
+            this.id = id;
+            this.price = price;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package net.openhft.chronicle.wire;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class JSONSchemaReaderTest extends WireTestCommon {
+
+    @Test
+    public void roundTrip() {
+        final JSONSchemaReader<Trade> reader = JSONSchemaReader.of(Trade.class);
+        assertTrue(reader.supported());
+
+        JSONWire wire = new JSONWire();
+        final Trade trade = new Trade("EURUSD", 123456789012L, 1.08125, 1_000_000, true, (byte) -3, null);
+        wire.getValueOut().object(trade);
+        assertEquals(trade, reader.read(wire, null));
+        assertEquals(0, wire.bytes().readRemaining());
+
+        // reusing an object
+        final Trade trade2 = new Trade("GBPUSD", -1, -0.5, 0, false, (byte) 127, 42);
+        wire.clear();
+        wire.getValueOut().object(trade2);
+        Trade using = new Trade();
+        assertSame(using, reader.read(wire, using));
+        assertEquals(trade2, using);
+    }
+
+    @Test
+    public void fallsBackWhenInputDoesNotMatch() {
+        final JSONSchemaReader<Trade> reader = JSONSchemaReader.of(Trade.class);
+        final Trade expected = new Trade("a\"b", 1, 2.5, 3, true, (byte) 4, 5);
+        final String[] inputs = {
+                // escaped string
+                "{\"symbol\":\"a\\\"b\",\"id\":1,\"price\":2.5,\"qty\":3,\"buy\":true,\"flags\":4,\"venue\":5}",
+                // different order
+                "{\"id\":1,\"symbol\":\"a\\\"b\",\"qty\":3,\"price\":2.5,\"buy\":true,\"flags\":4,\"venue\":5}",
+                // spacing
+                "{ \"symbol\" : \"a\\\"b\" , \"id\" : 1 , \"price\" : 2.5 , \"qty\" : 3 , \"buy\" : true , \"flags\" : 4 , \"venue\" : 5 }",
+        };
+        for (String input : inputs) {
+            JSONWire wire = JSONWire.from(input);
+            assertEquals(input, expected, reader.read(wire, new Trade()));
+        }
+
+        // missing fields are reset, even if the fast path read some fields first
+        final Trade partial = new Trade("x", 9, 9, 9, true, (byte) 9, 9);
+        JSONWire wire = JSONWire.from("{\"symbol\":\"y\",\"id\":2}");
+        reader.read(wire, partial);
+        assertEquals(new Trade("y", 2, 0, 0, false, (byte) 0, null), partial);
+    }
+
+    @Test
+    public void unsupportedClassesUseTheGeneralPath() {
+        final JSONSchemaReader<Order> reader = JSONSchemaReader.of(Order.class);
+        assertFalse(reader.supported());
+
+        final Order order = new Order();
+        order.trades.add(new Trade("A", 1, 1.5, 2, false, (byte) 0, null));
+        JSONWire wire = new JSONWire();
+        wire.getValueOut().object(order);
+        assertEquals(order, reader.read(wire, null));
+    }
+
+    static class Trade extends SelfDescribingMarshallable {
+        String symbol;
+        long id;
+        double price;
+        int qty;
+        boolean buy;
+        byte flags;
+        Integer venue;
+
+        Trade() {
+        }
+
+        Trade(String symbol, long id, double price, int qty, boolean buy, byte flags, Integer venue) {
+            this.symbol = symbol;
+            this.id = id;
+            this.price = price;
+            this.qty = qty;
+            this.buy = buy;
+            this.flags = flags;
+            this.venue = venue;
+        }
+    }
+
+    static class Order extends SelfDescribingMarshallable {
+        List<Trade> trades = new ArrayList<>();
+    }
+}
@@ -0,0 +1,86 @@
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class LongLongMapTest extends WireTestCommon {
+
+    @Test
+    public void putGetRemoveMatchesHashMap() {
+        LongLongMap map = new LongLongMap();
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(1);
+        for (int i = 0; i < 10_000; i++) {
+            long key = random.nextInt(500) - 250;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key) != null, map.remove(key));
+            } else {
+                long value = random.nextLong();
+                map.put(key, value);
+                expected.put(key, value);
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (long key = -250; key < 250; key++)
+            assertEquals(expected.getOrDefault(key, Long.MIN_VALUE).longValue(), map.getOrDefault(key, Long.MIN_VALUE));
+    }
+
+    @Test
+    public void binaryRoundTripReadsInPlace() {
+        doRoundTrip(WireType.BINARY_LIGHT);
+    }
+
+    @Test
+    public void textRoundTripReadsInPlace() {
+        doRoundTrip(WireType.TEXT);
+    }
+
+    private void doRoundTrip(WireType wireType) {
+        Positions positions = new Positions();
+        positions.quantities.put(1001, 250);
+        positions.quantities.put(1002, -75);
+        positions.orders.put(7, new Order().qty(10));
+        positions.orders.put(8, new Order().qty(5));
+        positions.levels.add(1);
+        positions.levels.add(2);
+
+        Wire wire = wireType.apply(Bytes.allocateElasticOnHeap());
+        wire.getValueOut().object(positions);
+
+        Positions using = new Positions();
+        using.orders.put(7, new Order());
+        using.orders.put(9, new Order());
+        LongLongMap quantities = using.quantities;
+        Order order7 = using.orders.get(7);
+
+        Positions read = wire.getValueIn().object(using, Positions.class);
+        assertSame(using, read);
+        assertSame(quantities, read.quantities);
+        assertSame(order7, read.orders.get(7));
+        assertNull(read.orders.get(9));
+        assertEquals(positions, read);
+        assertEquals(-75, read.quantities.getOrDefault(1002, 0));
+        assertArrayEquals(new int[]{1, 2}, read.levels.toArray());
+    }
+
+    static class Order extends SelfDescribingMarshallable {
+        long qty;
+
+        Order qty(long qty) {
+            this.qty = qty;
+            return this;
+        }
+    }
+
+    static class Positions extends SelfDescribingMarshallable {
+        LongLongMap quantities = new LongLongMap();
+        LongObjectMap<Order> orders = new LongObjectMap<>(Order.class, 8);
+        IntList levels = new IntList();
+    }
+}
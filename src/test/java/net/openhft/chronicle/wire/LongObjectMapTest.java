@@ -0,0 +1,70 @@
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LongObjectMapTest extends WireTestCommon {
+
+    @Test
+    public void fromStringKeepsTheValueType() {
+        LongObjectMap<Order> map = new LongObjectMap<>(Order.class, 4);
+        map.put(1001, new Order(10, 1.25));
+        map.put(1002, new Order(5, 1.5));
+
+        // created with the no-arg constructor, so it doesn't know the value class
+        LongObjectMap<Order> copy = Marshallable.fromString(map.toString());
+        assertNotNull(copy);
+        assertTrue(copy.get(1001) instanceof Order);
+        assertEquals(map, copy);
+    }
+
+    @Test
+    public void deepCopyKeepsTheValueType() {
+        LongObjectMap<Order> map = new LongObjectMap<>(Order.class, 4);
+        map.put(7, new Order(3, 2.5));
+
+        LongObjectMap<Order> copy = map.deepCopy();
+        assertTrue(copy.get(7) instanceof Order);
+        assertEquals(map, copy);
+    }
+
+    @Test
+    public void fieldReadInPlace() {
+        Book book = new Book();
+        book.orders.put(1, new Order(1, 1.0));
+        book.orders.put(2, new Order(2, 2.0));
+
+        Book book2 = Marshallable.fromString(book.toString());
+        assertEquals(book, book2);
+        assertTrue(book2.orders.get(2) instanceof Order);
+
+        // reading again reuses the values held, and removes keys not read
+        Order order1 = book2.orders.get(1);
+        Book book3 = new Book();
+        book3.orders.put(1, new Order(5, 5.0));
+        Wire wire = WireType.TEXT.apply(Bytes.allocateElasticOnHeap());
+        wire.getValueOut().object(book3);
+        wire.getValueIn().object(book2, Book.class);
+        assertEquals(book3, book2);
+        assertSame(order1, book2.orders.get(1));
+        assertNull(book2.orders.get(2));
+
+        assertEquals(book, book.deepCopy());
+    }
+
+    static class Book extends SelfDescribingMarshallable {
+        LongObjectMap<Order> orders = new LongObjectMap<>(Order.class, 4);
+    }
+
+    static class Order extends SelfDescribingMarshallable {
+        int qty;
+        double price;
+
+        Order(int qty, double price) {
+            this.qty = qty;
+            this.price = price;
+        }
+    }
+}
@@ -28,6 +28,8 @@ import net.openhft.chronicle.core.OS;
 import net.openhft.chronicle.jlbh.JLBH;
 import net.openhft.chronicle.jlbh.JLBHOptions;
 import net.openhft.chronicle.jlbh.JLBHTask;
+import net.openhft.chronicle.wire.internal.HTTPMarshallableOut;
+import net.openhft.chronicle.wire.internal.MappedFileMarshallableOut;
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
@@ -35,14 +37,18 @@ import org.junit.Test;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.InetSocketAddress;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 public class MarshallableOutBuilderTest extends net.openhft.chronicle.wire.WireTestCommon {
 
@@ -91,6 +97,114 @@ public class MarshallableOutBuilderTest extends net.openhft.chronicle.wire.WireT
         writeMessages(url);
     }
 
+    // Test appending to a memory-mapped file while it is tailed
+    @Test
+    public void fileMapped() throws IOException {
+        final File file = new File(OS.getTarget(), "tmp-" + System.nanoTime());
+        @SuppressWarnings("deprecation")
+        final URL url = new URL("file://" + file.getAbsolutePath() + "?mapped=true&chunkSize=65536&syncEvery=2");
+        try {
+            try (MappedFileMarshallableOut out = (MappedFileMarshallableOut) MarshallableOut.builder(url).get()) {
+                writeNumbers(out, 0, 3);
+                try (MappedFileMarshallableIn in = new MappedFileMarshallableIn(file)) {
+                    assertEquals("[0, 1, 2]", readNumbers(in).toString());
+
+                    // an incomplete document isn't visible
+                    try (DocumentContext dc = out.writingDocument()) {
+                        dc.wire().write("n").int64(3);
+                        assertEquals("[]", readNumbers(in).toString());
+                    }
+                    assertEquals("[3]", readNumbers(in).toString());
+
+                    // nor is a document rolled back
+                    try (DocumentContext dc = out.writingDocument()) {
+                        dc.wire().write("n").int64(-1);
+                        dc.rollbackOnClose();
+                    }
+                    writeNumbers(out, 4, 5);
+                    assertEquals("[4]", readNumbers(in).toString());
+                }
+            }
+
+            // reopening appends after the documents already written
+            try (MappedFileMarshallableOut out = (MappedFileMarshallableOut) MarshallableOut.builder(url).get();
+                 MappedFileMarshallableIn in = new MappedFileMarshallableIn(file)) {
+                writeNumbers(out, 5, 7);
+                assertEquals("[0, 1, 2, 3, 4, 5, 6]", readNumbers(in).toString());
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    // Test the memory-mapped file grows past the chunk size
+    @Test
+    public void fileMappedGrows() throws IOException {
+        final File file = new File(OS.getTarget(), "tmp-" + System.nanoTime());
+        @SuppressWarnings("deprecation")
+        final URL url = new URL("file://" + file.getAbsolutePath() + "?mapped=true&chunkSize=65536");
+        try {
+            final int count = 20_000;
+            try (MappedFileMarshallableOut out = (MappedFileMarshallableOut) MarshallableOut.builder(url).get();
+                 MappedFileMarshallableIn in = new MappedFileMarshallableIn(file, WireType.BINARY_LIGHT, 65536)) {
+                writeNumbers(out, 0, count);
+                assertTrue(out.writePosition() > 4 * 65536);
+                final List<Long> numbers = readNumbers(in);
+                assertEquals(count, numbers.size());
+                for (int i = 0; i < count; i++)
+                    assertEquals(i, (long) numbers.get(i));
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    // Test documents are synced once syncMicros has passed, without writing any more
+    @Test
+    public void fileMappedSyncMicros() throws IOException {
+        final File file = new File(OS.getTarget(), "tmp-" + System.nanoTime());
+        @SuppressWarnings("deprecation")
+        final URL url = new URL("file://" + file.getAbsolutePath() + "?mapped=true&chunkSize=65536&syncMicros=1000");
+        try (MappedFileMarshallableOut out = (MappedFileMarshallableOut) MarshallableOut.builder(url).get()) {
+            writeNumbers(out, 0, 3);
+            final long end = out.writePosition();
+            for (int i = 0; i < 1000 && out.syncedPosition() < end; i++)
+                Jvm.pause(1);
+            assertEquals(end, out.syncedPosition());
+        } finally {
+            file.delete();
+        }
+    }
+
+    // Test a text wire can't be used for a memory-mapped file
+    @Test(expected = IllegalArgumentException.class)
+    public void fileMappedText() throws IOException {
+        final File file = new File(OS.getTarget(), "tmp-" + System.nanoTime());
+        @SuppressWarnings("deprecation")
+        final URL url = new URL("file://" + file.getAbsolutePath() + "?mapped=true");
+        MarshallableOut.builder(url).wireType(WireType.YAML_ONLY).get();
+    }
+
+    // Write a document for each number from 'from' to 'to' exclusive
+    private static void writeNumbers(MarshallableOut out, long from, long to) {
+        for (long i = from; i < to; i++)
+            try (DocumentContext dc = out.writingDocument()) {
+                dc.wire().write("n").int64(i);
+            }
+    }
+
+    // Read the numbers in the documents available
+    private static List<Long> readNumbers(MarshallableIn in) {
+        List<Long> numbers = new ArrayList<>();
+        for (; ; ) {
+            try (DocumentContext dc = in.readingDocument()) {
+                if (!dc.isPresent())
+                    return numbers;
+                numbers.add(dc.wire().read("n").int64());
+            }
+        }
+    }
+
     // Write messages to the specified URL
     private void writeMessages(URL url) {
         writeMessages(url, null);
@@ -133,6 +247,89 @@ public class MarshallableOutBuilderTest extends net.openhft.chronicle.wire.WireT
         }
     }
 
+    // Test documents are sent in batches over a connection kept alive, from a background thread
+    @Test
+    public void httpBatched() throws IOException {
+        InetSocketAddress address = new InetSocketAddress(0);
+        HttpServer server = HttpServer.create(address, 0);
+        int port = server.getAddress().getPort();
+        List<String> bodies = Collections.synchronizedList(new ArrayList<>());
+        Set<Integer> clientPorts = Collections.synchronizedSet(new HashSet<>());
+        server.createContext("/batch", xchg -> {
+            clientPorts.add(xchg.getRemoteAddress().getPort());
+            Bytes<byte[]> bytes = Bytes.allocateElasticOnHeap();
+            int ch;
+            for (InputStream is = xchg.getRequestBody(); (ch = is.read()) >= 0; )
+                bytes.writeUnsignedByte(ch);
+            bodies.add(bytes.toString());
+            xchg.sendResponseHeaders(202, -1);
+            xchg.close();
+        });
+        server.start();
+        try {
+            @SuppressWarnings("deprecation")
+            final URL url = new URL("http://localhost:" + port + "/batch");
+            try (HTTPMarshallableOut out = (HTTPMarshallableOut) MarshallableOut.builder(url)
+                    .batchBytes(512)
+                    .maxInFlight(2)
+                    .get()) {
+                ITop top = out.methodWriter(ITop.class);
+                for (int i = 0; i < 100; i++)
+                    top.mid("mid")
+                            .next(i)
+                            .echo("echo-" + i);
+            }
+            final String[] lines = String.join("", bodies).split("\n");
+            assertEquals(100, lines.length);
+            assertEquals("{\"mid\":\"mid\",\"next\":99,\"echo\":\"echo-99\"}", lines[99]);
+            assertTrue(bodies.toString(), bodies.size() > 1 && bodies.size() < 100);
+            assertTrue(clientPorts.toString(), clientPorts.size() < bodies.size());
+        } finally {
+            server.stop(1);
+        }
+    }
+
+    // Test a chunked response body is read, so the connection is kept alive
+    @Test
+    public void httpChunkedResponse() throws IOException {
+        InetSocketAddress address = new InetSocketAddress(0);
+        HttpServer server = HttpServer.create(address, 0);
+        int port = server.getAddress().getPort();
+        List<String> bodies = Collections.synchronizedList(new ArrayList<>());
+        Set<Integer> clientPorts = Collections.synchronizedSet(new HashSet<>());
+        server.createContext("/chunked", xchg -> {
+            clientPorts.add(xchg.getRemoteAddress().getPort());
+            Bytes<byte[]> bytes = Bytes.allocateElasticOnHeap();
+            int ch;
+            for (InputStream is = xchg.getRequestBody(); (ch = is.read()) >= 0; )
+                bytes.writeUnsignedByte(ch);
+            bodies.add(bytes.toString());
+            // a length of 0 sends the body chunked
+            xchg.sendResponseHeaders(200, 0);
+            try (OutputStream os = xchg.getResponseBody()) {
+                os.write("accepted".getBytes(StandardCharsets.ISO_8859_1));
+            }
+        });
+        server.start();
+        try {
+            @SuppressWarnings("deprecation")
+            final URL url = new URL("http://localhost:" + port + "/chunked");
+            try (HTTPMarshallableOut out = (HTTPMarshallableOut) MarshallableOut.builder(url)
+                    .batchBytes(128)
+                    .get()) {
+                ITop top = out.methodWriter(ITop.class);
+                for (int i = 0; i < 20; i++)
+                    top.mid("mid")
+                            .next(i)
+                            .echo("echo-" + i);
+            }
+            assertTrue(bodies.toString(), bodies.size() > 1);
+            assertEquals(clientPorts.toString(), 1, clientPorts.size());
+        } finally {
+            server.stop(1);
+        }
+    }
+
     // Another HTTP test that might be used in conjunction with queue-web-gateway. This is a work in progress.
     @Ignore("test was added to work with queue-web-gateway, so work in progress")
     @Test
@@ -21,13 +21,21 @@ package net.openhft.chronicle.wire;
 import net.openhft.chronicle.bytes.Bytes;
 import net.openhft.chronicle.bytes.HexDumpBytes;
 import net.openhft.chronicle.bytes.MethodReader;
+import net.openhft.chronicle.bytes.MethodReaderInterceptorReturns;
 import net.openhft.chronicle.core.OS;
+import net.openhft.chronicle.core.util.InvocationTargetRuntimeException;
 import net.openhft.chronicle.wire.marshallable.TriviallyCopyableMarketData;
+import org.jetbrains.annotations.NotNull;
 import org.junit.Assert;
 import org.junit.Assume;
 import org.junit.Test;
 
-import static org.junit.Assert.assertEquals;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
 
 // Extend WireTestCommon to inherit common utility and setup methods for wire tests
 @SuppressWarnings("deprecation")
@@ -133,6 +141,51 @@ public class VanillaMethodReaderTest extends net.openhft.chronicle.wire.WireTest
         }
     }
 
+    // A subclass overriding invoke(Object, Method, Object[]) still sees every call
+    @Test
+    public void overriddenInvokeIsCalled() {
+        Wire w = new TextWire(Bytes.allocateElasticOnHeap());
+        MyMethod writer = w.methodWriterBuilder(MyMethod.class).build();
+        writer.msg("hi");
+        writer.msg("there");
+
+        final List<String> calls = new ArrayList<>();
+        final List<String> values = new ArrayList<>();
+        MethodReader reader = new VanillaMethodReader(w, true,
+                VanillaMethodReaderBuilder.createDefaultParselet(null), (MethodReaderInterceptorReturns) null, (Object[]) null,
+                (MyMethod) values::add) {
+            @Override
+            protected Object invoke(Object o, @NotNull Method m, Object[] args) {
+                calls.add(m.getName() + " " + Arrays.toString(args));
+                return super.invoke(o, m, args);
+            }
+        };
+        assertTrue(reader.readOne());
+        assertTrue(reader.readOne());
+        assertEquals("[msg [hi], msg [there]]", calls.toString());
+        assertEquals("[hi, there]", values.toString());
+    }
+
+    // An exception thrown by the method is wrapped, as it is by Method.invoke
+    @Test
+    public void exceptionsThrownByTheMethodAreWrapped() {
+        Wire w = new TextWire(Bytes.allocateElasticOnHeap());
+        w.methodWriterBuilder(MyMethod.class).build().msg("hi");
+
+        MethodReader reader = new VanillaMethodReader(w, true,
+                VanillaMethodReaderBuilder.createDefaultParselet(null), (MethodReaderInterceptorReturns) null, (Object[]) null,
+                (MyMethod) str -> {
+                    throw new NullPointerException(str);
+                });
+        try {
+            reader.readOne();
+            fail();
+        } catch (InvocationTargetRuntimeException e) {
+            assertTrue(e.getCause() instanceof NullPointerException);
+            assertEquals("hi", e.getCause().getMessage());
+        }
+    }
+
     // Define an interface representing a method to handle market data
     interface ITCO {
         void marketData(TriviallyCopyableMarketData tcmd);
@@ -0,0 +1,120 @@
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.BytesUtil;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class WireDumperStreamingTest extends WireTestCommon {
+
+    @Test
+    public void parallelMatchesAsString() throws IOException {
+        for (boolean padding : new boolean[]{false, true}) {
+            Bytes<?> bytes = Bytes.allocateElasticDirect();
+            try {
+                Wire wire = WireType.BINARY_LIGHT.apply(bytes);
+                wire.usePadding(padding);
+                // enough for a few ranges
+                for (int i = 0; bytes.writePosition() < 3 * WireDumper.CHUNK_SIZE; i++) {
+                    final int n = i;
+                    wire.writeDocument(i % 100 == 0, w -> w.write("event").text("value-" + n)
+                            .write("price").float64(n / 8.0));
+                }
+                // and an incomplete document at the end
+                if (padding)
+                    bytes.writeSkip(BytesUtil.padOffset(bytes.writePosition()));
+                bytes.writeInt(Wires.NOT_COMPLETE | 16);
+
+                for (boolean abbrev : new boolean[]{false, true}) {
+                    final String expected = WireDumper.of(bytes, padding).asString(abbrev);
+                    assertTrue(expected.length() > WireDumper.CHUNK_SIZE);
+
+                    StringBuilder sb = new StringBuilder();
+                    WireDumper.of(bytes, padding).dumpTo(sb, abbrev, 4);
+                    assertEquals(expected, sb.toString());
+
+                    sb.setLength(0);
+                    WireDumper.of(bytes, padding).dumpTo(sb, abbrev, 1);
+                    assertEquals(expected, sb.toString());
+
+                    ByteArrayOutputStream out = new ByteArrayOutputStream();
+                    WireDumper.of(bytes, padding).dumpTo(out, abbrev);
+                    assertEquals(expected, new String(out.toByteArray(), StandardCharsets.ISO_8859_1));
+                }
+            } finally {
+                bytes.releaseLast();
+            }
+        }
+    }
+
+    @Test
+    public void stopsWhereAsStringStops() throws IOException {
+        // an empty document and a document being written, each followed by more than a range of documents
+        for (int header : new int[]{Wires.META_DATA, Wires.NOT_COMPLETE | 16}) {
+            Bytes<?> bytes = Bytes.allocateElasticDirect();
+            try {
+                Wire wire = WireType.BINARY_LIGHT.apply(bytes);
+                writeDocuments(wire, 2 * WireDumper.CHUNK_SIZE);
+                bytes.writeInt(header);
+                for (int i = 0; i < Wires.lengthOf(header); i++)
+                    bytes.writeByte((byte) 0);
+                writeDocuments(wire, 4 * WireDumper.CHUNK_SIZE);
+
+                for (boolean abbrev : new boolean[]{false, true}) {
+                    final String expected = WireDumper.of(bytes).asString(abbrev);
+                    StringBuilder sb = new StringBuilder();
+                    WireDumper.of(bytes).dumpTo(sb, abbrev, 4);
+                    assertEquals(expected, sb.toString());
+                }
+            } finally {
+                bytes.releaseLast();
+            }
+        }
+    }
+
+    @Test
+    public void stopsAfterARangeWhichThrew() throws IOException {
+        Bytes<?> bytes = Bytes.allocateElasticDirect();
+        try {
+            // a document of only spaces, which can't be dumped abbreviated as the first document
+            bytes.writeInt(8);
+            bytes.append("        ");
+            writeDocuments(WireType.BINARY_LIGHT.apply(bytes), 3 * WireDumper.CHUNK_SIZE);
+
+            final String expected = WireDumper.of(bytes).asString(true);
+            assertTrue(expected, expected.startsWith(" java.lang."));
+            StringBuilder sb = new StringBuilder();
+            WireDumper.of(bytes).dumpTo(sb, true, 4);
+            assertEquals(expected, sb.toString());
+        } finally {
+            bytes.releaseLast();
+        }
+    }
+
+    private static void writeDocuments(Wire wire, long upTo) {
+        for (int i = 0; wire.bytes().writePosition() < upTo; i++) {
+            final int n = i;
+            wire.writeDocument(false, w -> w.write("event").text("value-" + n));
+        }
+    }
+
+    @Test
+    public void smallInputIsDumpedInOneRange() throws IOException {
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        Wire wire = WireType.BINARY_LIGHT.apply(bytes);
+        wire.writeDocument(false, w -> w.write("hello").text("world"));
+        wire.writeDocument(true, w -> w.write("meta").int32(1));
+
+        StringBuilder sb = new StringBuilder();
+        WireDumper.of(bytes).dumpTo(sb, false, 8);
+        assertEquals(WireDumper.of(bytes).asString(), sb.toString());
+        // the read position is unchanged
+        assertEquals(0, bytes.readPosition());
+    }
+}
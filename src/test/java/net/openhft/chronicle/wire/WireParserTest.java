@@ -22,6 +22,8 @@ import net.openhft.chronicle.bytes.Bytes;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 public class WireParserTest extends WireTestCommon {
 
@@ -39,4 +41,26 @@ public class WireParserTest extends WireTestCommon {
         // Assert that there are no more bytes left to read from the wire.
         assertEquals(0, wire.bytes().readRemaining());
     }
+
+    @Test
+    public void lookupManyNames() {
+        VanillaWireParser parser = new VanillaWireParser((s, v) -> v.skipValue(), VanillaWireParser.SKIP_READABLE_BYTES);
+        WireParselet[] parselets = new WireParselet[100];
+        for (int i = 0; i < parselets.length; i++) {
+            parselets[i] = (s, v) -> v.skipValue();
+            parser.register("event" + i, parselets[i]);
+        }
+        // replaces the previous registration
+        WireParselet replaced = (s, v) -> v.skipValue();
+        parser.register("event7", replaced);
+
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < parselets.length; i++) {
+            sb.setLength(0);
+            sb.append("event").append(i);
+            assertSame(i == 7 ? replaced : parselets[i], parser.lookup(sb));
+        }
+        assertNull(parser.lookup("event100"));
+        assertNull(parser.lookup(""));
+    }
 }
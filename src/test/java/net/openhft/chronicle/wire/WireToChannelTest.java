@@ -0,0 +1,118 @@
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.core.OS;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class WireToChannelTest extends WireTestCommon {
+
+    private static final int COUNT = 1000;
+
+    private File file;
+    private File file2;
+
+    @Before
+    public void createFiles() {
+        file = new File(OS.getTarget(), "WireToChannelTest-" + System.nanoTime());
+        file2 = new File(file.getPath() + "-2");
+    }
+
+    @After
+    public void deleteFiles() {
+        file.delete();
+        file2.delete();
+    }
+
+    @Test
+    public void roundTripInSmallChunks() throws IOException {
+        writeDocuments(file, 4096);
+        // documents span the chunks read
+        readDocuments(file, 100);
+    }
+
+    @Test
+    public void documentLargerThanAChunk() throws IOException {
+        final String large = new String(new char[10_000]).replace('\0', 'x');
+        try (FileChannel fc = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             WireToChannel out = new WireToChannel(WireType.BINARY_LIGHT, fc, 256)) {
+            out.getWire().write("text").text(large);
+            out.getWire().write("n").int64(1);
+        }
+        try (FileChannel fc = FileChannel.open(file.toPath());
+             ChannelToWire in = new ChannelToWire(WireType.BINARY_LIGHT, fc, 256)) {
+            assertEquals(large, in.readOne().read("text").text());
+            assertEquals(1, in.readOne().read("n").int64());
+            assertNull(in.readOne());
+        }
+    }
+
+    @Test
+    public void compatibleWithStreams() throws IOException {
+        try (OutputStream os = new FileOutputStream(file)) {
+            WireToOutputStream out = new WireToOutputStream(WireType.BINARY_LIGHT, os);
+            for (int i = 0; i < COUNT; i++) {
+                writeDocument(out.getWire(), i);
+                out.flush();
+            }
+        }
+        readDocuments(file, 1024);
+
+        writeDocuments(file2, 512);
+        try (InputStream is = new FileInputStream(file2)) {
+            InputStreamToWire in = new InputStreamToWire(WireType.BINARY_LIGHT, is);
+            for (int i = 0; i < COUNT; i++)
+                checkDocument(in.readOne(), i);
+        }
+    }
+
+    @Test
+    public void transferFromAFile() throws IOException {
+        writeDocuments(file, 1024);
+        try (FileChannel from = FileChannel.open(file.toPath());
+             FileChannel to = FileChannel.open(file2.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             WireToChannel out = new WireToChannel(WireType.BINARY_LIGHT, to)) {
+            assertEquals(from.size(), out.transferFrom(from, 0, from.size()));
+        }
+        readDocuments(file2, ChannelToWire.DEFAULT_CHUNK_SIZE);
+    }
+
+    private static void writeDocuments(File file, int batchSize) throws IOException {
+        try (FileChannel fc = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             WireToChannel out = new WireToChannel(WireType.BINARY_LIGHT, fc, batchSize)) {
+            for (int i = 0; i < COUNT; i++)
+                writeDocument(out.getWire(), i);
+        }
+    }
+
+    private static void readDocuments(File file, int chunkSize) throws IOException {
+        try (FileChannel fc = FileChannel.open(file.toPath());
+             ChannelToWire in = new ChannelToWire(WireType.BINARY_LIGHT, fc, chunkSize)) {
+            for (int i = 0; i < COUNT; i++)
+                checkDocument(in.readOne(), i);
+            assertNull(in.readOne());
+        }
+    }
+
+    private static void writeDocument(Wire wire, int i) {
+        wire.write("n").int64(i)
+                .write("text").text("hello-" + i);
+    }
+
+    private static void checkDocument(Wire wire, int i) {
+        assertEquals(i, wire.read("n").int64());
+        assertEquals("hello-" + i, wire.read("text").text());
+    }
+}
@@ -0,0 +1,180 @@
+package net.openhft.chronicle.wire.channel;
+
+import net.openhft.chronicle.core.io.ClosedIORuntimeException;
+import net.openhft.chronicle.threads.Pauser;
+import net.openhft.chronicle.threads.PauserMode;
+import net.openhft.chronicle.wire.DocumentContext;
+import net.openhft.chronicle.wire.ValueIn;
+import net.openhft.chronicle.wire.WireTestCommon;
+import net.openhft.chronicle.wire.channel.echo.EchoHandler;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+@SuppressWarnings("deprecation")
+public class ChannelRpcClientTest extends WireTestCommon {
+
+    @Test
+    public void pipelinedRequests() {
+        try (ChronicleContext context = ChronicleContext.newContext("tcp://:0")) {
+            ChronicleChannel channel = context.newChannelSupplier(new EchoHandler()).pauserMode(PauserMode.busy).connectionTimeoutSecs(1).get();
+            ChannelRpcClient client = new ChannelRpcClient(channel, 64, 10_000);
+
+            final int count = 10_000;
+            final long[] replies = new long[count + 1];
+            final List<String> errors = new ArrayList<>();
+            final ChannelRpcClient.ReplyHandler handler = new ChannelRpcClient.ReplyHandler() {
+                @Override
+                public void onReply(long correlationId, CharSequence event, ValueIn in) {
+                    final long value = in.int64();
+                    if (!"echo".contentEquals(event) || value != correlationId * 10)
+                        errors.add(correlationId + " " + event + " " + value);
+                    replies[(int) correlationId]++;
+                }
+
+                @Override
+                public void onTimeout(long correlationId) {
+                    errors.add("timeout " + correlationId);
+                }
+            };
+
+            int sent = 0, received = 0;
+            int maxInFlight = 0;
+            while (received < count) {
+                // fill the window
+                while (sent < count) {
+                    final long expected = sent + 1;
+                    final long id = client.request("echo", expected * 10, handler);
+                    if (id < 0)
+                        break;
+                    assertEquals(expected, id);
+                    sent++;
+                }
+                maxInFlight = Math.max(maxInFlight, client.inFlight());
+                assertTrue(client.inFlight() <= 64);
+                received += client.poll();
+            }
+            assertEquals("[]", errors.toString());
+            assertEquals(0, client.inFlight());
+            for (int i = 1; i <= count; i++)
+                assertEquals(1, replies[i]);
+            // more than one request was outstanding at once
+            assertTrue(maxInFlight > 1);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void blockingChannel() {
+        try (ChronicleContext context = ChronicleContext.newContext("tcp://:0")) {
+            ChronicleChannel channel = context.newChannelSupplier(new EchoHandler()).connectionTimeoutSecs(1).get();
+            new ChannelRpcClient(channel, 4, 10);
+        }
+    }
+
+    @Test
+    public void timeout() {
+        try (ChronicleContext context = ChronicleContext.newContext("tcp://:0")) {
+            ChronicleChannel channel = context.newChannelSupplier(new DroppingHandler()).pauserMode(PauserMode.busy).connectionTimeoutSecs(1).get();
+            ChannelRpcClient client = new ChannelRpcClient(channel, 4, 10);
+
+            final List<Long> timedOut = new ArrayList<>();
+            final ChannelRpcClient.ReplyHandler handler = new ChannelRpcClient.ReplyHandler() {
+                @Override
+                public void onReply(long correlationId, CharSequence event, ValueIn in) {
+                    fail("Unexpected reply " + correlationId);
+                }
+
+                @Override
+                public void onTimeout(long correlationId) {
+                    timedOut.add(correlationId);
+                }
+            };
+            for (int i = 0; i < 4; i++)
+                assertEquals(i + 1, client.request("lost", i, handler));
+            assertEquals(-1, client.request("lost", 4, handler));
+
+            // the requests are dropped, so only polling times them out
+            final long end = System.currentTimeMillis() + 5_000;
+            int count = 0;
+            while (count < 4 && System.currentTimeMillis() < end)
+                count += client.poll();
+            assertEquals(4, count);
+            assertEquals("[1, 2, 3, 4]", timedOut.toString());
+            assertEquals(0, client.inFlight());
+            assertEquals(0, client.poll());
+
+            // the window is free again
+            assertEquals(5, client.request("lost", 5, handler));
+        }
+    }
+
+    @Test
+    public void slowRequestOnlyHoldsItsSlot() {
+        try (ChronicleContext context = ChronicleContext.newContext("tcp://:0")) {
+            ChronicleChannel channel = context.newChannelSupplier(new DroppingHandler()).pauserMode(PauserMode.busy).connectionTimeoutSecs(1).get();
+            // a ring of 8 slots
+            ChannelRpcClient client = new ChannelRpcClient(channel, 5, 60_000);
+
+            final List<Long> replies = new ArrayList<>();
+            final ChannelRpcClient.ReplyHandler handler = (correlationId, event, in) -> replies.add(correlationId);
+            // the first request has no reply, and stays in flight
+            assertEquals(1, client.request("lost", 1, handler));
+            for (long id = 2; id <= 5; id++)
+                assertEquals(id, client.request("echo", id, handler));
+            assertEquals(-1, client.request("echo", 6, handler));
+
+            while (client.inFlight() > 1)
+                client.poll();
+            assertEquals("[2, 3, 4, 5]", replies.toString());
+
+            // ids 6 to 8 use free slots, id 9 would need the slot of id 1
+            for (long id = 6; id <= 8; id++)
+                assertEquals(id, client.request("echo", id, handler));
+            assertEquals(4, client.inFlight());
+            assertEquals(-1, client.request("echo", 9, handler));
+
+            while (client.inFlight() > 1)
+                client.poll();
+            assertEquals("[2, 3, 4, 5, 6, 7, 8]", replies.toString());
+        }
+    }
+
+    /**
+     * Echoes each request, except those with the event "lost", which are dropped.
+     */
+    public static class DroppingHandler extends AbstractHandler<DroppingHandler> {
+        @Override
+        public void run(ChronicleContext context, ChronicleChannel channel) throws ClosedIORuntimeException {
+            Pauser pauser = Pauser.balanced();
+            StringBuilder event = new StringBuilder();
+            while (!channel.isClosed()) {
+                try (DocumentContext dc = channel.readingDocument()) {
+                    if (!dc.isPresent()) {
+                        pauser.pause();
+                        continue;
+                    }
+                    pauser.reset();
+                    if (dc.isMetaData())
+                        continue;
+                    final long pos = dc.wire().bytes().readPosition();
+                    ChannelRpcClient.readCorrelationId(dc.wire());
+                    dc.wire().read(event);
+                    if ("lost".contentEquals(event))
+                        continue;
+                    dc.wire().bytes().readPosition(pos);
+                    try (DocumentContext dc2 = channel.writingDocument()) {
+                        dc.wire().copyTo(dc2.wire());
+                    }
+                }
+            }
+        }
+
+        @Override
+        public ChronicleChannel asInternalChannel(ChronicleContext context, ChronicleChannelCfg<?> channelCfg) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
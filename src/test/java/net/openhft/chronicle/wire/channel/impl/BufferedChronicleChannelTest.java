@@ -0,0 +1,345 @@
+package net.openhft.chronicle.wire.channel.impl;
+
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.io.ClosedIORuntimeException;
+import net.openhft.chronicle.threads.Pauser;
+import net.openhft.chronicle.wire.ClassIdLookup;
+import net.openhft.chronicle.wire.DocumentContext;
+import net.openhft.chronicle.wire.SelfDescribingMarshallable;
+import net.openhft.chronicle.wire.WireOut;
+import net.openhft.chronicle.wire.WireTestCommon;
+import net.openhft.chronicle.wire.channel.*;
+import net.openhft.chronicle.wire.channel.echo.EchoHandler;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.*;
+
+@SuppressWarnings("deprecation")
+public class BufferedChronicleChannelTest extends WireTestCommon {
+    static final List<Long> RECEIVED = new CopyOnWriteArrayList<>();
+    static volatile boolean reading;
+
+    private static void write(ChronicleChannel channel, long value) {
+        try (DocumentContext dc = channel.writingDocument()) {
+            dc.wire().write("value").int64(value);
+        }
+    }
+
+    // credit is read by readingDocument()
+    private static void readUntil(ChronicleChannel channel, BooleanSupplier done) {
+        final long end = System.currentTimeMillis() + 10_000;
+        while (!done.getAsBoolean()) {
+            try (DocumentContext dc = channel.readingDocument()) {
+                if (!dc.isPresent())
+                    Jvm.pause(1);
+            }
+            if (System.currentTimeMillis() > end)
+                fail("Timed out, received " + RECEIVED);
+        }
+    }
+
+    @Before
+    public void reset() {
+        RECEIVED.clear();
+        reading = false;
+    }
+
+    @Test
+    public void dropWithoutCredit() {
+        try (ChronicleContext context = ChronicleContext.newContext("tcp://:0").buffered(true)) {
+            BufferedChronicleChannel channel = (BufferedChronicleChannel) context.newChannelSupplier(new GatedHandler()).connectionTimeoutSecs(1).get();
+            assertEquals(Long.MAX_VALUE, channel.credit());
+
+            List<Long> credits = new ArrayList<>();
+            channel.flowControl(10, BufferedChronicleChannel.OverflowPolicy.DROP)
+                    .creditListener(credits::add);
+            assertEquals(10, channel.credit());
+
+            // the peer isn't reading
+            for (int i = 0; i < 100; i++)
+                write(channel, i);
+            assertEquals(0, channel.credit());
+            assertEquals(90, channel.dropped());
+
+            reading = true;
+            readUntil(channel, () -> channel.credit() == 10);
+            assertEquals("[0, 1, 2, 3, 4, 5, 6, 7, 8, 9]", RECEIVED.toString());
+            // granted after every half window read
+            assertEquals("[5, 10]", credits.toString());
+
+            write(channel, 100);
+            readUntil(channel, () -> RECEIVED.size() == 11);
+            assertEquals(100L, (long) RECEIVED.get(10));
+            assertEquals(90, channel.dropped());
+        }
+    }
+
+    @Test
+    public void dropFromManyThreads() throws InterruptedException {
+        try (ChronicleContext context = ChronicleContext.newContext("tcp://:0").buffered(true)) {
+            BufferedChronicleChannel channel = (BufferedChronicleChannel) context.newChannelSupplier(new GatedHandler()).connectionTimeoutSecs(1).get();
+            channel.flowControl(10, BufferedChronicleChannel.OverflowPolicy.DROP);
+
+            List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                final long base = t * 1000L;
+                Thread thread = new Thread(() -> {
+                    for (int i = 0; i < 100; i++)
+                        write(channel, base + i);
+                });
+                thread.start();
+                threads.add(thread);
+            }
+            for (Thread thread : threads)
+                thread.join();
+            assertEquals(0, channel.credit());
+            assertEquals(390, channel.dropped());
+
+            reading = true;
+            readUntil(channel, () -> channel.credit() == 10);
+            assertEquals(10, RECEIVED.size());
+        }
+    }
+
+    @Test
+    public void blockWithoutCredit() throws InterruptedException {
+        try (ChronicleContext context = ChronicleContext.newContext("tcp://:0").buffered(true)) {
+            BufferedChronicleChannel channel = (BufferedChronicleChannel) context.newChannelSupplier(new GatedHandler()).connectionTimeoutSecs(1).get();
+            channel.flowControl(2, BufferedChronicleChannel.OverflowPolicy.BLOCK);
+
+            final AtomicInteger written = new AtomicInteger();
+            Thread writer = new Thread(() -> {
+                for (int i = 0; i < 10; i++) {
+                    write(channel, i);
+                    written.incrementAndGet();
+                }
+            });
+            writer.start();
+
+            // the peer isn't reading, so the writer waits after the window
+            final long end = System.currentTimeMillis() + 10_000;
+            while (written.get() < 2 && System.currentTimeMillis() < end)
+                Jvm.pause(1);
+            Jvm.pause(100);
+            assertEquals(2, written.get());
+            assertEquals(0, channel.credit());
+
+            reading = true;
+            readUntil(channel, () -> RECEIVED.size() == 10);
+            writer.join(10_000);
+            assertEquals(10, written.get());
+            assertEquals("[0, 1, 2, 3, 4, 5, 6, 7, 8, 9]", RECEIVED.toString());
+            assertEquals(0, channel.dropped());
+        }
+    }
+
+    @Test
+    public void acquireProducerUsesCredit() {
+        try (ChronicleContext context = ChronicleContext.newContext("tcp://:0").buffered(true)) {
+            BufferedChronicleChannel channel = (BufferedChronicleChannel) context.newChannelSupplier(new GatedHandler()).connectionTimeoutSecs(1).get();
+            List<Long> credits = new ArrayList<>();
+            channel.flowControl(4, BufferedChronicleChannel.OverflowPolicy.DROP)
+                    .creditListener(credits::add);
+
+            // always sent, even beyond the window
+            WireOut out = channel.acquireProducer();
+            try {
+                for (int i = 0; i < 6; i++) {
+                    try (DocumentContext dc = out.writingDocument(false)) {
+                        dc.wire().write("value").int64(i);
+                    }
+                }
+                try (DocumentContext dc = out.writingDocument(true)) {
+                    dc.wire().write("meta").int64(0);
+                }
+            } finally {
+                channel.releaseProducer();
+            }
+            assertEquals(-2, channel.credit());
+            write(channel, 6);
+            assertEquals(1, channel.dropped());
+
+            reading = true;
+            readUntil(channel, () -> RECEIVED.size() == 6 && channel.credit() == 4);
+            assertEquals("[0, 1, 2, 3, 4, 5]", RECEIVED.toString());
+            // the credit granted never takes it past the window
+            for (long credit : credits)
+                assertTrue(credits.toString(), credit <= 4);
+        }
+    }
+
+    @Test
+    public void conflateWithoutCredit() {
+        try (ChronicleContext context = ChronicleContext.newContext("tcp://:0").buffered(true)) {
+            BufferedChronicleChannel channel = (BufferedChronicleChannel) context.newChannelSupplier(new GatedHandler()).connectionTimeoutSecs(1).get();
+            channel.flowControl(2, BufferedChronicleChannel.OverflowPolicy.CONFLATE);
+
+            for (int i = 0; i < 10; i++)
+                write(channel, i);
+            assertEquals(0, channel.credit());
+            assertEquals(0, channel.dropped());
+
+            // only the latest message is sent when credit is granted
+            reading = true;
+            readUntil(channel, () -> RECEIVED.size() == 3 && channel.credit() == 2);
+            assertEquals("[0, 1, 9]", RECEIVED.toString());
+
+            write(channel, 10);
+            readUntil(channel, () -> RECEIVED.size() == 4);
+            assertEquals("[0, 1, 9, 10]", RECEIVED.toString());
+        }
+    }
+
+    @Test
+    public void conflateWhileCreditArrives() throws InterruptedException {
+        try (ChronicleContext context = ChronicleContext.newContext("tcp://:0").buffered(true)) {
+            BufferedChronicleChannel channel = (BufferedChronicleChannel) context.newChannelSupplier(new GatedHandler()).connectionTimeoutSecs(1).get();
+            channel.flowControl(2, BufferedChronicleChannel.OverflowPolicy.CONFLATE);
+            reading = true;
+
+            // each value is taken once the message is started, so a later value is a later message
+            final AtomicLong sequence = new AtomicLong();
+            final int perThread = 5_000;
+            List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < 2; t++) {
+                Thread thread = new Thread(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        try (DocumentContext dc = channel.writingDocument()) {
+                            dc.wire().write("value").int64(sequence.incrementAndGet());
+                        }
+                    }
+                });
+                thread.start();
+                threads.add(thread);
+            }
+            // credit arrives, and conflated messages are sent, while the writers are running
+            final long last = 2L * perThread;
+            readUntil(channel, () -> !RECEIVED.isEmpty() && RECEIVED.get(RECEIVED.size() - 1) == last);
+            for (Thread thread : threads)
+                thread.join();
+
+            // a message waiting is never sent after a later one
+            for (int i = 1; i < RECEIVED.size(); i++)
+                assertTrue(RECEIVED.get(i - 1) + " then " + RECEIVED.get(i), RECEIVED.get(i - 1) < RECEIVED.get(i));
+        }
+    }
+
+    @Test
+    public void acceptorUsesTheClassIdsAgreedInTheHandshake() throws Exception {
+        final ClassIdLookup classIds = new ClassIdLookup().register(Fill.class);
+        final List<String> serverRead = new CopyOnWriteArrayList<>();
+        final CountDownLatch replyRead = new CountDownLatch(1);
+        try (ServerSocketChannel ssc = ServerSocketChannel.open()) {
+            ssc.bind(new InetSocketAddress("localhost", 0));
+            final int port = ((InetSocketAddress) ssc.getLocalAddress()).getPort();
+            Thread server = new Thread(() -> {
+                try {
+                    SocketChannel sc = ssc.accept();
+                    ChronicleChannelCfg<?> cfg = new ChronicleChannelCfg<>().addHostnamePort(null, port);
+                    TCPChronicleChannel tcp = new TCPChronicleChannel(SystemContext.INSTANCE, cfg, sc, h -> h, h -> null);
+                    // wrapped before the handshake, as ChronicleServiceMain does
+                    try (BufferedChronicleChannel channel = new BufferedChronicleChannel(tcp, Pauser.balanced())) {
+                        channel.headerInToUse();
+                        Object fill = null;
+                        while (fill == null) {
+                            try (DocumentContext dc = channel.readingDocument()) {
+                                if (!dc.isPresent() || dc.isMetaData())
+                                    continue;
+                                serverRead.add(dc.wire().bytes().toString());
+                                fill = dc.wire().read("fill").object();
+                                serverRead.add(String.valueOf(fill));
+                            }
+                        }
+                        try (DocumentContext dc = channel.writingDocument()) {
+                            dc.wire().write("fill").object(fill);
+                        }
+                        replyRead.await(10, TimeUnit.SECONDS);
+                    }
+                } catch (Throwable t) {
+                    serverRead.add(t.toString());
+                }
+            }, "acceptor-test");
+            server.start();
+
+            ChronicleChannelCfg<?> cfg = new ChronicleChannelCfg<>().addHostnamePort("localhost", port).initiator(true).buffered(true);
+            try (ChronicleChannel client = ChronicleChannel.newChannel(null, cfg, new EchoHandler().classIds(classIds))) {
+                try (DocumentContext dc = client.writingDocument()) {
+                    dc.wire().write("fill").object(new Fill(12));
+                }
+                String raw = null;
+                Object reply = null;
+                final long end = System.currentTimeMillis() + 10_000;
+                while (reply == null && System.currentTimeMillis() < end) {
+                    try (DocumentContext dc = client.readingDocument()) {
+                        if (!dc.isPresent() || dc.isMetaData())
+                            continue;
+                        raw = dc.wire().bytes().toString();
+                        reply = dc.wire().read("fill").object();
+                    }
+                }
+                replyRead.countDown();
+                server.join(10_000);
+
+                // the server read an id rather than a class name
+                assertEquals(2, serverRead.size());
+                assertFalse(serverRead.get(0), serverRead.get(0).contains(Fill.class.getName()));
+                assertEquals(new Fill(12).toString(), serverRead.get(1));
+
+                // and the buffered server wrote one
+                assertEquals(new Fill(12), reply);
+                assertFalse(raw, raw.contains(Fill.class.getName()));
+            }
+        }
+    }
+
+    public static class Fill extends SelfDescribingMarshallable {
+        long qty;
+
+        public Fill(long qty) {
+            this.qty = qty;
+        }
+    }
+
+    /**
+     * Records the values received, only reading once the test allows it.
+     */
+    public static class GatedHandler extends AbstractHandler<GatedHandler> {
+        @Override
+        public void run(ChronicleContext context, ChronicleChannel channel) throws ClosedIORuntimeException {
+            Pauser pauser = Pauser.balanced();
+            while (!channel.isClosed()) {
+                if (!reading) {
+                    pauser.pause();
+                    continue;
+                }
+                try (DocumentContext dc = channel.readingDocument()) {
+                    if (!dc.isPresent()) {
+                        pauser.pause();
+                        continue;
+                    }
+                    if (!dc.isMetaData())
+                        RECEIVED.add(dc.wire().read("value").int64());
+                    pauser.reset();
+                }
+            }
+        }
+
+        @Override
+        public ChronicleChannel asInternalChannel(ChronicleContext context, ChronicleChannelCfg<?> channelCfg) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package net.openhft.chronicle.wire.domestic.streaming.reduction;
+
+import net.openhft.chronicle.wire.Wire;
+import net.openhft.chronicle.wire.WireTestCommon;
+import net.openhft.chronicle.wire.domestic.extractor.DocumentExtractor;
+import net.openhft.chronicle.wire.domestic.reduction.Reduction;
+import net.openhft.chronicle.wire.domestic.reduction.Reductions;
+import net.openhft.chronicle.wire.internal.reduction.ReductionUtil;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.LongSupplier;
+import java.util.stream.Collector;
+
+import static java.util.stream.Collectors.counting;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class StripedReductionTest extends WireTestCommon {
+
+    private static final int THREADS = 4;
+    private static final int PER_THREAD = 10_000;
+
+    @Test
+    public void collectingStriped() throws InterruptedException {
+        Reduction<Map<Long, Long>> reduction = Reduction.<Long>of((wire, index) -> index % 3)
+                .collectingStriped(groupingBy(v -> v, TreeMap::new, counting()));
+        runConcurrently(reduction);
+
+        Map<Long, Long> expected = new TreeMap<>();
+        for (long i = 0; i < PER_THREAD; i++)
+            expected.merge(i % 3, (long) THREADS, Long::sum);
+        assertEquals(expected, reduction.reduction());
+        // reading the reduction doesn't change it
+        assertEquals(expected, reduction.reduction());
+    }
+
+    @Test
+    public void collectingStripedReadTwice() throws InterruptedException {
+        // more than one stripe however many processors there are, so partial results are combined
+        DocumentExtractor<Long> extractor = (wire, index) -> index % 3;
+        Collector<Long, ?, TreeMap<Long, Long>> collector = groupingBy(v -> v, TreeMap::new, counting());
+        Reduction<Map<Long, Long>> reduction = new ReductionUtil.StripedCollectorReduction<>(extractor, collector, 4);
+        runConcurrently(reduction, 16);
+
+        Map<Long, Long> expected = new TreeMap<>();
+        for (long i = 0; i < PER_THREAD; i++)
+            expected.merge(i % 3, 16L, Long::sum);
+        final Map<Long, Long> first = reduction.reduction();
+        assertEquals(expected, first);
+        assertEquals(expected, reduction.reduction());
+        final Map<Long, Long> firstCopy = new TreeMap<>(expected);
+
+        // the partial results weren't changed by combining them
+        runConcurrently(reduction, 16);
+        expected.replaceAll((k, v) -> v * 2);
+        assertEquals(expected, reduction.reduction());
+        assertEquals(expected, reduction.reduction());
+        // nor was a result already returned
+        assertEquals(firstCopy, first);
+    }
+
+    @Test
+    public void identityFinishResultIsNotChangedByLaterReads() throws InterruptedException {
+        DocumentExtractor<Long> extractor = (wire, index) -> index;
+        Reduction<List<Long>> reduction = new ReductionUtil.StripedCollectorReduction<>(extractor, toList(), 4);
+        runConcurrently(reduction, 4);
+        final List<Long> first = reduction.reduction();
+        assertEquals(4 * PER_THREAD, first.size());
+
+        runConcurrently(reduction, 4);
+        assertEquals(8 * PER_THREAD, reduction.reduction().size());
+        assertEquals(4 * PER_THREAD, first.size());
+    }
+
+    @Test
+    public void nestedListsAreNotSharedBetweenReads() {
+        DocumentExtractor<Long> extractor = (wire, index) -> index;
+        Reduction<Map<Long, List<Long>>> reduction =
+                new ReductionUtil.StripedCollectorReduction<>(extractor, groupingBy(v -> v % 2, TreeMap::new, toList()), 4);
+        Wire wire = Wire.newYamlWireOnHeap();
+        for (long i = 0; i < 4; i++)
+            reduction.onExcerpt(wire, i);
+        final Map<Long, List<Long>> first = reduction.reduction();
+        assertEquals("{0=[0, 2], 1=[1, 3]}", first.toString());
+
+        for (long i = 4; i < 8; i++)
+            reduction.onExcerpt(wire, i);
+        assertEquals("{0=[0, 2, 4, 6], 1=[1, 3, 5, 7]}", reduction.reduction().toString());
+        // a later read doesn't change a result already returned, nor does changing that result change later reads
+        assertEquals("{0=[0, 2], 1=[1, 3]}", first.toString());
+        first.get(0L).clear();
+        assertEquals("{0=[0, 2, 4, 6], 1=[1, 3, 5, 7]}", reduction.reduction().toString());
+    }
+
+    @Test
+    public void toListKeepsOrderAcrossReads() {
+        DocumentExtractor<String> extractor = (wire, index) -> Character.toString((char) ('a' + index));
+        Reduction<List<String>> reduction = new ReductionUtil.StripedCollectorReduction<>(extractor, toList(), 4);
+        Wire wire = Wire.newYamlWireOnHeap();
+        reduction.onExcerpt(wire, 0);
+        reduction.onExcerpt(wire, 1);
+        final List<String> first = reduction.reduction();
+        assertEquals("[a, b]", first.toString());
+
+        reduction.onExcerpt(wire, 2);
+        reduction.onExcerpt(wire, 3);
+        assertEquals("[a, b, c, d]", reduction.reduction().toString());
+        assertEquals("[a, b, c, d]", reduction.reduction().toString());
+        assertEquals("[a, b]", first.toString());
+    }
+
+    @Test
+    public void joiningKeepsOrderAcrossReads() {
+        DocumentExtractor<String> extractor = (wire, index) -> Character.toString((char) ('a' + index));
+        Reduction<String> reduction = new ReductionUtil.StripedCollectorReduction<>(extractor, joining(","), 4);
+        Wire wire = Wire.newYamlWireOnHeap();
+        reduction.onExcerpt(wire, 0);
+        reduction.onExcerpt(wire, 1);
+        assertEquals("a,b", reduction.reduction());
+
+        reduction.onExcerpt(wire, 2);
+        reduction.onExcerpt(wire, 3);
+        assertEquals("a,b,c,d", reduction.reduction());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void stripesPowerOfTwo() {
+        DocumentExtractor<Long> extractor = (wire, index) -> index;
+        new ReductionUtil.StripedCollectorReduction<>(extractor, counting(), 3);
+    }
+
+    @Test
+    public void summingLong() throws InterruptedException {
+        Reduction<LongSupplier> reduction = Reductions.summingLong((wire, index) -> index);
+        runConcurrently(reduction);
+        assertEquals(THREADS * (PER_THREAD * (PER_THREAD - 1L) / 2), reduction.reduction().getAsLong());
+    }
+
+    @Test
+    public void histogram() throws InterruptedException {
+        Reduction<long[]> reduction = Reductions.histogram((wire, index) -> index, 99, 999, 4999);
+        runConcurrently(reduction);
+        assertArrayEquals(new long[]{THREADS * 100L, THREADS * 900L, THREADS * 4000L, THREADS * 5000L},
+                reduction.reduction());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void histogramBoundsAscending() {
+        Reductions.histogram((wire, index) -> index, 10, 5);
+    }
+
+    private static void runConcurrently(Reduction<?> reduction) throws InterruptedException {
+        runConcurrently(reduction, THREADS);
+    }
+
+    // calls onExcerpt with the indices 0 to PER_THREAD from each of count threads
+    private static void runConcurrently(Reduction<?> reduction, int count) throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < count; t++) {
+            Thread thread = new Thread(() -> {
+                Wire wire = Wire.newYamlWireOnHeap();
+                for (long i = 0; i < PER_THREAD; i++)
+                    reduction.onExcerpt(wire, i);
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads)
+            thread.join();
+    }
+}
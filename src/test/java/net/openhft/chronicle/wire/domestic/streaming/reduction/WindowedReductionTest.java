@@ -0,0 +1,65 @@
+package net.openhft.chronicle.wire.domestic.streaming.reduction;
+
+import net.openhft.chronicle.wire.Wire;
+import net.openhft.chronicle.wire.WireTestCommon;
+import net.openhft.chronicle.wire.domestic.extractor.DocumentExtractor;
+import net.openhft.chronicle.wire.domestic.reduction.Reductions;
+import net.openhft.chronicle.wire.domestic.reduction.WindowedReduction;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class WindowedReductionTest extends WireTestCommon {
+
+    // the value of each excerpt is its index
+    private static final DocumentExtractor<Long> INDEX = (wire, index) -> index;
+
+    @Test
+    public void tumblingWindow() {
+        WindowedReduction<Long> sum = Reductions.windowedByIndex(INDEX, v -> v, 10, 1, WindowedReduction.Operation.SUM);
+        feed(sum, 0, 25);
+        // only 20 to 24
+        assertEquals(110, sum.reduction().getAsLong());
+        assertEquals(20, sum.latestWindowStart());
+        assertEquals(24, sum.lastIndex());
+    }
+
+    @Test
+    public void slidingWindowEvictsOldWindows() {
+        WindowedReduction<Long> max = Reductions.windowed(INDEX, v -> v * 2, v -> -v, 5, 3, WindowedReduction.Operation.MAX);
+        feed(max, 0, 20);
+        // keys 0 to 38 in windows of 5, the last three windows are keys 25 to 38 i.e. indices 13 to 19
+        assertEquals(-13, max.reduction().getAsLong());
+
+        WindowedReduction<Long> count = Reductions.windowedByIndex(INDEX, v -> v, 10, 2, WindowedReduction.Operation.COUNT);
+        feed(count, 0, 35);
+        assertEquals(15, count.reduction().getAsLong());
+        assertEquals(5, count.latestWindowValue());
+        // too old to be counted
+        feed(count, 5, 6);
+        assertEquals(15, count.reduction().getAsLong());
+    }
+
+    @Test
+    public void snapshotAndRestore() {
+        WindowedReduction<Long> sum = Reductions.windowedByIndex(INDEX, v -> v, 10, 3, WindowedReduction.Operation.SUM);
+        feed(sum, 0, 25);
+        Wire snapshot = Wire.newYamlWireOnHeap();
+        sum.writeMarshallable(snapshot);
+
+        WindowedReduction<Long> restored = Reductions.windowedByIndex(INDEX, v -> v, 10, 3, WindowedReduction.Operation.SUM);
+        restored.readMarshallable(snapshot);
+        assertEquals(sum, restored);
+        assertEquals(24, restored.lastIndex());
+
+        feed(sum, 25, 40);
+        feed(restored, 25, 40);
+        assertEquals(sum.reduction().getAsLong(), restored.reduction().getAsLong());
+    }
+
+    private static void feed(WindowedReduction<Long> reduction, long from, long to) {
+        Wire wire = Wire.newYamlWireOnHeap();
+        for (long i = from; i < to; i++)
+            reduction.onExcerpt(wire, i);
+    }
+}
@@ -0,0 +1,82 @@
+package net.openhft.chronicle.wire.domestic.streaming.streams;
+
+import net.openhft.chronicle.wire.MarshallableIn;
+import net.openhft.chronicle.wire.domestic.stream.Streams;
+import net.openhft.chronicle.wire.domestic.streaming.reduction.MarketData;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static net.openhft.chronicle.wire.domestic.streaming.CreateUtil.createThenValueOuts;
+import static org.junit.jupiter.api.Assertions.*;
+
+final class StreamsBatchTest extends net.openhft.chronicle.wire.WireTestCommon {
+
+    @Test
+    void objectsAreReadIntoAReusedRing() {
+        MarshallableIn wire = createThenValueOuts(
+                vo -> vo.object(new MarketData("MSFT", 100, 110, 90)),
+                vo -> vo.object(new MarketData("AAPL", 200, 220, 180)),
+                vo -> vo.object(new MarketData("MSFT", 101, 110, 90))
+        );
+
+        List<Integer> sizes = new ArrayList<>();
+        List<String> symbols = new ArrayList<>();
+        Set<MarketData> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        Streams.forEachBatch(wire, MarketData.class, MarketData::new, 2, batch -> {
+            sizes.add(batch.size());
+            for (MarketData md : batch) {
+                symbols.add(md.symbol());
+                seen.add(md);
+            }
+        });
+
+        assertEquals(Arrays.asList(2, 1), sizes);
+        assertEquals(Arrays.asList("MSFT", "AAPL", "MSFT"), symbols);
+        // only the two objects in the ring were used
+        assertEquals(2, seen.size());
+    }
+
+    @Test
+    void longsAreReadIntoAColumn() {
+        MarshallableIn wire = createThenValueOuts(
+                vo -> vo.int64(1),
+                vo -> vo.int64(Long.MIN_VALUE),
+                vo -> vo.int64(3),
+                vo -> vo.int64(4)
+        );
+
+        long[] sum = {0};
+        List<Integer> lengths = new ArrayList<>();
+        Streams.forEachBatchOfLong(wire, (w, index) -> w.getValueIn().int64(), 2, (values, length) -> {
+            lengths.add(length);
+            for (int i = 0; i < length; i++)
+                sum[0] += values[i];
+        });
+        assertEquals(Arrays.asList(2, 1), lengths);
+        assertEquals(8, sum[0]);
+    }
+
+    @Test
+    void doublesAreReadIntoAColumn() {
+        MarshallableIn wire = createThenValueOuts(
+                vo -> vo.float64(1.5),
+                vo -> vo.float64(2.5)
+        );
+
+        double[] sum = {0};
+        Streams.forEachBatchOfDouble(wire, (w, index) -> w.getValueIn().float64(), 16, (values, length) -> {
+            for (int i = 0; i < length; i++)
+                sum[0] += values[i];
+        });
+        assertEquals(4.0, sum[0]);
+    }
+
+    @Test
+    void batchSizeMustBePositive() {
+        MarshallableIn wire = createThenValueOuts();
+        assertThrows(IllegalArgumentException.class,
+                () -> Streams.forEachBatchOfLong(wire, (w, index) -> 0, 0, (values, length) -> {
+                }));
+    }
+}
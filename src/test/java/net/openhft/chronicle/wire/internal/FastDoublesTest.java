@@ -0,0 +1,90 @@
+package net.openhft.chronicle.wire.internal;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.wire.JSONWire;
+import net.openhft.chronicle.wire.Wire;
+import net.openhft.chronicle.wire.WireTestCommon;
+import net.openhft.chronicle.wire.YamlWire;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class FastDoublesTest extends WireTestCommon {
+
+    @Test
+    public void parseMatchesDoubleParseDouble() {
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        String[] texts = {"0", "0.0", "1", "-1.5", "123.456", "0.000123", "1e3", "1.25E-5", "-9.99e+10",
+                "999999999999999", "0.1", "1234567.8912345", "12345678901234567890", "1e300", "4.9e-324", "-0.0"};
+        for (String text : texts) {
+            bytes.clear().append(text).append(',');
+            assertEquals(text, Double.parseDouble(text), FastDoubles.parseDouble(bytes), 0.0);
+            // the terminator is read, like Bytes.parseDouble()
+            assertEquals(text, 0, bytes.readRemaining());
+        }
+    }
+
+    @Test
+    public void parseRandomPrices() {
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        Random random = new Random(1);
+        for (int i = 0; i < 100_000; i++) {
+            long units = random.nextInt(1 << 30);
+            int places = random.nextInt(9);
+            String text = units / (long) Math.pow(10, places) + "." + (units % (long) Math.pow(10, places));
+            bytes.clear().append(text);
+            assertEquals(text, Double.parseDouble(text), FastDoubles.parseDouble(bytes), 0.0);
+        }
+    }
+
+    @Test
+    public void appendFixed() {
+        Bytes<?> bytes = Bytes.allocateElasticOnHeap();
+        assertFixed(bytes, "1.0", 1.0, 4);
+        assertFixed(bytes, "0.25", 0.25, 4);
+        assertFixed(bytes, "-12.125", -12.125, 4);
+        assertFixed(bytes, "0.0013", 0.00125, 4);
+        assertFixed(bytes, "100.0", 99.99999, 4);
+        assertFixed(bytes, "0.0", -0.00001, 4);
+        assertFixed(bytes, "1.1", 1.1, 15);
+        assertFixed(bytes, "3.0", 3.14159, 0);
+
+        bytes.clear();
+        assertFalse(FastDoubles.appendFixed(bytes, Double.NaN, 4));
+        assertFalse(FastDoubles.appendFixed(bytes, 1e300, 4));
+        assertEquals(0, bytes.readRemaining());
+    }
+
+    @Test
+    public void wiresRoundToDecimalPlaces() {
+        Wire yaml = new YamlWire(Bytes.allocateElasticOnHeap()).decimalPlaces(2);
+        yaml.write("price").float64(1.005e2)
+                .write("qty").float64(2.5)
+                .write("large").float64(1e300);
+        final String text = yaml.toString();
+        assertTrue(text, text.startsWith("price: 100.5\nqty: 2.5\n"));
+        assertEquals(100.5, yaml.read("price").float64(), 0.0);
+        assertEquals(2.5, yaml.read("qty").float64(), 0.0);
+        assertEquals(1e300, yaml.read("large").float64(), 0.0);
+
+        Wire json = new JSONWire(Bytes.allocateElasticOnHeap()).decimalPlaces(3);
+        json.write("bid").float64(1.23456)
+                .write("ask").float64(-0.5);
+        assertTrue(json.toString(), json.toString().contains("\"bid\":1.235,\"ask\":-0.5"));
+        assertEquals(1.235, json.read("bid").float64(), 0.0);
+        assertEquals(-0.5, json.read("ask").float64(), 0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decimalPlacesInRange() {
+        new YamlWire(Bytes.allocateElasticOnHeap()).decimalPlaces(16);
+    }
+
+    private static void assertFixed(Bytes<?> bytes, String expected, double d, int decimalPlaces) {
+        bytes.clear();
+        assertTrue(FastDoubles.appendFixed(bytes, d, decimalPlaces));
+        assertEquals(expected, bytes.toString());
+    }
+}
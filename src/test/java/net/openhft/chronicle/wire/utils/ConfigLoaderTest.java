@@ -1,13 +1,20 @@
 package net.openhft.chronicle.wire.utils;
 
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.OS;
 import net.openhft.chronicle.core.pool.ClassAliasPool;
 import net.openhft.chronicle.wire.AbstractMarshallableCfg;
 import org.junit.jupiter.api.Test;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 class ConfigLoaderTest {
     static {
@@ -31,6 +38,131 @@ class ConfigLoaderTest {
         assertEquals(10, config.value());
     }
 
+    @Test
+    void testCached() throws IOException {
+        Properties properties = new Properties();
+        properties.put("config-name", "some name");
+        try (ReloadableConfig<SimpleConfig> config = ConfigLoader.cached("utils/simple-config-properties.yaml", properties)) {
+            assertEquals("some name", config.get().name());
+            try (ReloadableConfig<SimpleConfig> same = ConfigLoader.cached("utils/simple-config-properties.yaml", properties)) {
+                // each caller has its own handle to the same configuration
+                assertNotSame(config, same);
+                assertSame(config.get(), same.get());
+            }
+            // the file hasn't changed
+            assertFalse(config.reload());
+
+            properties.put("config-name", "other name");
+            try (ReloadableConfig<SimpleConfig> config2 = ConfigLoader.cached("utils/simple-config-properties.yaml", properties)) {
+                assertNotSame(config.get(), config2.get());
+                assertEquals("other name", config2.get().name());
+            }
+        }
+    }
+
+    @Test
+    void testCloseIsReferenceCounted() throws IOException {
+        File file = new File(OS.getTarget(), "ConfigLoaderTest-" + System.nanoTime() + ".yaml");
+        writeConfig(file, "first", 1);
+        try {
+            ReloadableConfig<SimpleConfig> config = ConfigLoader.cached(file.getAbsolutePath());
+            ReloadableConfig<SimpleConfig> config2 = ConfigLoader.cached(file.getAbsolutePath());
+            assertSame(config.get(), config2.get());
+
+            // one caller closing doesn't affect the other, even if it closes more than once
+            config.close();
+            config.close();
+            assertTrue(config.isClosed());
+            assertThrows(IllegalStateException.class, config::reload);
+            assertFalse(config2.isClosed());
+            writeConfig(file, "second", 2);
+            assertTrue(file.setLastModified(file.lastModified() + 4000));
+            assertTrue(config2.reload());
+            assertEquals("second", config2.get().name());
+
+            // the last to close it removes it from the cache
+            config2.close();
+            assertTrue(config2.isClosed());
+            assertThrows(IllegalStateException.class, config2::reload);
+            try (ReloadableConfig<SimpleConfig> config3 = ConfigLoader.cached(file.getAbsolutePath())) {
+                assertNotSame(config2.get(), config3.get());
+                assertEquals("second", config3.get().name());
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    void testReload() throws IOException {
+        File file = new File(OS.getTarget(), "ConfigLoaderTest-" + System.nanoTime() + ".yaml");
+        writeConfig(file, "first", 1);
+        try (ReloadableConfig<SimpleConfig> config = ConfigLoader.cached(file.getAbsolutePath())) {
+            List<SimpleConfig> loaded = new CopyOnWriteArrayList<>();
+            config.addListener(loaded::add);
+            SimpleConfig first = config.get();
+            assertEquals("first", first.name());
+
+            // touched but not changed
+            assertTrue(file.setLastModified(file.lastModified() + 2000));
+            assertFalse(config.reload());
+            assertSame(first, config.get());
+
+            writeConfig(file, "second", 2);
+            assertTrue(file.setLastModified(file.lastModified() + 4000));
+            assertTrue(config.reload());
+            assertEquals("second", config.get().name());
+            assertEquals(2, config.get().value());
+            assertEquals(1, loaded.size());
+            assertSame(config.get(), loaded.get(0));
+            // the previous object is unchanged
+            assertEquals("first", first.name());
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    void testReloadWithSpaceInPath() throws IOException {
+        File dir = new File(OS.getTarget(), "config dir \u00e9-" + System.nanoTime());
+        assertTrue(dir.mkdirs());
+        File file = new File(dir, "ConfigLoaderTest.yaml");
+        writeConfig(file, "first", 1);
+        try (ReloadableConfig<SimpleConfig> config = ConfigLoader.cached(file.getAbsolutePath())) {
+            assertEquals("first", config.get().name());
+
+            writeConfig(file, "second", 2);
+            assertTrue(file.setLastModified(file.lastModified() + 4000));
+            assertTrue(config.reload());
+            assertEquals("second", config.get().name());
+        } finally {
+            file.delete();
+            dir.delete();
+        }
+    }
+
+    @Test
+    void testWatch() throws IOException {
+        File file = new File(OS.getTarget(), "ConfigLoaderTest-" + System.nanoTime() + ".yaml");
+        writeConfig(file, "first", 1);
+        try (ReloadableConfig<SimpleConfig> config = ConfigLoader.<SimpleConfig>cached(file.getAbsolutePath()).watch()) {
+            writeConfig(file, "second", 2);
+            // some platforms poll for changes
+            for (int i = 0; i < 300 && config.get().value() != 2; i++)
+                Jvm.pause(100);
+            assertEquals("second", config.get().name());
+        } finally {
+            file.delete();
+        }
+    }
+
+    private static void writeConfig(File file, String name, int value) throws IOException {
+        Files.write(file.toPath(), ("!SimpleConfig {\n" +
+                "  name: " + name + ",\n" +
+                "  value: " + value + "\n" +
+                "}\n").getBytes(StandardCharsets.UTF_8));
+    }
+
     static class SimpleConfig extends AbstractMarshallableCfg {
         private String name;
         private int value;
@@ -0,0 +1,156 @@
+package net.openhft.chronicle.wire.utils;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.MethodReader;
+import net.openhft.chronicle.wire.VanillaMethodReader;
+import net.openhft.chronicle.wire.Wire;
+import net.openhft.chronicle.wire.WireTestCommon;
+import net.openhft.chronicle.wire.WireType;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MethodMetricsTest extends WireTestCommon {
+
+    @Test
+    public void countsReaderAndWriterCalls() {
+        Wire wire = WireType.BINARY_LIGHT.apply(Bytes.allocateElasticOnHeap());
+        MethodMetrics metrics = new MethodMetrics();
+
+        Events writer = wire.methodWriterBuilder(Events.class)
+                .updateInterceptor(metrics.updateInterceptor())
+                .build();
+        writer.a(1);
+        writer.a(2);
+        writer.b("hi");
+        wire.methodWriter(Other.class).c();
+
+        StringBuilder sb = new StringBuilder();
+        MethodReader reader = wire.methodReaderBuilder()
+                .methodReaderInterceptorReturns(metrics)
+                .defaultParselet(metrics.unknownEventCounter((s, v) -> v.skipValue()))
+                .build(new Events() {
+                    @Override
+                    public void a(long x) {
+                        sb.append("a").append(x);
+                    }
+
+                    @Override
+                    public void b(String s) {
+                        sb.append("b").append(s);
+                    }
+                });
+        assertFalse(reader instanceof VanillaMethodReader);
+
+        for (int i = 0; i < 4; i++)
+            assertTrue(reader.readOne());
+        assertFalse(reader.readOne());
+        assertEquals("a1a2bhi", sb.toString());
+
+        MethodMetrics.Snapshot snapshot = metrics.snapshot();
+        assertEquals(1, snapshot.unknownEvents());
+        // calls read are timed
+        assertEquals(2, snapshot.methods().get("a").count());
+        assertEquals(2, snapshot.methods().get("a").timed());
+        assertEquals(1, snapshot.methods().get("b").count());
+        assertEquals(1, snapshot.methods().get("b").timed());
+        assertTrue(snapshot.methods().get("b").percentileNs(0.99) > 0);
+        // calls written are counted separately
+        assertEquals(2, snapshot.writes().get("a").count());
+        assertEquals(0, snapshot.writes().get("a").timed());
+        assertEquals(1, snapshot.writes().get("b").count());
+        assertNull(snapshot.writes().get("c"));
+
+        MethodMetrics.Snapshot copy = snapshot.deepCopy();
+        assertEquals(snapshot, copy);
+
+        metrics.reset();
+        assertEquals(0, metrics.snapshot().methods().get("a").count());
+    }
+
+    @Test
+    public void instancesShareTheGeneratedReader() {
+        Wire wire = WireType.BINARY_LIGHT.apply(Bytes.allocateElasticOnHeap());
+        Events writer = wire.methodWriter(Events.class);
+        writer.a(1);
+        writer.a(2);
+        writer.b("x");
+
+        MethodMetrics metrics1 = new MethodMetrics();
+        MethodMetrics metrics2 = new MethodMetrics();
+        Events events = new Events() {
+            @Override
+            public void a(long x) {
+            }
+
+            @Override
+            public void b(String s) {
+            }
+        };
+        MethodReader reader1 = wire.methodReaderBuilder().methodReaderInterceptorReturns(metrics1).build(events);
+        MethodReader reader2 = wire.methodReaderBuilder().methodReaderInterceptorReturns(metrics2).build(events);
+        assertSame(reader1.getClass(), reader2.getClass());
+
+        assertTrue(reader1.readOne());
+        assertTrue(reader1.readOne());
+        assertTrue(reader2.readOne());
+        assertFalse(reader2.readOne());
+
+        assertEquals(2, metrics1.snapshot().methods().get("a").count());
+        assertNull(metrics1.snapshot().methods().get("b"));
+        assertNull(metrics2.snapshot().methods().get("a"));
+        assertEquals(1, metrics2.snapshot().methods().get("b").count());
+    }
+
+    @Test
+    public void countsCallsWhichThrow() {
+        Wire wire = WireType.BINARY_LIGHT.apply(Bytes.allocateElasticOnHeap());
+        Events writer = wire.methodWriter(Events.class);
+        writer.a(1);
+        writer.b("x");
+
+        MethodMetrics metrics = new MethodMetrics();
+        MethodReader reader = wire.methodReaderBuilder()
+                .methodReaderInterceptorReturns(metrics)
+                .build(new Events() {
+                    @Override
+                    public void a(long x) {
+                        throw new IllegalStateException("a failed");
+                    }
+
+                    @Override
+                    public void b(String s) {
+                    }
+                });
+        try {
+            reader.readOne();
+            fail();
+        } catch (RuntimeException expected) {
+            // the handler threw
+        }
+        assertTrue(reader.readOne());
+
+        MethodMetrics.Snapshot snapshot = metrics.snapshot();
+        assertEquals(1, snapshot.methods().get("a").count());
+        assertEquals(1, snapshot.methods().get("a").timed());
+        assertEquals(1, snapshot.methods().get("b").count());
+    }
+
+    @Test
+    public void bucketFor() {
+        assertEquals(0, MethodMetrics.bucketFor(0));
+        assertEquals(1, MethodMetrics.bucketFor(1));
+        assertEquals(10, MethodMetrics.bucketFor(1000));
+        assertEquals(MethodMetrics.BUCKETS - 1, MethodMetrics.bucketFor(Long.MAX_VALUE));
+    }
+
+    interface Events {
+        void a(long x);
+
+        void b(String s);
+    }
+
+    interface Other {
+        void c();
+    }
+}